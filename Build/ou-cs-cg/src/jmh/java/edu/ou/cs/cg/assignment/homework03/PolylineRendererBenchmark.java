@@ -0,0 +1,170 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 23:55:02 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Measures PolylineRenderer.draw() on a sketch made by a random walk, like one a
+// long drag would produce, in both the simple and the colorful versions. The
+// draw benchmark redraws an unchanged sketch; the append benchmark adds one
+// point before each draw, as during a drag. To keep the sketch from growing
+// without bound, append starts over once the sketch doubles in size.
+//
+// The walk drifts to the right, so a long sketch extends well past the 2x2
+// window the view shows. The pan benchmark draws only that window, moving it
+// along the sketch from one draw to the next, as with the arrow keys. The zoom
+// benchmark draws the whole sketch zoomed out to fit in an 800-pixel-high view,
+// which draws it from a coarser level of the renderer's pyramid. Each runs
+// with the renderer's vertices as float offsets and as 16-bit steps.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import edu.ou.cs.cg.utilities.RecordingGL2;
+
+//******************************************************************************
+
+/**
+ * The <CODE>PolylineRendererBenchmark</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolylineRendererBenchmark
+{
+	//**********************************************************************
+	// Public Members (Parameters)
+	//**********************************************************************
+
+	@Param({"1000", "10000", "100000"})
+	public int				points;
+
+	@Param({"false", "true"})
+	public boolean			colorful;
+
+	@Param({"false", "true"})
+	public boolean			quantized;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private RecordingGL2			recorder;
+	private PolylineRenderer		renderer;
+	private PointStore				polyline;
+
+	private Random					random;
+	private double					x;
+	private double					y;
+	private int						pan;			// Point at window center
+
+	//**********************************************************************
+	// Public Methods (Setup)
+	//**********************************************************************
+
+	@Setup
+	public void	setup()
+	{
+		recorder = new RecordingGL2();
+		renderer = new PolylineRenderer(quantized ?
+										PolylineBuffer.QUANTIZED :
+										PolylineBuffer.OFFSET);
+		renderer.init(recorder);
+		polyline = new PointStore();
+
+		fill();
+	}
+
+	//**********************************************************************
+	// Public Methods (Benchmarks)
+	//**********************************************************************
+
+	@Benchmark
+	public double	draw()
+	{
+		renderer.draw(recorder, polyline, colorful);
+
+		return recorder.getChecksum();
+	}
+
+	@Benchmark
+	public double	pan()
+	{
+		pan = (pan + 997) % polyline.size();
+
+		double	cx = polyline.getX(pan);
+		double	cy = polyline.getY(pan);
+
+		renderer.draw(recorder, polyline, colorful,
+					  cx - 1.0, cy - 1.0, cx + 1.0, cy + 1.0);
+
+		return recorder.getChecksum();
+	}
+
+	@Benchmark
+	public double	zoom()
+	{
+		double	half = 0.5 * x + 1.0;				// Walk is about 0.001 * n
+		double	pixel = 2.0 * half / 800.0;			// long in x
+
+		renderer.draw(recorder, polyline, colorful,
+					  0.5 * x - half, -half, 0.5 * x + half, half, pixel);
+
+		return recorder.getChecksum();
+	}
+
+	@Benchmark
+	public double	append()
+	{
+		if (polyline.size() >= 2 * points)
+			fill();
+
+		step();
+		renderer.draw(recorder, polyline, colorful);
+
+		return recorder.getChecksum();
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private void	fill()
+	{
+		random = new Random(0);
+		x = 0.0;
+		y = 0.0;
+
+		polyline.clear();
+
+		for (int i=0; i<points; i++)
+			step();
+	}
+
+	private void	step()
+	{
+		x += 0.002 * (random.nextDouble() - 0.5) + 0.001;
+		y += 0.002 * (random.nextDouble() - 0.5);
+
+		polyline.add(x, y);
+	}
+}
+
+//******************************************************************************
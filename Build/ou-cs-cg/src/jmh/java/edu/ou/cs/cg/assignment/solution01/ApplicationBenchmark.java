@@ -0,0 +1,87 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 10:31:08 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Measures the map iteration in drawTinkerbellMap() in each of its point/line
+// and coordinate modes.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.solution01;
+
+//import java.lang.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import edu.ou.cs.cg.utilities.RecordingGL2;
+
+//******************************************************************************
+
+/**
+ * The <CODE>ApplicationBenchmark</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApplicationBenchmark
+{
+	//**********************************************************************
+	// Public Members (Parameters)
+	//**********************************************************************
+
+	@Param({"1000", "10000", "100000"})
+	public int				points;
+
+	@Param({"0", "1", "2", "3"})
+	public int				mode;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private RecordingGL2		recorder;
+	private Application	application;
+
+	//**********************************************************************
+	// Public Methods (Setup)
+	//**********************************************************************
+
+	@Setup
+	public void	setup()
+	{
+		recorder = new RecordingGL2();
+		application = new Application(new String[0]);
+		application.initPoints(recorder);
+
+		application.m = points;
+		application.p1 = ((mode == 1) || (mode == 2));
+		application.p2 = ((mode == 2) || (mode == 3));
+	}
+
+	//**********************************************************************
+	// Public Methods (Benchmarks)
+	//**********************************************************************
+
+	@Benchmark
+	public double	drawTinkerbellMap()
+	{
+		application.drawTinkerbellMap(recorder);
+
+		return recorder.getChecksum();
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,87 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 10:31:08 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Measures the two animated paths in the neighborhood scene: the 10000 point
+// galaxy and the random walk of the chimney smoke. The smoke is measured once
+// its list has filled up to its steady state of 160 lines.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.solution02;
+
+//import java.lang.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import edu.ou.cs.cg.utilities.RecordingGL2;
+
+//******************************************************************************
+
+/**
+ * The <CODE>ApplicationBenchmark</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApplicationBenchmark
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private RecordingGL2		recorder;
+	private Application	application;
+
+	//**********************************************************************
+	// Public Methods (Setup)
+	//**********************************************************************
+
+	@Setup
+	public void	setup()
+	{
+		recorder = new RecordingGL2();
+		application = new Application(new String[0]);
+		application.initBuffers(recorder);
+
+		for (int i=0; i<200; i++)			// Fill up the smoke
+			application.drawSmoke(recorder, 225, 382);
+	}
+
+	//**********************************************************************
+	// Public Methods (Benchmarks)
+	//**********************************************************************
+
+	@Benchmark
+	public double	drawLorenzGalaxy()
+	{
+		application.k++;
+
+		application.drawLorenzGalaxy(recorder);
+
+		return recorder.getChecksum();
+	}
+
+	@Benchmark
+	public double	drawSmoke()
+	{
+		application.drawSmoke(recorder, 225, 382);
+
+		return recorder.getChecksum();
+	}
+}
+
+//******************************************************************************
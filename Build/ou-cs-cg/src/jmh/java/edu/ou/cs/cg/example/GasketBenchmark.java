@@ -0,0 +1,101 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 10:31:08 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Measures Gasket.drawSierpinskiTriangle() for each vertex mode, both with a
+// fixed number of points (all cached after the first call) and with the number
+// of points growing and resetting the way Gasket.update() does it, up to the
+// parameter.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.example;
+
+//import java.lang.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import edu.ou.cs.cg.utilities.RecordingGL2;
+
+//******************************************************************************
+
+/**
+ * The <CODE>GasketBenchmark</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GasketBenchmark
+{
+	//**********************************************************************
+	// Public Members (Parameters)
+	//**********************************************************************
+
+	@Param({"1000", "10000", "100000"})
+	public int				points;
+
+	@Param({"0", "1", "2"})
+	public int				vmode;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private RecordingGL2		recorder;
+	private Gasket			gasket;
+
+	//**********************************************************************
+	// Public Methods (Setup)
+	//**********************************************************************
+
+	@Setup
+	public void	setup()
+	{
+		recorder = new RecordingGL2();
+		gasket = new Gasket(new String[0]);
+
+		gasket.initPoints(recorder);
+		gasket.m = points;
+		gasket.vmode = vmode;
+	}
+
+	//**********************************************************************
+	// Public Methods (Benchmarks)
+	//**********************************************************************
+
+	@Benchmark
+	public double	drawSierpinskiTriangle()
+	{
+		gasket.drawSierpinskiTriangle(recorder);
+
+		return recorder.getChecksum();
+	}
+
+	@Benchmark
+	public double	animateSierpinskiTriangle()
+	{
+		if (gasket.m > points)
+			gasket.m = 1;
+		else
+			gasket.m = (int)Math.floor(gasket.m * 1.07) + 1;
+
+		gasket.drawSierpinskiTriangle(recorder);
+
+		return recorder.getChecksum();
+	}
+}
+
+//******************************************************************************
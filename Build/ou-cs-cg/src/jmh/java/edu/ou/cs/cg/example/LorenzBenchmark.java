@@ -0,0 +1,98 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 10:31:08 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Measures Lorenz.drawLorenzAttractor(), both with a fixed number of points
+// (all cached after the first call) and with the number of points growing and
+// resetting the way Lorenz.update() does it, up to the parameter.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.example;
+
+//import java.lang.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import edu.ou.cs.cg.utilities.RecordingGL2;
+
+//******************************************************************************
+
+/**
+ * The <CODE>LorenzBenchmark</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LorenzBenchmark
+{
+	//**********************************************************************
+	// Public Members (Parameters)
+	//**********************************************************************
+
+	@Param({"1000", "10000", "100000"})
+	public int				points;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private RecordingGL2		recorder;
+	private Lorenz			lorenz;
+
+	//**********************************************************************
+	// Public Methods (Setup)
+	//**********************************************************************
+
+	@Setup
+	public void	setup()
+	{
+		recorder = new RecordingGL2();
+		lorenz = new Lorenz(new String[0]);
+		lorenz.initPoints(recorder);
+
+		lorenz.m = points;
+	}
+
+	//**********************************************************************
+	// Public Methods (Benchmarks)
+	//**********************************************************************
+
+	@Benchmark
+	public double	drawLorenzAttractor()
+	{
+		lorenz.drawLorenzAttractor(recorder);
+
+		return recorder.getChecksum();
+	}
+
+	@Benchmark
+	public double	animateLorenzAttractor()
+	{
+		if (lorenz.m > points)
+			lorenz.m = 1;
+		else
+			lorenz.m++;
+
+		lorenz.m = (int)Math.floor(lorenz.m * 1.01) + 1;
+
+		lorenz.drawLorenzAttractor(recorder);
+
+		return recorder.getChecksum();
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,93 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 14:52:10 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Measures DensityHistogram.accumulate() (walks plus merge) for batches of
+// samples like those Gasket adds each frame in density mode, and the tone
+// mapping that precedes each texture upload.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>DensityHistogramBenchmark</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DensityHistogramBenchmark
+{
+	//**********************************************************************
+	// Public Members (Parameters)
+	//**********************************************************************
+
+	@Param({"100000", "1000000", "4000000"})
+	public long				samples;
+
+	@Param({"1024"})
+	public int				size;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private DensityHistogram		histogram;
+	private ByteBuffer			image;
+
+	//**********************************************************************
+	// Public Methods (Setup)
+	//**********************************************************************
+
+	@Setup
+	public void	setup()
+	{
+		histogram = new DensityHistogram(size, 0L);
+		image = ByteBuffer.allocateDirect(size * size);
+
+		histogram.accumulate(samples);
+	}
+
+	//**********************************************************************
+	// Public Methods (Benchmarks)
+	//**********************************************************************
+
+	@Benchmark
+	public long	accumulate()
+	{
+		histogram.accumulate(samples);
+
+		return histogram.getSamples();
+	}
+
+	@Benchmark
+	public ByteBuffer	toneMap()
+	{
+		histogram.toneMap(image);
+
+		return image;
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,102 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 10:12:41 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Counters for a stand-in GL that needs no context, no drawable, and no
+// display. The stand-in itself is RecordingGL2, which is generated from the
+// GL2 interface by the generateRecordingGL2 task in build.gradle. Every call
+// is counted and its numeric arguments are folded into a checksum so that the
+// JIT can't discard the work that produced them. Calls that return values
+// return zero/false/null, except that getGL()/getGL2()/etc. return the
+// stand-in itself.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.nio.Buffer;
+
+//******************************************************************************
+
+/**
+ * The <CODE>RecordingGL</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public abstract class RecordingGL
+{
+	//**********************************************************************
+	// Protected Members
+	//**********************************************************************
+
+	// State (internal) variables
+	protected long			calls;			// Total GL calls
+	protected long			vertices;		// glVertex*() calls
+	protected long			elements;		// Elements passed in buffers
+	protected double		checksum;		// Sum of numeric arguments
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public long	getCalls()
+	{
+		return calls;
+	}
+
+	public long	getVertices()
+	{
+		return vertices;
+	}
+
+	public long	getElements()
+	{
+		return elements;
+	}
+
+	public double	getChecksum()
+	{
+		return checksum;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	public void	reset()
+	{
+		calls = 0;
+		vertices = 0;
+		elements = 0;
+		checksum = 0.0;
+	}
+
+	//**********************************************************************
+	// Protected Methods (Called by Generated Code)
+	//**********************************************************************
+
+	protected final void	record(Buffer b)
+	{
+		if (b != null)
+			elements += b.remaining();
+	}
+
+	// Report success for status queries so resource setup goes through.
+	protected final void	report(int[] params, int offset)
+	{
+		if ((params != null) && (offset < params.length))
+			params[offset] = 1;
+	}
+}
+
+//******************************************************************************
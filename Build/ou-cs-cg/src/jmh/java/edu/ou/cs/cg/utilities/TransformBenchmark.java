@@ -0,0 +1,109 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 20:41:09 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Measures Transform's mapping of view points to scene points, one at a time
+// as for mouse events, and in bulk over a packed array. The projection changes
+// before each single mapping in the pan benchmark, as it does each frame when
+// the view moves, so that the cached inverse is recomputed every time.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>TransformBenchmark</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformBenchmark
+{
+	//**********************************************************************
+	// Public Members (Parameters)
+	//**********************************************************************
+
+	@Param({"1024"})
+	public int				points;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	private Transform			transform;
+	private double[]			p;
+	private double[]			src;
+	private double[]			dst;
+	private double				x;
+
+	//**********************************************************************
+	// Public Methods (Setup)
+	//**********************************************************************
+
+	@Setup
+	public void	setup()
+	{
+		transform = new Transform();
+		transform.setViewport(0, 0, 800, 800);
+		transform.setOrtho2D(-1.0, 1.0, -1.0, 1.0);
+
+		p = new double[3];
+		src = new double[2 * points];
+		dst = new double[2 * points];
+
+		for (int i=0; i<src.length; i++)
+			src[i] = (i * 7919) % 800;
+	}
+
+	//**********************************************************************
+	// Public Methods (Benchmarks)
+	//**********************************************************************
+
+	@Benchmark
+	public double	map()
+	{
+		transform.mapViewToScene(400.0, 300.0, 0.0, p);
+
+		return p[0] + p[1];
+	}
+
+	@Benchmark
+	public double	pan()
+	{
+		x += 0.001;
+		transform.setOrtho2D(x - 1.0, x + 1.0, -1.0, 1.0);
+		transform.mapViewToScene(400.0, 300.0, 0.0, p);
+
+		return p[0] + p[1];
+	}
+
+	@Benchmark
+	public double[]	bulk()
+	{
+		transform.mapViewToScene(src, 0, dst, 0, points);
+
+		return dst;
+	}
+}
+
+//******************************************************************************
@@ -33,8 +33,8 @@ package edu.ou.cs.cg.application.circle;
 import java.awt.Point;
 import java.awt.geom.Point2D;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import com.jogamp.opengl.*;
-import edu.ou.cs.cg.utilities.Utilities;
 
 //******************************************************************************
 
@@ -51,7 +51,9 @@ public final class Model
 	//**********************************************************************
 
 	// State (internal) variables
+	private final AtomicInteger		pending;	// Updates not yet run
 	private final View				view;
+	private final double[]			p;			// Last point mapped
 
 	// Model variables
 	private int						sides;		// Number of sides
@@ -59,6 +61,7 @@ public final class Model
 	private boolean					fill;		// Fill shape?
 	private boolean					edge;		// Edge shape?
 	private boolean					back;		// Fill background circle?
+	private boolean					overlay;	// Show performance overlay?
 
 	//**********************************************************************
 	// Constructors and Finalizer
@@ -67,6 +70,8 @@ public final class Model
 	public Model(View view)
 	{
 		this.view = view;
+		this.pending = new AtomicInteger();
+		this.p = new double[3];
 
 		// Initialize user-adjustable variables (with reasonable default values)
 		sides = 3;
@@ -74,6 +79,7 @@ public final class Model
 		fill = true;
 		edge = false;
 		back = false;
+		overlay = false;
 	}
 
 	//**********************************************************************
@@ -105,13 +111,24 @@ public final class Model
 		return back;
 	}
 
+	public boolean	getOverlay()
+	{
+		return overlay;
+	}
+
+	// Number of updates submitted to the drawable that haven't run yet.
+	public int	getPending()
+	{
+		return pending.get();
+	}
+
 	//**********************************************************************
 	// Public Methods (Modify Variables)
 	//**********************************************************************
 
 	public void	setSides(int v)
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		view.getDrawable().invoke(false, new BasicUpdater() {
 			public void	update(GL2 gl) {
 				sides = Math.min(Math.max(v, View.MIN_SIDES), View.MAX_SIDES);
 			}
@@ -120,7 +137,7 @@ public final class Model
 
 	public void	setRadius(double v)
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		view.getDrawable().invoke(false, new BasicUpdater() {
 			public void	update(GL2 gl) {
 				radius = v;
 			}
@@ -129,7 +146,7 @@ public final class Model
 
 	public void	toggleFill()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		view.getDrawable().invoke(false, new BasicUpdater() {
 			public void	update(GL2 gl) {
 				fill = !fill;
 			}
@@ -138,7 +155,7 @@ public final class Model
 
 	public void	toggleEdge()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		view.getDrawable().invoke(false, new BasicUpdater() {
 			public void	update(GL2 gl) {
 				edge = !edge;
 			}
@@ -147,25 +164,41 @@ public final class Model
 
 	public void	toggleBack()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		view.getDrawable().invoke(false, new BasicUpdater() {
 			public void	update(GL2 gl) {
 				back = !back;
 			}
 		});;
 	}
 
+	public void	toggleOverlay()
+	{
+		view.getDrawable().invoke(false, new BasicUpdater() {
+			public void	update(GL2 gl) {
+				overlay = !overlay;
+			}
+		});;
+	}
+
 	//**********************************************************************
 	// Inner Classes
 	//**********************************************************************
 
 	// Convenience class to simplify the implementation of most updaters.
+	// Updaters are counted from creation until they run on the GL thread.
 	private abstract class BasicUpdater implements GLRunnable
 	{
+		public BasicUpdater()
+		{
+			pending.incrementAndGet();
+		}
+
 		public final boolean	run(GLAutoDrawable drawable)
 		{
 			GL2	gl = drawable.getGL().getGL2();
 
 			update(gl);
+			pending.decrementAndGet();
 
 			return true;	// Let animator take care of updating the display
 		}
@@ -186,9 +219,9 @@ public final class Model
 
 		public final void	update(GL2 gl)
 		{
-			int		h = view.getHeight();
-			double[]	p = Utilities.mapViewToScene(gl, q.x, h - q.y, 0.0);
+			int	h = view.getHeight();
 
+			view.getTransform().mapViewToScene(q.x, h - q.y, 0.0, p);
 			update(p);
 		}
 
@@ -21,10 +21,13 @@ import java.text.DecimalFormat;
 import java.util.*;
 import com.jogamp.opengl.*;
 import com.jogamp.opengl.awt.GLJPanel;
-import com.jogamp.opengl.glu.*;
 import com.jogamp.opengl.util.FPSAnimator;
 import com.jogamp.opengl.util.awt.TextRenderer;
 import com.jogamp.opengl.util.gl2.GLUT;
+import edu.ou.cs.cg.utilities.InputRecorder;
+import edu.ou.cs.cg.utilities.InputReplayer;
+import edu.ou.cs.cg.utilities.PerformanceOverlay;
+import edu.ou.cs.cg.utilities.Transform;
 import edu.ou.cs.cg.utilities.Utilities;
 
 //******************************************************************************
@@ -61,10 +64,13 @@ public final class View
 
 	// State (internal) variables
 	private final GLJPanel				canvas;
+	private volatile GLAutoDrawable		drawable;	// Drawable attached to
 	private int						w;			// Canvas width
 	private int						h;			// Canvas height
 
 	private TextRenderer				renderer;
+	private final PerformanceOverlay	overlay;	// Frame timing display
+	private final Transform			transform;	// Projection and viewport
 
 	private final FPSAnimator			animator;
 	private int						counter;	// Frame counter
@@ -84,6 +90,8 @@ public final class View
 
 		// Initialize rendering
 		counter = 0;
+		overlay = new PerformanceOverlay();
+		transform = new Transform();
 		canvas.addGLEventListener(this);
 
 		// Initialize model (scene data and parameter manager)
@@ -93,6 +101,10 @@ public final class View
 		keyHandler = new KeyHandler(this, model);
 		//mouseHandler = new MouseHandler(this, model);
 
+		// Record or replay input, if asked to with system properties
+		InputRecorder.attach(canvas);
+		InputReplayer.attach(canvas);
+
 		// Initialize animation
 		animator = new FPSAnimator(canvas, DEFAULT_FRAMES_PER_SECOND);
 		animator.start();
@@ -107,6 +119,16 @@ public final class View
 		return canvas;
 	}
 
+	// The drawable the view was initialized on, which is the canvas unless
+	// the view has been added to another one (e.g. by FrameBenchmark).
+	// Updaters must be invoked on it to ever run.
+	public GLAutoDrawable	getDrawable()
+	{
+		GLAutoDrawable	d = drawable;
+
+		return ((d != null) ? d : canvas);
+	}
+
 	public int	getWidth()
 	{
 		return w;
@@ -117,12 +139,21 @@ public final class View
 		return h;
 	}
 
+	// The view's projection and viewport, for mapping points between view
+	// and scene coordinates. Use it on the GL thread only.
+	public Transform	getTransform()
+	{
+		return transform;
+	}
+
 	//**********************************************************************
 	// Override Methods (GLEventListener)
 	//**********************************************************************
 
 	public void	init(GLAutoDrawable drawable)
 	{
+		this.drawable = drawable;
+
 		w = drawable.getSurfaceWidth();
 		h = drawable.getSurfaceHeight();
 
@@ -139,16 +170,24 @@ public final class View
 
 	public void	display(GLAutoDrawable drawable)
 	{
+		overlay.begin();
+
 		updatePipeline(drawable);
+		overlay.mark(PerformanceOverlay.PIPELINE);
 
 		update(drawable);
+		overlay.mark(PerformanceOverlay.UPDATE);
+
 		render(drawable);
+		overlay.end();
 	}
 
 	public void	reshape(GLAutoDrawable drawable, int x, int y, int w, int h)
 	{
 		this.w = w;
 		this.h = h;
+
+		transform.setViewport(x, y, w, h);
 	}
 
 	//**********************************************************************
@@ -168,7 +207,10 @@ public final class View
 
 		// Draw the scene
 		drawMain(gl);								// Draw main content
+		overlay.mark(PerformanceOverlay.RENDER);
+
 		drawMode(drawable);						// Draw mode text
+		overlay.mark(PerformanceOverlay.MODE);
 
 		gl.glFlush();								// Finish and display
 	}
@@ -190,11 +232,9 @@ public final class View
 	private void	updatePipeline(GLAutoDrawable drawable)
 	{
 		GL2			gl = drawable.getGL().getGL2();
-		GLU			glu = GLU.createGLU();
 
-		gl.glMatrixMode(GL2.GL_PROJECTION);		// Prepare for matrix xform
-		gl.glLoadIdentity();						// Set to identity matrix
-		glu.gluOrtho2D(-1.1, 1.1, -1.1, 1.1);	// 2D translate and scale
+		transform.setOrtho2D(-1.1, 1.1, -1.1, 1.1);	// 2D translate and scale
+		transform.loadProjection(gl);				// Copy to GL projection
 	}
 
 	//**********************************************************************
@@ -215,14 +255,19 @@ public final class View
 		String		sf = ("[f]   Fill shape = " + model.getFill());
 		String		se = ("[e]   Edge shape = " + model.getEdge());
 		String		sb = ("[b]   Background = " + model.getBack());
+		String		so = ("[p]   Overlay =    " + model.getOverlay());
 
 		renderer.draw(sn, 2, 2);
 		renderer.draw(sr, 2, 16);
 		renderer.draw(sf, 2, 30);
 		renderer.draw(se, 2, 44);
 		renderer.draw(sb, 2, 58);
+		renderer.draw(so, 2, 72);
 
 		renderer.endRendering();
+
+		if (model.getOverlay())
+			overlay.draw(gl, renderer, w, h, model.getPending());
 	}
 
 	private void	drawMain(GL2 gl)
@@ -254,6 +299,8 @@ public final class View
 		}
 
 		gl.glEnd();
+
+		overlay.addVertices(sides);
 	}
 
 	private void	fillCircle(GL2 gl)
@@ -273,6 +320,8 @@ public final class View
 		}
 
 		gl.glEnd();
+
+		overlay.addVertices(sides);
 	}
 
 	private void	edgeCircle(GL2 gl)
@@ -292,6 +341,8 @@ public final class View
 		}
 
 		gl.glEnd();
+
+		overlay.addVertices(sides);
 	}
 }
 
@@ -33,8 +33,8 @@ package edu.ou.cs.cg.application.interaction;
 import java.awt.Point;
 import java.awt.geom.Point2D;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import com.jogamp.opengl.*;
-import edu.ou.cs.cg.utilities.Utilities;
 
 //******************************************************************************
 
@@ -51,13 +51,16 @@ public final class Model
 	//**********************************************************************
 
 	// State (internal) variables
+	private final AtomicInteger			pending;	// Updates not yet run
 	private final View					view;
+	private final double[]				p;			// Last point mapped
 
 	// Model variables
 	private Point2D.Double				origin;	// Current origin coords
 	private Point2D.Double				cursor;	// Current cursor coords
 	private ArrayList<Point2D.Double>	points;	// Drawn polyline points
 	private boolean					colorful;	// Show rainbow version?
+	private boolean					overlay;	// Show performance overlay?
 
 	//**********************************************************************
 	// Constructors and Finalizer
@@ -66,12 +69,15 @@ public final class Model
 	public Model(View view)
 	{
 		this.view = view;
+		this.pending = new AtomicInteger();
+		this.p = new double[3];
 
 		// Initialize user-adjustable variables (with reasonable default values)
 		origin = new Point2D.Double(0.0, 0.0);
 		cursor = null;
 		points = new ArrayList<Point2D.Double>();
 		colorful = false;
+		overlay = false;
 	}
 
 	//**********************************************************************
@@ -101,13 +107,24 @@ public final class Model
 		return colorful;
 	}
 
+	public boolean	getOverlay()
+	{
+		return overlay;
+	}
+
+	// Number of updates submitted to the drawable that haven't run yet.
+	public int	getPending()
+	{
+		return pending.get();
+	}
+
 	//**********************************************************************
 	// Public Methods (Modify Variables)
 	//**********************************************************************
 
 	public void	setOriginInSceneCoordinates(Point2D.Double q)
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		view.getDrawable().invoke(false, new BasicUpdater() {
 			public void	update(GL2 gl) {
 				origin = new Point2D.Double(q.x, q.y);
 			}
@@ -116,7 +133,7 @@ public final class Model
 
 	public void	setOriginInViewCoordinates(Point q)
 	{
-		view.getCanvas().invoke(false, new ViewPointUpdater(q) {
+		view.getDrawable().invoke(false, new ViewPointUpdater(q) {
 			public void	update(double[] p) {
 				origin = new Point2D.Double(p[0], p[1]);
 			}
@@ -125,7 +142,7 @@ public final class Model
 
 	public void	setCursorInViewCoordinates(Point q)
 	{
-		view.getCanvas().invoke(false, new ViewPointUpdater(q) {
+		view.getDrawable().invoke(false, new ViewPointUpdater(q) {
 			public void	update(double[] p) {
 				cursor = new Point2D.Double(p[0], p[1]);
 			}
@@ -134,7 +151,7 @@ public final class Model
 
 	public void	turnCursorOff()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		view.getDrawable().invoke(false, new BasicUpdater() {
 			public void	update(GL2 gl) {
 				cursor = null;
 			}
@@ -143,7 +160,7 @@ public final class Model
 
 	public void	addPolylinePointInViewCoordinates(Point q)
 	{
-		view.getCanvas().invoke(false, new ViewPointUpdater(q) {
+		view.getDrawable().invoke(false, new ViewPointUpdater(q) {
 			public void	update(double[] p) {
 				points.add(new Point2D.Double(p[0], p[1]));
 			}
@@ -152,7 +169,7 @@ public final class Model
 
 	public void	clearPolyline()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		view.getDrawable().invoke(false, new BasicUpdater() {
 			public void	update(GL2 gl) {
 				points.clear();
 			}
@@ -161,25 +178,41 @@ public final class Model
 
 	public void	toggleColorful()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
+		view.getDrawable().invoke(false, new BasicUpdater() {
 			public void	update(GL2 gl) {
 				colorful = !colorful;
 			}
 		});;
 	}
 
+	public void	toggleOverlay()
+	{
+		view.getDrawable().invoke(false, new BasicUpdater() {
+			public void	update(GL2 gl) {
+				overlay = !overlay;
+			}
+		});;
+	}
+
 	//**********************************************************************
 	// Inner Classes
 	//**********************************************************************
 
 	// Convenience class to simplify the implementation of most updaters.
+	// Updaters are counted from creation until they run on the GL thread.
 	private abstract class BasicUpdater implements GLRunnable
 	{
+		public BasicUpdater()
+		{
+			pending.incrementAndGet();
+		}
+
 		public final boolean	run(GLAutoDrawable drawable)
 		{
 			GL2	gl = drawable.getGL().getGL2();
 
 			update(gl);
+			pending.decrementAndGet();
 
 			return true;	// Let animator take care of updating the display
 		}
@@ -200,9 +233,9 @@ public final class Model
 
 		public final void	update(GL2 gl)
 		{
-			int		h = view.getHeight();
-			double[]	p = Utilities.mapViewToScene(gl, q.x, h - q.y, 0.0);
+			int	h = view.getHeight();
 
+			view.getTransform().mapViewToScene(q.x, h - q.y, 0.0, p);
 			update(p);
 		}
 
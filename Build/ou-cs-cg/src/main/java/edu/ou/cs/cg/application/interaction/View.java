@@ -24,11 +24,13 @@ import java.text.DecimalFormat;
 import java.util.*;
 import com.jogamp.opengl.*;
 import com.jogamp.opengl.awt.GLJPanel;
-import com.jogamp.opengl.glu.*;
 import com.jogamp.opengl.util.FPSAnimator;
 import com.jogamp.opengl.util.awt.TextRenderer;
 import com.jogamp.opengl.util.gl2.GLUT;
-import edu.ou.cs.cg.utilities.Utilities;
+import edu.ou.cs.cg.utilities.InputRecorder;
+import edu.ou.cs.cg.utilities.InputReplayer;
+import edu.ou.cs.cg.utilities.PerformanceOverlay;
+import edu.ou.cs.cg.utilities.Transform;
 
 //******************************************************************************
 
@@ -61,10 +63,15 @@ public final class View
 
 	// State (internal) variables
 	private final GLJPanel				canvas;
+	private volatile GLAutoDrawable		drawable;	// Drawable attached to
 	private int						w;			// Canvas width
 	private int						h;			// Canvas height
 
 	private TextRenderer				renderer;
+	private final PerformanceOverlay	overlay;	// Frame timing display
+	private final Transform			transform;	// Projection and viewport
+	private final double[]				center;		// View center in scene
+	private final double[]				sceneOrigin;	// Scene origin in view
 
 	private final FPSAnimator			animator;
 	private int						counter;	// Frame counter
@@ -84,6 +91,10 @@ public final class View
 
 		// Initialize rendering
 		counter = 0;
+		overlay = new PerformanceOverlay();
+		transform = new Transform();
+		center = new double[3];
+		sceneOrigin = new double[3];
 		canvas.addGLEventListener(this);
 
 		// Initialize model (scene data and parameter manager)
@@ -93,6 +104,10 @@ public final class View
 		keyHandler = new KeyHandler(this, model);
 		mouseHandler = new MouseHandler(this, model);
 
+		// Record or replay input, if asked to with system properties
+		InputRecorder.attach(canvas);
+		InputReplayer.attach(canvas);
+
 		// Initialize animation
 		animator = new FPSAnimator(canvas, DEFAULT_FRAMES_PER_SECOND);
 		animator.start();
@@ -107,6 +122,16 @@ public final class View
 		return canvas;
 	}
 
+	// The drawable the view was initialized on, which is the canvas unless
+	// the view has been added to another one (e.g. by FrameBenchmark).
+	// Updaters must be invoked on it to ever run.
+	public GLAutoDrawable	getDrawable()
+	{
+		GLAutoDrawable	d = drawable;
+
+		return ((d != null) ? d : canvas);
+	}
+
 	public int	getWidth()
 	{
 		return w;
@@ -117,12 +142,21 @@ public final class View
 		return h;
 	}
 
+	// The view's projection and viewport, for mapping points between view
+	// and scene coordinates. Use it on the GL thread only.
+	public Transform	getTransform()
+	{
+		return transform;
+	}
+
 	//**********************************************************************
 	// Override Methods (GLEventListener)
 	//**********************************************************************
 
 	public void	init(GLAutoDrawable drawable)
 	{
+		this.drawable = drawable;
+
 		w = drawable.getSurfaceWidth();
 		h = drawable.getSurfaceHeight();
 
@@ -139,16 +173,24 @@ public final class View
 
 	public void	display(GLAutoDrawable drawable)
 	{
+		overlay.begin();
+
 		updatePipeline(drawable);
+		overlay.mark(PerformanceOverlay.PIPELINE);
 
 		update(drawable);
+		overlay.mark(PerformanceOverlay.UPDATE);
+
 		render(drawable);
+		overlay.end();
 	}
 
 	public void	reshape(GLAutoDrawable drawable, int x, int y, int w, int h)
 	{
 		this.w = w;
 		this.h = h;
+
+		transform.setViewport(x, y, w, h);
 	}
 
 	//**********************************************************************
@@ -168,7 +210,10 @@ public final class View
 
 		// Draw the scene
 		drawMain(gl);								// Draw main content
+		overlay.mark(PerformanceOverlay.RENDER);
+
 		drawMode(drawable);						// Draw mode text
+		overlay.mark(PerformanceOverlay.MODE);
 
 		gl.glFlush();								// Finish and display
 	}
@@ -190,7 +235,6 @@ public final class View
 	private void	updatePipeline(GLAutoDrawable drawable)
 	{
 		GL2			gl = drawable.getGL().getGL2();
-		GLU			glu = GLU.createGLU();
 		Point2D.Double	origin = model.getOrigin();
 
 		float			xmin = (float)(origin.x - 1.0);
@@ -198,9 +242,8 @@ public final class View
 		float			ymin = (float)(origin.y - 1.0);
 		float			ymax = (float)(origin.y + 1.0);
 
-		gl.glMatrixMode(GL2.GL_PROJECTION);		// Prepare for matrix xform
-		gl.glLoadIdentity();						// Set to identity matrix
-		glu.gluOrtho2D(xmin, xmax, ymin, ymax);	// 2D translate and scale
+		transform.setOrtho2D(xmin, xmax, ymin, ymax);	// 2D translate and scale
+		transform.loadProjection(gl);				// Copy to GL projection
 	}
 
 	//**********************************************************************
@@ -210,8 +253,12 @@ public final class View
 	private void	drawMode(GLAutoDrawable drawable)
 	{
 		GL2		gl = drawable.getGL().getGL2();
-		double[]	p = Utilities.mapViewToScene(gl, 0.5 * w, 0.5 * h, 0.0);
-		double[]	q = Utilities.mapSceneToView(gl, 0.0, 0.0, 0.0);
+		double[]	p = center;
+		double[]	q = sceneOrigin;
+
+		transform.mapViewToScene(0.5 * w, 0.5 * h, 0.0, p);
+		transform.mapSceneToView(0.0, 0.0, 0.0, q);
+
 		String		svc = ("View center in scene: [" + FORMAT.format(p[0]) +
 						   " , " + FORMAT.format(p[1]) + "]");
 		String		sso = ("Scene origin in view: [" + FORMAT.format(q[0]) +
@@ -241,6 +288,9 @@ public final class View
 		renderer.draw(sso, 2, 30);
 
 		renderer.endRendering();
+
+		if (model.getOverlay())
+			overlay.draw(gl, renderer, w, h, model.getPending());
 	}
 
 	private void	drawMain(GL2 gl)
@@ -262,6 +312,8 @@ public final class View
 		gl.glVertex2d(1.0, -1.0);
 
 		gl.glEnd();
+
+		overlay.addVertices(4);
 	}
 
 	private void	drawAxes(GL2 gl)
@@ -276,6 +328,8 @@ public final class View
 		gl.glVertex2d(0.0, 10.0);
 
 		gl.glEnd();
+
+		overlay.addVertices(4);
 	}
 
 	private void	drawCursor(GL2 gl)
@@ -297,6 +351,8 @@ public final class View
 		}
 
 		gl.glEnd();
+
+		overlay.addVertices(32);
 	}
 
 	private void	drawPolyline(GL2 gl)
@@ -349,6 +405,8 @@ public final class View
 
 			gl.glEnd();
 		}
+
+		overlay.addVertices(5 * points.size() + (model.getColorful() ? 1 : 0));
 	}
 }
 
@@ -25,6 +25,7 @@ package edu.ou.cs.cg.assignment.homework03;
 //import java.lang.*;
 import java.awt.Dimension;
 import java.awt.event.*;
+import java.io.File;
 import javax.swing.*;
 import com.jogamp.opengl.*;
 import com.jogamp.opengl.awt.*;
@@ -47,6 +48,20 @@ public final class Application
 	public static final String		DEFAULT_NAME = "Homework03";
 	public static final Dimension	DEFAULT_SIZE = new Dimension(500, 500);
 
+	// The sketch saved and loaded by ctrl-S and ctrl-O, and its journal
+	public static final File		DEFAULT_SKETCH =
+		new File("homework03.sketch");
+	public static final File		DEFAULT_JOURNAL =
+		new File("homework03.journal");
+
+	// The archive saved and loaded by ctrl-shift-S and ctrl-shift-O
+	public static final File		DEFAULT_ARCHIVE =
+		new File("homework03.sketchz");
+
+	// The unsimplified input points, saved by ctrl-E
+	public static final File		DEFAULT_RAW =
+		new File("homework03.raw.sketch");
+
 	//**********************************************************************
 	// Main
 	//**********************************************************************
@@ -111,6 +126,9 @@ public final class Application
 
 		// Create a view to manage the canvas
 		view = new View(canvas);
+
+		// Bring back the sketch from the last session, and keep it safe
+		view.getModel().openJournal(DEFAULT_SKETCH, DEFAULT_JOURNAL);
 	}
 }
 
@@ -0,0 +1,432 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 23:51:26 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Keeps the chunks of PointStores within a budget of heap by spilling cold
+// chunks to memory-mapped segment files, and reading them back when they're
+// touched again. The points of a sketch can then grow far past the heap
+// (-Xmx768m in build.gradle), and the GC only traces and copies the working
+// set of them.
+//
+// Only sealed chunks are spilled. A store seals a chunk when a snapshot first
+// sees it full (in PointStore.snapshot()). From then on the store copies the
+// chunk before changing any point in it, so its points never change again.
+// That makes spilling safe with snapshots being read on other threads: a
+// chunk is written out once, and every later read of it, on any thread, gets
+// the same points back. The chunks being drawn into or edited stay on the heap.
+//
+// Which sealed chunks stay on the heap follows the clock approximation of LRU.
+// Reading a chunk sets its used bit. When the sealed chunks on the heap go over
+// budget, the one that has been there longest is spilled, unless its bit is
+// set, in which case the bit is cleared and it goes round again. A chunk that
+// has been spilled before is simply dropped, since its slot still holds it.
+//
+// Segment files hold SEGMENT chunks (16 MB) each, in slots laid out like the
+// chunks of a SketchFile, but in native byte order. They're created in the
+// spill directory as needed, mapped whole, and unlinked at once where the OS
+// allows it (otherwise on exit). Mapped pages belong to the OS page cache,
+// which writes them back and drops them under memory pressure. They count
+// against neither the heap nor the direct memory limit, and the cache
+// allocates no direct buffers of its own. A slot is freed for reuse when its
+// chunk has been garbage collected (found through weak references), so the
+// files only grow to the most points that have been spilled at once.
+//
+// What spills is the points: the sketch, its raw input points, and the
+// coarser levels of the renderer's PolylinePyramid. What still grows with the
+// sketch is the pyramid's source indices and the bounding hierarchies (on the
+// heap), and the vertex buffers of each level that has been drawn (in direct
+// memory and on the GPU). With a cache, the Model's PolylineIndex builds no
+// trees, since they'd take more heap than the points, and scans instead.
+//
+// One cache is shared by the stores of a Model. create() makes it only if
+// the sketch.spill system property gives a budget in megabytes (and
+// sketch.spill.dir a directory, java.io.tmpdir by default). Without a cache,
+// stores keep all of their chunks on the heap.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.io.*;
+import java.lang.ref.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.util.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>ChunkCache</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class ChunkCache
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final int		SEGMENT = 256;			// Chunks per file
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final long		CHUNK_BYTES = 16L * PointStore.CHUNK;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private final long					budget;		// Sealed bytes on heap
+	private final File					directory;	// For segment files
+	private final ArrayDeque<Entry>		clock;		// Sealed chunks on heap
+	private final ReferenceQueue<Chunk>	dead;		// Collected chunks
+	private final ArrayList<DoubleBuffer>	segments;	// Mapped files
+
+	private Entry[]						entries;	// Spilled, by slot
+	private int[]						free;		// Slots to reuse
+	private int							freed;		// Slots in free
+	private int							slots;		// Slots in segments
+	private long						resident;	// Sealed bytes on heap
+	private int							faults;		// Chunks read back
+	private boolean						failed;		// Can't spill
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	// Keep at most budget bytes of sealed chunks on the heap, spilling the
+	// rest to segment files in directory.
+	public ChunkCache(long budget, File directory)
+	{
+		this.budget = budget;
+		this.directory = directory;
+
+		clock = new ArrayDeque<Entry>();
+		dead = new ReferenceQueue<Chunk>();
+		segments = new ArrayList<DoubleBuffer>();
+
+		entries = new Entry[SEGMENT];
+		free = new int[SEGMENT];
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public long	getBudget()
+	{
+		return budget;
+	}
+
+	// Bytes of sealed chunks on the heap.
+	public synchronized long	getResident()
+	{
+		return resident;
+	}
+
+	// Chunks with a slot in the segment files.
+	public synchronized int	getSpilled()
+	{
+		return slots - freed;
+	}
+
+	// Chunks read back from the segment files so far.
+	public synchronized int	getFaults()
+	{
+		return faults;
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// A cache with the budget (in MB) in the sketch.spill property, if it's
+	// set. Returns the cache, or null.
+	public static ChunkCache	create()
+	{
+		String	mb = System.getProperty("sketch.spill");
+
+		if (mb == null)
+			return null;
+
+		File	directory = new File(System.getProperty("sketch.spill.dir",
+						System.getProperty("java.io.tmpdir")));
+
+		System.err.println("Spilling sketch chunks past " + mb +
+						   " MB to " + directory);
+
+		return new ChunkCache(Long.parseLong(mb) << 20, directory);
+	}
+
+	//**********************************************************************
+	// Package Methods
+	//**********************************************************************
+
+	// Seal the first n chunks (those not sealed yet), making them spillable.
+	synchronized void	seal(Chunk[] chunks, int n)
+	{
+		for (int c=0; c<n; c++)
+		{
+			Chunk	k = chunks[c];
+
+			if (k.entry == null)
+			{
+				k.entry = new Entry(k, dead);
+				enter(k.entry);
+			}
+		}
+
+		trim();
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Read spilled chunk k back onto the heap. Returns its x or y array.
+	private synchronized double[]	load(Chunk k, boolean wantY)
+	{
+		double[]	x = k.x;
+		double[]	y = k.y;
+
+		if ((x == null) || (y == null))
+		{
+			DoubleBuffer	d = segment(k.entry.slot);
+
+			x = new double[PointStore.CHUNK];
+			y = new double[PointStore.CHUNK];
+
+			d.get(x);
+			d.get(y);
+
+			k.x = x;
+			k.y = y;
+			faults++;
+
+			enter(k.entry);
+			trim();
+		}
+
+		return (wantY ? y : x);
+	}
+
+	private void	enter(Entry e)
+	{
+		e.resident = true;
+		resident += CHUNK_BYTES;
+		clock.addLast(e);
+	}
+
+	private void	leave(Entry e)
+	{
+		if (e.resident)
+		{
+			e.resident = false;
+			resident -= CHUNK_BYTES;
+		}
+	}
+
+	// Spill chunks until the sealed ones on the heap fit the budget.
+	private void	trim()
+	{
+		release();
+
+		while ((resident > budget) && !failed && !clock.isEmpty())
+		{
+			Entry	e = clock.pollFirst();
+			Chunk	k = e.get();
+
+			if ((k == null) || !e.resident)			// Collected
+			{
+				leave(e);
+			}
+			else if (k.used)						// Second chance
+			{
+				k.used = false;
+				clock.addLast(e);
+			}
+			else if (spill(e, k))
+			{
+				k.x = null;
+				k.y = null;
+				leave(e);
+			}
+			else
+			{
+				clock.addLast(e);
+			}
+		}
+	}
+
+	// Write chunk k to a slot, unless it has one. Returns false on failure.
+	private boolean	spill(Entry e, Chunk k)
+	{
+		if (e.slot >= 0)
+			return true;
+
+		int	slot = ((freed > 0) ? free[--freed] : slots);
+
+		try
+		{
+			while (slot / SEGMENT >= segments.size())
+				map();
+		}
+		catch (IOException x)
+		{
+			System.err.println("Stopped spilling sketch chunks: " + x);
+			failed = true;
+
+			return false;
+		}
+
+		DoubleBuffer	d = segment(slot);
+
+		d.put(k.x);
+		d.put(k.y);
+
+		if (slot == slots)
+			slots++;
+
+		if (slot >= entries.length)
+			entries = Arrays.copyOf(entries, 2 * entries.length);
+
+		e.slot = slot;
+		entries[slot] = e;							// Keep until enqueued
+
+		return true;
+	}
+
+	// Free the slots (and heap budget) of chunks that have been collected.
+	private void	release()
+	{
+		Entry	e;
+
+		while ((e = (Entry)dead.poll()) != null)
+		{
+			leave(e);
+
+			if (e.slot >= 0)
+			{
+				if (freed == free.length)
+					free = Arrays.copyOf(free, 2 * freed);
+
+				entries[e.slot] = null;
+				free[freed++] = e.slot;
+				e.slot = -1;
+			}
+		}
+	}
+
+	// Map another segment file.
+	private void	map() throws IOException
+	{
+		File				file = File.createTempFile("sketch", ".spill",
+													   directory);
+		RandomAccessFile	raf = new RandomAccessFile(file, "rw");
+
+		try
+		{
+			raf.setLength(SEGMENT * CHUNK_BYTES);
+
+			MappedByteBuffer	b = raf.getChannel().map(
+				FileChannel.MapMode.READ_WRITE, 0, SEGMENT * CHUNK_BYTES);
+
+			b.order(ByteOrder.nativeOrder());
+			segments.add(b.asDoubleBuffer());
+		}
+		finally
+		{
+			raf.close();
+
+			if (!file.delete())					// Mapping stays valid
+				file.deleteOnExit();
+		}
+	}
+
+	// The segment holding slot, positioned at the slot.
+	private DoubleBuffer	segment(int slot)
+	{
+		DoubleBuffer	d = segments.get(slot / SEGMENT);
+
+		d.position(2 * (slot % SEGMENT) * PointStore.CHUNK);
+
+		return d;
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// A chunk of a PointStore, shared by the store and its snapshots. The
+	// arrays are null while it's spilled, and read back the next time they're
+	// asked for, on whatever thread asks.
+	static final class Chunk
+	{
+		private final ChunkCache	cache;			// Or null
+		private volatile double[]	x;
+		private volatile double[]	y;
+		private Entry				entry;			// Once sealed
+		private boolean				used;			// Read since last lap
+
+		Chunk(ChunkCache cache, double[] x, double[] y)
+		{
+			this.cache = cache;
+			this.x = x;
+			this.y = y;
+		}
+
+		double[]	getX()
+		{
+			double[]	a = x;
+
+			if (!used)
+				used = true;
+
+			return ((a != null) ? a : cache.load(this, false));
+		}
+
+		double[]	getY()
+		{
+			double[]	a = y;
+
+			if (!used)
+				used = true;
+
+			return ((a != null) ? a : cache.load(this, true));
+		}
+
+		// A copy that hasn't been sealed, for the store to change.
+		Chunk	copy()
+		{
+			return new Chunk(cache, getX().clone(), getY().clone());
+		}
+	}
+
+	// The spill state of a sealed chunk. Weak, so that a collected chunk's
+	// slot can be freed.
+	private static final class Entry extends WeakReference<Chunk>
+	{
+		public int			slot = -1;				// In segments, or -1
+		public boolean		resident;				// Counted in budget
+
+		public Entry(Chunk k, ReferenceQueue<Chunk> queue)
+		{
+			super(k, queue);
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,242 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 23:49:40 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Collects the model changes asked for by input events on the AWT thread, so
+// that the GL thread can apply them all at once at the start of the next frame,
+// rather than running a separate GLRunnable for each event.
+//
+// An event is a kind and up to four numbers, written into parallel primitive
+// arrays. There are two sets of arrays: the AWT thread posts to one while the
+// GL thread reads the other, and drain() swaps them. Posting allocates nothing
+// once the arrays are big enough for the busiest frame.
+//
+// Events that only replace the effect of the one before them are coalesced as
+// they are posted: a drag that moves the selection again, a zoom around the
+// same point, or another step through the history. The cursor is kept apart
+// from the sequence altogether, since only its latest state matters;
+// getCursor() says whether it was moved or turned off in the frame, and the
+// last place it was moved to.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.util.Arrays;
+
+//******************************************************************************
+
+/**
+ * The <CODE>InputQueue</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class InputQueue
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	// Event kinds. Arguments are view coordinates unless noted.
+	public static final int		ORIGIN = 0;			// x, y
+	public static final int		ORIGIN_SCENE = 1;	// x, y in scene
+	public static final int		ZOOM = 2;			// x, y, factor
+	public static final int		POINT = 3;			// x, y
+	public static final int		STROKE = 4;			// x, y, kept x, y or NaN
+	public static final int		STROKE_END = 5;		// kept x, y or NaN
+	public static final int		CLEAR = 6;
+	public static final int		EDIT_BEGIN = 7;		// x, y
+	public static final int		EDIT_DRAG = 8;		// x, y
+	public static final int		EDIT_END = 9;
+	public static final int		COLORFUL = 10;		// Toggle
+	public static final int		OVERLAY = 11;		// Toggle
+	public static final int		UNDO = 12;
+	public static final int		REDO = 13;
+	public static final int		SCRUB = 14;			// Operations to move
+	public static final int		LOAD = 15;			// File from Model.load()
+	public static final int		RECOVER = 16;		// Journal has recovered
+	public static final int		SAVE = 17;			// Checkpoint the journal
+
+	// Cursor states, from getCursor().
+	public static final int		CURSOR_SAME = 0;	// Unchanged
+	public static final int		CURSOR_MOVE = 1;	// Moved to x, y
+	public static final int		CURSOR_OFF = 2;		// Left the canvas
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int		ARGS = 4;		// Numbers per event
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables, posted to on the AWT thread
+	private int[]				kinds;			// Event kinds
+	private double[]			args;			// Event arguments
+	private int					n;				// Events posted
+	private int					cursor;			// Cursor state
+	private int					cx;				// Cursor position
+	private int					cy;
+
+	// State (internal) variables, read on the GL thread after drain()
+	private int[]				dkinds;
+	private double[]			dargs;
+	private int					dn;
+	private int					dcursor;
+	private int					dcx;
+	private int					dcy;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public InputQueue()
+	{
+		kinds = new int[64];
+		args = new double[64 * ARGS];
+		dkinds = new int[64];
+		dargs = new double[64 * ARGS];
+	}
+
+	//**********************************************************************
+	// Getters and Setters (GL Thread, After drain())
+	//**********************************************************************
+
+	public int	getKind(int i)
+	{
+		return dkinds[i];
+	}
+
+	// Argument j of event i.
+	public double	getArg(int i, int j)
+	{
+		return dargs[i * ARGS + j];
+	}
+
+	public int	getCursor()
+	{
+		return dcursor;
+	}
+
+	public int	getCursorX()
+	{
+		return dcx;
+	}
+
+	public int	getCursorY()
+	{
+		return dcy;
+	}
+
+	//**********************************************************************
+	// Public Methods (AWT Thread)
+	//**********************************************************************
+
+	public void	post(int kind)
+	{
+		post(kind, 0.0, 0.0, 0.0, 0.0);
+	}
+
+	public void	post(int kind, double a, double b)
+	{
+		post(kind, a, b, 0.0, 0.0);
+	}
+
+	public synchronized void	post(int kind, double a, double b,
+									 double c, double d)
+	{
+		int		o = (n - 1) * ARGS;
+		boolean	same = ((n > 0) && (kinds[n - 1] == kind));
+
+		if (same && (kind == EDIT_DRAG))			// Latest drag wins
+		{
+			args[o] = a;
+			args[o + 1] = b;
+			return;
+		}
+
+		if (same && (kind == ZOOM) && (args[o] == a) && (args[o + 1] == b))
+		{
+			args[o + 2] *= c;						// Zooms multiply
+			return;
+		}
+
+		if (same && (kind == SCRUB))
+		{
+			args[o] += a;							// Steps add
+			return;
+		}
+
+		if (n == kinds.length)
+		{
+			kinds = Arrays.copyOf(kinds, 2 * n);
+			args = Arrays.copyOf(args, 2 * n * ARGS);
+		}
+
+		o = n * ARGS;
+		kinds[n] = kind;
+		args[o] = a;
+		args[o + 1] = b;
+		args[o + 2] = c;
+		args[o + 3] = d;
+		n++;
+	}
+
+	public synchronized void	moveCursor(int x, int y)
+	{
+		cursor = CURSOR_MOVE;
+		cx = x;
+		cy = y;
+	}
+
+	public synchronized void	turnCursorOff()
+	{
+		cursor = CURSOR_OFF;
+	}
+
+	// Number of events posted since the last drain().
+	public synchronized int	size()
+	{
+		return n;
+	}
+
+	//**********************************************************************
+	// Public Methods (GL Thread)
+	//**********************************************************************
+
+	// Take the events posted since the last call, and return how many there
+	// are. They stay readable until the next call.
+	public synchronized int	drain()
+	{
+		int[]		k = dkinds;
+		double[]	a = dargs;
+
+		dkinds = kinds;
+		dargs = args;
+		dn = n;
+		dcursor = cursor;
+		dcx = cx;
+		dcy = cy;
+
+		kinds = k;
+		args = a;
+		n = 0;
+		cursor = CURSOR_SAME;
+
+		return dn;
+	}
+}
+
+//******************************************************************************
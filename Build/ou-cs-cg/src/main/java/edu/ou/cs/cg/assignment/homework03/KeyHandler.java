@@ -19,6 +19,7 @@ package edu.ou.cs.cg.assignment.homework03;
 import java.awt.Component;
 import java.awt.event.*;
 import java.awt.geom.Point2D;
+import java.io.IOException;
 import edu.ou.cs.cg.utilities.Utilities;
 
 //******************************************************************************
@@ -59,11 +60,59 @@ public final class KeyHandler extends KeyAdapter
 
 	public void		keyPressed(KeyEvent e)
 	{
-		Point2D.Double	p = model.getOrigin();
-		double			a = (Utilities.isShiftDown(e) ? 0.01 : 0.1);
+		ModelState		state = model.getState();		// Read both at once
+		Point2D.Double	p = state.getOrigin();
+		double			a = (Utilities.isShiftDown(e) ? 0.01 : 0.1) *
+							state.getScale();
+
+		boolean			ctrl = Utilities.isControlDown(e);
+		boolean			shift = Utilities.isShiftDown(e);
 
 		switch (e.getKeyCode())
 		{
+			case KeyEvent.VK_Z:						// Undo, or redo with shift
+				if (!ctrl)
+					return;
+
+				if (shift)
+					model.redo();
+				else
+					model.undo();
+
+				return;
+
+			case KeyEvent.VK_Y:
+				if (ctrl)
+					model.redo();
+
+				return;
+
+			case KeyEvent.VK_S:						// Save, or open with ctrl-O
+				if (ctrl)								// Archive with shift
+					save(shift);
+
+				return;
+
+			case KeyEvent.VK_O:
+				if (ctrl)
+					load(shift);
+
+				return;
+
+			case KeyEvent.VK_E:						// Export raw input points
+				if (ctrl)
+					export();
+
+				return;
+
+			case KeyEvent.VK_OPEN_BRACKET:			// Scrub back in history
+				model.scrubHistory(shift ? -16 : -1);
+				return;
+
+			case KeyEvent.VK_CLOSE_BRACKET:			// Scrub forward
+				model.scrubHistory(shift ? 16 : 1);
+				return;
+
 			case KeyEvent.VK_NUMPAD5:
 				p.x = 0.0;	p.y = 0.0;	break;
 
@@ -99,6 +148,10 @@ public final class KeyHandler extends KeyAdapter
 				model.toggleColorful();
 				return;
 
+			case KeyEvent.VK_P:
+				model.toggleOverlay();
+				return;
+
 			case KeyEvent.VK_CLEAR:
 			case KeyEvent.VK_D:
 			case KeyEvent.VK_DELETE:
@@ -108,6 +161,50 @@ public final class KeyHandler extends KeyAdapter
 
 		model.setOriginInSceneCoordinates(p);
 	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private void	save(boolean archive)
+	{
+		try
+		{
+			if (archive)
+				model.archive(Application.DEFAULT_ARCHIVE);
+			else
+				model.save(Application.DEFAULT_SKETCH);
+		}
+		catch (IOException e)
+		{
+			System.err.println("Failed to save sketch: " + e);
+		}
+	}
+
+	private void	export()
+	{
+		try
+		{
+			model.exportRaw(Application.DEFAULT_RAW);
+		}
+		catch (IOException e)
+		{
+			System.err.println("Failed to export raw points: " + e);
+		}
+	}
+
+	private void	load(boolean archive)
+	{
+		try
+		{
+			model.load(archive ? Application.DEFAULT_ARCHIVE :
+					   Application.DEFAULT_SKETCH);
+		}
+		catch (IOException e)
+		{
+			System.err.println("Failed to open sketch: " + e);
+		}
+	}
 }
 
 //******************************************************************************
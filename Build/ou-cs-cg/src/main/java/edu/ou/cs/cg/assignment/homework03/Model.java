@@ -20,10 +20,47 @@
 //   4. Add a method to modify the variable.
 //
 // Concurrency management is important because the JOGL and the Java AWT run on
-// different threads. The modify methods use the GLAutoDrawable.invoke() method
-// so that all changes to variables take place on the JOGL thread. Because this
-// happens at the END of GLEventListener.display(), all changes will be visible
-// to the View.update() and render() methods in the next animation cycle.
+// different threads. The modify methods post their changes to an InputQueue,
+// and the view calls applyInput() at the START of GLEventListener.display() to
+// make all of the changes posted since the last frame on the JOGL thread, in
+// one batch. All changes will be visible to the View.update() and render()
+// methods in the same animation cycle.
+//
+// After each batch, the model publishes a ModelState, an unchanging copy of
+// its variables, through an AtomicReference. The access methods read from the
+// latest state, so they can be called safely from any thread (such as the AWT
+// thread in KeyHandler). Only getPolyline(), getRawPolyline(), and
+// getSelection() return live objects, for use on the JOGL thread; other
+// threads should use the snapshots in getState() instead.
+//
+// Changes to the polyline, origin, scale, and colorful flag are logged in a
+// ModelHistory, for undo, redo, and scrubbing. Moving through the history
+// restores the nearest checkpoint and replays the log from there. The raw
+// input points aren't part of the history.
+//
+// Sketches are saved from the latest snapshot, on the calling thread, and
+// loaded through a SketchFile. A load replaces the polyline and starts the
+// history over. The file's chunks are taken a few milliseconds' worth per
+// frame, so the first of a big sketch are drawn while the rest are still
+// coming in. Any change that depends on the points finishes the load first.
+//
+// With openJournal(), the sketch is also kept in a SketchJournal: the last
+// sketch saved there plus a write-ahead journal of the changes since. The
+// model recovers it (loading the sketch, then replaying the journal), and
+// from then on posts each change to the journal, whose own thread does all
+// the writing. Saving to the journal's sketch file checkpoints it. Input that
+// comes in before the sketch has been recovered (all of it but the cursor and
+// the overlay) is held, in order, and made once it has, so that it lands on
+// the recovered sketch and is journaled.
+//
+// archive() saves a compressed SketchArchive instead, which load() also reads.
+// exportRaw() saves the raw input points as a SketchFile, unsimplified, so
+// that the strokes as drawn can be recovered exactly.
+//
+// If the sketch.spill property is set, both polylines keep their chunks in a
+// ChunkCache, which spills the cold ones to disk (see ChunkCache). The index
+// would then take more heap per point than the points themselves, so it's
+// left unbuilt, and picking scans the points instead.
 //
 //******************************************************************************
 
@@ -31,10 +68,14 @@ package edu.ou.cs.cg.assignment.homework03;
 
 //import java.lang.*;
 import java.awt.Point;
+import java.io.File;
+import java.io.IOException;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 import com.jogamp.opengl.*;
-import edu.ou.cs.cg.utilities.Utilities;
+import edu.ou.cs.cg.utilities.Transform;
 
 //******************************************************************************
 
@@ -46,18 +87,58 @@ import edu.ou.cs.cg.utilities.Utilities;
  */
 public final class Model
 {
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int			PICK = 6;	// Pick radius, pixels
+	private static final double			MIN_SCALE = 1.0e-4;	// Zoom limits
+	private static final double			MAX_SCALE = 1.0e4;
+	private static final long			LOAD_TIME = 4000000L;	// ns/frame
+
 	//**********************************************************************
 	// Private Members
 	//**********************************************************************
 
 	// State (internal) variables
+	private final InputQueue			input;	// Changes not yet made
 	private final View					view;
+	private final ChunkCache			cache;	// Or null, to keep all
+	private final double[]				p;		// Last point mapped
+
+	private final AtomicReference<ModelState>	state;	// Last published
+	private BitSet						published;	// Selection in state
+	private boolean					selecting;	// Selection changed?
+
+	private final ModelHistory			history;	// Undoable changes
+	private final BitSet				range;		// Points to reindex
+	private boolean					stroking;	// Stroke kept a point?
+	private boolean					moving;		// Edit moved points?
+
+	private final AtomicReference<SketchFile>	opened;	// To load next
+	private SketchFile					loading;	// Being loaded, or null
+	private int						loaded;		// Chunks taken from it
+
+	private volatile SketchJournal		journal;	// Or null, if none
+	private SketchJournal.Tail			tail;		// Changes to recover
+	private boolean					recovered;	// Journaling changes?
+	private int[]						heldKind;	// Input before recovery
+	private double[]					heldArgs;	// Four per event
+	private int						held;		// Events held
 
 	// Model variables
 	private Point2D.Double				origin;	// Current origin coords
+	private double						scale;	// Half size of view
 	private Point2D.Double				cursor;	// Current cursor coords
-	private ArrayList<Point2D.Double>	points;	// Drawn polyline points
+	private final PointStore			points;	// Drawn polyline points
+	private final PointStore			raw;	// Every point input
+	private Point2D.Double				tip;	// End of stroke in progress
+	private final PolylineIndex			index;	// Points and segments by area
+	private final BitSet				selection;	// Selected points
+	private Point2D.Double				grab;	// Last point of edit drag
+	private Rectangle2D.Double			marquee;	// Selection rectangle
 	private boolean					colorful;	// Show rainbow version?
+	private boolean					overlay;	// Show performance overlay?
 
 	//**********************************************************************
 	// Constructors and Finalizer
@@ -66,39 +147,113 @@ public final class Model
 	public Model(View view)
 	{
 		this.view = view;
+		this.input = new InputQueue();
+		this.cache = ChunkCache.create();
+
+		p = new double[3];
 
 		// Initialize user-adjustable variables (with reasonable default values)
 		origin = new Point2D.Double(0.0, 0.0);
+		scale = 1.0;
 		cursor = null;
-		points = new ArrayList<Point2D.Double>();
+		points = new PointStore(cache);
+		raw = new PointStore(cache);
+		tip = null;
+		index = new PolylineIndex(points, (cache == null));
+		selection = new BitSet();
+		grab = null;
+		marquee = null;
 		colorful = false;
+		overlay = false;
+
+		history = new ModelHistory(points.snapshot(), origin.x, origin.y,
+								   scale, colorful);
+		range = new BitSet();
+		opened = new AtomicReference<SketchFile>();
+		heldKind = new int[64];
+		heldArgs = new double[4 * 64];
+
+		state = new AtomicReference<ModelState>();
+		published = new BitSet();
+		publish();
 	}
 
 	//**********************************************************************
 	// Public Methods (Access Variables)
 	//**********************************************************************
 
+	// The latest state published. Can be read on any thread.
+	public ModelState	getState()
+	{
+		return state.get();
+	}
+
 	public Point2D.Double	getOrigin()
 	{
-		return new Point2D.Double(origin.x, origin.y);
+		return state.get().getOrigin();
+	}
+
+	public double	getScale()
+	{
+		return state.get().getScale();
 	}
 
 	public Point2D.Double	getCursor()
 	{
-		if (cursor == null)
-			return null;
-		else
-			return new Point2D.Double(cursor.x, cursor.y);
+		return state.get().getCursor();
+	}
+
+	// The store itself, not a copy. Read it on the GL thread only.
+	public PointStore	getPolyline()
+	{
+		return points;
 	}
 
-	public List<Point2D.Double>	getPolyline()
+	// Every point input, before simplification. Read it on the GL thread.
+	public PointStore	getRawPolyline()
 	{
-		return Collections.unmodifiableList(points);
+		return raw;
+	}
+
+	// The cache that spills the polylines' chunks, or null if they're all
+	// kept on the heap.
+	public ChunkCache	getChunkCache()
+	{
+		return cache;
+	}
+
+	// Latest point of the stroke being dragged, which may not be kept as a
+	// polyline point, or null if there isn't a stroke.
+	public Point2D.Double	getTip()
+	{
+		return state.get().getTip();
+	}
+
+	// The selected points, as bits. Read it on the GL thread only.
+	public BitSet	getSelection()
+	{
+		return selection;
+	}
+
+	public Rectangle2D.Double	getMarquee()
+	{
+		return state.get().getMarquee();
 	}
 
 	public boolean	getColorful()
 	{
-		return colorful;
+		return state.get().getColorful();
+	}
+
+	public boolean	getOverlay()
+	{
+		return state.get().getOverlay();
+	}
+
+	// Number of changes posted that haven't been made yet.
+	public int	getPending()
+	{
+		return input.size();
 	}
 
 	//**********************************************************************
@@ -107,106 +262,888 @@ public final class Model
 
 	public void	setOriginInSceneCoordinates(Point2D.Double q)
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
-			public void	update(GL2 gl) {
-				origin = new Point2D.Double(q.x, q.y);
-			}
-		});;
+		input.post(InputQueue.ORIGIN_SCENE, q.x, q.y);
 	}
 
 	public void	setOriginInViewCoordinates(Point q)
 	{
-		view.getCanvas().invoke(false, new ViewPointUpdater(q) {
-			public void	update(double[] p) {
-				origin = new Point2D.Double(p[0], p[1]);
-			}
-		});;
+		input.post(InputQueue.ORIGIN, q.x, q.y);
+	}
+
+	// Zoom out by the factor (or in, if it's under 1) around q, in view
+	// coordinates, keeping the scene point under q where it is.
+	public void	zoomAtViewCoordinates(Point q, double factor)
+	{
+		input.post(InputQueue.ZOOM, q.x, q.y, factor, 0.0);
 	}
 
 	public void	setCursorInViewCoordinates(Point q)
 	{
-		view.getCanvas().invoke(false, new ViewPointUpdater(q) {
-			public void	update(double[] p) {
-				cursor = new Point2D.Double(p[0], p[1]);
-			}
-		});;
+		input.moveCursor(q.x, q.y);
 	}
 
 	public void	turnCursorOff()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
-			public void	update(GL2 gl) {
-				cursor = null;
-			}
-		});;
+		input.turnCursorOff();
 	}
 
 	public void	addPolylinePointInViewCoordinates(Point q)
 	{
-		view.getCanvas().invoke(false, new ViewPointUpdater(q) {
-			public void	update(double[] p) {
-				points.add(new Point2D.Double(p[0], p[1]));
-			}
-		});;
+		input.post(InputQueue.POINT, q.x, q.y);
+	}
+
+	// Add point q of a stroke to the raw points, and make it the tip. Also
+	// add v to the polyline, unless it's null. Both are in view coordinates.
+	public void	addStrokePointInViewCoordinates(Point q, Point v)
+	{
+		if (v != null)
+			input.post(InputQueue.STROKE, q.x, q.y, v.x, v.y);
+		else
+			input.post(InputQueue.STROKE, q.x, q.y, Double.NaN, Double.NaN);
+	}
+
+	// End the stroke in progress, adding its last point v to the polyline,
+	// unless it's null. In view coordinates.
+	public void	endStrokeInViewCoordinates(Point v)
+	{
+		if (v != null)
+			input.post(InputQueue.STROKE_END, v.x, v.y);
+		else
+			input.post(InputQueue.STROKE_END, Double.NaN, Double.NaN);
 	}
 
 	public void	clearPolyline()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
-			public void	update(GL2 gl) {
-				points.clear();
-			}
-		});;
+		input.post(InputQueue.CLEAR);
+	}
+
+	// Start an edit at q, in view coordinates. Pressing on a point (or on a
+	// segment) selects it, unless it's already selected, and starts dragging
+	// the selection. Pressing anywhere else starts a selection marquee.
+	public void	beginEditInViewCoordinates(Point q)
+	{
+		input.post(InputQueue.EDIT_BEGIN, q.x, q.y);
+	}
+
+	// Continue an edit at q, in view coordinates, by moving the selection
+	// or stretching the marquee.
+	public void	dragEditInViewCoordinates(Point q)
+	{
+		input.post(InputQueue.EDIT_DRAG, q.x, q.y);
+	}
+
+	// End an edit, selecting the points in the marquee if there is one.
+	public void	endEdit()
+	{
+		input.post(InputQueue.EDIT_END);
 	}
 
 	public void	toggleColorful()
 	{
-		view.getCanvas().invoke(false, new BasicUpdater() {
-			public void	update(GL2 gl) {
+		input.post(InputQueue.COLORFUL);
+	}
+
+	public void	toggleOverlay()
+	{
+		input.post(InputQueue.OVERLAY);
+	}
+
+	// Undo the last group of changes: a stroke, a click, a run of origin
+	// changes, a move, a clear, or a toggle.
+	public void	undo()
+	{
+		input.post(InputQueue.UNDO);
+	}
+
+	public void	redo()
+	{
+		input.post(InputQueue.REDO);
+	}
+
+	// Move through the history by the given number of changes (backward, if
+	// it's negative), one change at a time.
+	public void	scrubHistory(int changes)
+	{
+		input.post(InputQueue.SCRUB, changes, 0.0);
+	}
+
+	// Save the sketch as of the latest state. Can be called on any thread.
+	// Saving to the journal's sketch checkpoints it on the writer thread
+	// instead, as of the next frame.
+	public void	save(File file) throws IOException
+	{
+		SketchJournal	j = journal;
+
+		if ((j != null) && file.equals(j.getSketch()))
+		{
+			input.post(InputQueue.SAVE);
+			return;
+		}
+
+		ModelState		s = state.get();
+		Point2D.Double	o = s.getOrigin();
+
+		SketchFile.save(file, s.getPolyline(), o.x, o.y, s.getScale(),
+						s.getColorful());
+	}
+
+	// Save the sketch as of the latest state, compressed and rounded to a
+	// grid finer than each chunk's shortest segment (see SketchArchive). Can
+	// be called on any thread.
+	public void	archive(File file) throws IOException
+	{
+		ModelState		s = state.get();
+		Point2D.Double	o = s.getOrigin();
+
+		SketchArchive.save(file, s.getPolyline(), o.x, o.y, s.getScale(),
+						   s.getColorful());
+	}
+
+	// Save every point input since the sketch was last cleared or loaded,
+	// before simplification, as a sketch. Undo doesn't remove points from
+	// them. Can be called on any thread.
+	public void	exportRaw(File file) throws IOException
+	{
+		ModelState		s = state.get();
+		Point2D.Double	o = s.getOrigin();
+
+		SketchFile.save(file, s.getRawPolyline(), o.x, o.y, s.getScale(),
+						s.getColorful());
+	}
+
+	// Open a sketch to replace the current one. Throws if the file can't be
+	// read as one; otherwise the load starts with the next frame.
+	public void	load(File file) throws IOException
+	{
+		SketchFile	s = opened.getAndSet(SketchFile.open(file));
+
+		if (s != null)							// Never started
+			s.close();
+
+		input.post(InputQueue.LOAD);
+	}
+
+	// Keep the sketch in sketch, journaling changes to it in file, first
+	// recovering the sketch from them both. The journal is committed when
+	// the VM exits.
+	public void	openJournal(File sketch, File file)
+	{
+		final SketchJournal	j = new SketchJournal(sketch, file,
+												  new Runnable() {
+				public void	run()
+				{
+					input.post(InputQueue.RECOVER);
+				}
+			});
+
+		journal = j;
+		j.start();
+
+		Runtime.getRuntime().addShutdownHook(new Thread() {
+				public void	run()
+				{
+					j.close();
+				}
+			});
+	}
+
+	//**********************************************************************
+	// Public Methods (Apply Input)
+	//**********************************************************************
+
+	// Make the changes asked for since the last call, in the order asked.
+	// The view calls this on the GL thread at the start of each frame.
+	public void	applyInput(GL2 gl)
+	{
+		int	n = input.drain();
+		int	c = input.getCursor();
+
+		if ((n == 0) && (c == InputQueue.CURSOR_SAME) && (loading == null) &&
+			((held == 0) || isRecovering()))
+			return;
+
+		// Every event in the batch maps through the view's transform as it
+		// was for the last frame, before any origin or zoom changes here.
+		for (int i=0; i<n; i++)
+		{
+			int	kind = input.getKind(i);
+
+			if (isRecovering() && (kind != InputQueue.RECOVER) &&
+				(kind != InputQueue.OVERLAY))
+				hold(kind, input.getArg(i, 0), input.getArg(i, 1),
+					 input.getArg(i, 2), input.getArg(i, 3));
+			else
+				apply(kind, input.getArg(i, 0), input.getArg(i, 1),
+					  input.getArg(i, 2), input.getArg(i, 3));
+
+			if ((held > 0) && !isRecovering())
+				applyHeld();
+		}
+
+		if (loading != null)
+			load(System.nanoTime() + LOAD_TIME);
+
+		if ((held > 0) && !isRecovering())
+			applyHeld();
+
+		if (c == InputQueue.CURSOR_MOVE)
+		{
+			map(input.getCursorX(), input.getCursorY());
+			cursor = new Point2D.Double(p[0], p[1]);
+		}
+		else if (c == InputQueue.CURSOR_OFF)
+		{
+			cursor = null;
+		}
+
+		publish();
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Publish a copy of the variables as they are now.
+	private void	publish()
+	{
+		ModelState	last = state.get();
+		long		version = ((last == null) ? 0 : last.getVersion() + 1);
+
+		if (selecting)							// Copy only if it changed
+		{
+			published = (BitSet)selection.clone();
+			selecting = false;
+		}
+
+		state.set(new ModelState(version, copy(origin), scale, copy(cursor),
+								 copy(tip), copy(marquee), colorful, overlay,
+								 points.snapshot(), raw.snapshot(),
+								 published, history.getPosition(),
+								 history.getLength()));
+	}
+
+	private static Point2D.Double	copy(Point2D.Double q)
+	{
+		return ((q == null) ? null : new Point2D.Double(q.x, q.y));
+	}
+
+	private static Rectangle2D.Double	copy(Rectangle2D.Double r)
+	{
+		return ((r == null) ? null : (Rectangle2D.Double)r.clone());
+	}
+
+	// Map view point (x, y) into p, in scene coordinates.
+	private void	map(double x, double y)
+	{
+		Transform	t = view.getTransform();
+
+		t.mapViewToScene(x, view.getHeight() - y, 0.0, p);
+	}
+
+	private void	apply(int kind, double a, double b, double c, double d)
+	{
+		if ((loading != null) && needsPoints(kind))
+			load(Long.MAX_VALUE);
+
+		switch (kind)
+		{
+			case InputQueue.ORIGIN_SCENE:
+				setView(a, b, scale);
+				break;
+
+			case InputQueue.ORIGIN:
+				map(a, b);
+				setView(p[0], p[1], scale);
+				break;
+
+			case InputQueue.ZOOM:
+				map(a, b);
+				zoom(c);
+				break;
+
+			case InputQueue.POINT:
+				map(a, b);
+				addPoint(p[0], p[1]);
+				log(ModelHistory.ADD, p[0], p[1], 0.0, true);
+				raw.add(p[0], p[1]);
+				break;
+
+			case InputQueue.STROKE:
+				if (!Double.isNaN(c))
+				{
+					map(c, d);
+					addPoint(p[0], p[1]);
+					log(ModelHistory.ADD, p[0], p[1], 0.0, !stroking);
+					stroking = true;
+				}
+
+				map(a, b);
+				raw.add(p[0], p[1]);
+				tip = new Point2D.Double(p[0], p[1]);
+				break;
+
+			case InputQueue.STROKE_END:
+				if (!Double.isNaN(a))
+				{
+					map(a, b);
+					addPoint(p[0], p[1]);
+					log(ModelHistory.ADD, p[0], p[1], 0.0, !stroking);
+				}
+
+				stroking = false;
+				tip = null;
+				break;
+
+			case InputQueue.CLEAR:
+				if (!points.isEmpty())
+				{
+					clearPoints();
+					log(ModelHistory.CLEAR, 0.0, 0.0, 0.0, true);
+				}
+
+				raw.clear();
+				tip = null;
+				break;
+
+			case InputQueue.EDIT_BEGIN:
+				selecting = true;
+				beginEdit(a, b);
+				break;
+
+			case InputQueue.EDIT_DRAG:
+				map(a, b);
+				dragEdit(p[0], p[1]);
+				break;
+
+			case InputQueue.EDIT_END:
+				selecting = true;
+
+				if (marquee != null)
+					index.findVertices(marquee.getMinX(), marquee.getMinY(),
+									   marquee.getMaxX(), marquee.getMaxY(),
+									   selection);
+
+				if (moving)
+					log(ModelHistory.MOVE, 0.0, 0.0, 0.0, true);
+
+				grab = null;
+				marquee = null;
+				moving = false;
+				break;
+
+			case InputQueue.COLORFUL:
 				colorful = !colorful;
+				log(ModelHistory.COLORFUL, 0.0, 0.0, 0.0, true);
+				break;
+
+			case InputQueue.OVERLAY:
+				overlay = !overlay;
+				break;
+
+			case InputQueue.UNDO:
+				restore(history.getUndoPosition());
+				break;
+
+			case InputQueue.REDO:
+				restore(history.getRedoPosition());
+				break;
+
+			case InputQueue.SCRUB:
+				restore(Math.max(0, Math.min(history.getLength(),
+											 history.getPosition() + (int)a)));
+				break;
+
+			case InputQueue.LOAD:
+				beginLoad(opened.getAndSet(null));
+				break;
+
+			case InputQueue.RECOVER:
+				recover();
+				break;
+
+			case InputQueue.SAVE:
+				if (recovered)
+					journal.checkpoint(points.snapshot(), origin.x, origin.y,
+									   scale, colorful);
+				else
+					System.err.println("Not saved; sketch is still recovering");
+
+				break;
+		}
+	}
+
+	// Zoom by the factor around p.
+	private void	zoom(double factor)
+	{
+		double	s = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale * factor));
+		double	f = s / scale;
+
+		setView(p[0] + (origin.x - p[0]) * f, p[1] + (origin.y - p[1]) * f, s);
+	}
+
+	// Change the origin and scale, logging the change if there is one. A run
+	// of changes is undone as one.
+	private void	setView(double x, double y, double s)
+	{
+		if ((x == origin.x) && (y == origin.y) && (s == scale))
+			return;
+
+		int		n = history.getPosition();
+		boolean	start = ((n == 0) ||
+						 (history.getKind(n - 1) != ModelHistory.ORIGIN));
+
+		origin = new Point2D.Double(x, y);
+		scale = s;
+		log(ModelHistory.ORIGIN, x, y, s, start);
+	}
+
+	private void	beginEdit(double x, double y)
+	{
+		map(x + PICK, y);
+
+		double		ex = p[0];
+
+		map(x, y);
+
+		double		r = Math.abs(ex - p[0]);
+		int			i = index.nearestVertex(p[0], p[1], r);
+
+		grab = new Point2D.Double(p[0], p[1]);
+
+		if (i >= 0)
+		{
+			if (!selection.get(i))
+			{
+				selection.clear();
+				selection.set(i);
 			}
-		});;
+
+			return;
+		}
+
+		int			j = index.nearestSegment(p[0], p[1], r);
+
+		selection.clear();
+
+		if (j >= 0)
+			selection.set(j, j + 2);	// Both ends of segment
+		else
+			marquee = new Rectangle2D.Double(p[0], p[1], 0.0, 0.0);
+	}
+
+	private void	dragEdit(double x, double y)
+	{
+		if (grab == null)
+			return;
+
+		if (marquee != null)
+		{
+			marquee.setFrameFromDiagonal(grab.x, grab.y, x, y);
+			return;
+		}
+
+		double	dx = x - grab.x;
+		double	dy = y - grab.y;
+
+		index.remove(selection);
+
+		for (int i=selection.nextSetBit(0); i>=0;
+			 i=selection.nextSetBit(i + 1))
+			points.set(i, points.getX(i) + dx, points.getY(i) + dy);
+
+		index.insert(selection);
+		moving |= !selection.isEmpty();
+
+		grab.x = x;
+		grab.y = y;
+	}
+
+	// Add a point to the polyline, and to the index.
+	private void	addPoint(double x, double y)
+	{
+		points.add(x, y);
+		index.add(points.size() - 1);
+	}
+
+	// Empty the polyline, the index, and anything that refers to points.
+	private void	clearPoints()
+	{
+		points.clear();
+		index.clear();
+		selection.clear();
+		selecting = true;
+		grab = null;
+		marquee = null;
+	}
+
+	// Does the kind of event read or change the points?
+	private static boolean	needsPoints(int kind)
+	{
+		switch (kind)
+		{
+			case InputQueue.ORIGIN:
+			case InputQueue.ORIGIN_SCENE:
+			case InputQueue.ZOOM:
+			case InputQueue.COLORFUL:
+			case InputQueue.OVERLAY:
+			case InputQueue.LOAD:
+			case InputQueue.RECOVER:
+				return false;
+
+			default:
+				return true;
+		}
 	}
 
 	//**********************************************************************
-	// Inner Classes
+	// Private Methods (Loading)
 	//**********************************************************************
 
-	// Convenience class to simplify the implementation of most updaters.
-	private abstract class BasicUpdater implements GLRunnable
+	// Replace the sketch with the one in s, dropping any load (or recovery)
+	// still in progress.
+	private void	beginLoad(SketchFile s)
+	{
+		if (s == null)
+			return;
+
+		if (loading != null)
+			endLoad();
+
+		resetSketch(s.getOriginX(), s.getOriginY(), s.getScale(),
+					s.getColorful());
+
+		tail = null;
+		loading = s;
+		loaded = 0;
+	}
+
+	// Start an empty sketch with the given view settings.
+	private void	resetSketch(double x, double y, double s, boolean c)
+	{
+		clearPoints();
+		raw.clear();
+		tip = null;
+		stroking = false;
+		moving = false;
+
+		origin = new Point2D.Double(x, y);
+		scale = s;
+		colorful = c;
+	}
+
+	// Take chunks from the file being loaded until it's done or the deadline
+	// (in System.nanoTime()) passes, taking at least one.
+	private void	load(long deadline)
 	{
-		public final boolean	run(GLAutoDrawable drawable)
+		int	chunks = loading.getChunkCount();
+
+		try
 		{
-			GL2	gl = drawable.getGL().getGL2();
+			do
+			{
+				if (loaded == chunks)
+					break;
+
+				double[]	x = new double[PointStore.CHUNK];
+				double[]	y = new double[PointStore.CHUNK];
+				int			start = points.size();
 
-			update(gl);
+				loading.read(loaded, x, y);
+				points.addChunk(x, y, loading.getChunkSize(loaded));
+				loaded++;
 
-			return true;	// Let animator take care of updating the display
+				for (int i=start; i<points.size(); i++)
+					index.add(i);
+			}
+			while (System.nanoTime() < deadline);
+		}
+		catch (IOException e)
+		{
+			System.err.println("Failed to load sketch: " + e);
+			loaded = chunks;					// Keep what was read
 		}
 
-		public abstract void	update(GL2 gl);
+		if (loaded == chunks)
+		{
+			endLoad();
+
+			if (tail != null)					// Recovering
+				replayTail();
+			else if (journal != null)			// Loaded over the journal
+				checkpoint();
+
+			history.reset(points.snapshot(), origin.x, origin.y, scale,
+						  colorful);
+		}
 	}
 
-	// Convenience class to simplify updates in cases in which the input is a
-	// single point in view coordinates (integers/pixels).
-	private abstract class ViewPointUpdater extends BasicUpdater
+	private void	endLoad()
 	{
-		private final Point	q;
+		close(loading);
+		loading = null;
+	}
 
-		public ViewPointUpdater(Point q)
+	private static void	close(SketchFile s)
+	{
+		try
+		{
+			s.close();
+		}
+		catch (IOException e)
 		{
-			this.q = q;
+			// Only read from, so nothing is lost
 		}
+	}
 
-		public final void	update(GL2 gl)
+	//**********************************************************************
+	// Private Methods (Journal)
+	//**********************************************************************
+
+	// Is the sketch still being recovered, so that input has to wait?
+	private boolean	isRecovering()
+	{
+		return ((journal != null) && !recovered);
+	}
+
+	// Keep an event to make after recovery.
+	private void	hold(int kind, double a, double b, double c, double d)
+	{
+		if (held == heldKind.length)
+		{
+			heldKind = Arrays.copyOf(heldKind, 2 * held);
+			heldArgs = Arrays.copyOf(heldArgs, 8 * held);
+		}
+
+		heldKind[held] = kind;
+		heldArgs[4 * held] = a;
+		heldArgs[4 * held + 1] = b;
+		heldArgs[4 * held + 2] = c;
+		heldArgs[4 * held + 3] = d;
+		held++;
+	}
+
+	// Make the events held during recovery, in the order they came in.
+	private void	applyHeld()
+	{
+		int	n = held;
+
+		held = 0;
+
+		for (int k=0; k<n; k++)
+			apply(heldKind[k], heldArgs[4 * k], heldArgs[4 * k + 1],
+				  heldArgs[4 * k + 2], heldArgs[4 * k + 3]);
+	}
+
+	// Take the sketch and changes recovered by the journal. Does nothing if
+	// a sketch was loaded over the journal first.
+	private void	recover()
+	{
+		SketchJournal.Tail	t = journal.getTail();
+
+		if (t == null)							// Failed, so don't journal
+		{
+			journal = null;
+			return;
+		}
+
+		if (recovered)
 		{
-			int		h = view.getHeight();
-			double[]	p = Utilities.mapViewToScene(gl, q.x, h - q.y, 0.0);
+			if (t.getSketch() != null)
+				close(t.getSketch());
 
-			update(p);
+			return;
+		}
+
+		if (t.getSketch() != null)
+		{
+			beginLoad(t.getSketch());
+			tail = t;
+		}
+		else
+		{
+			resetSketch(0.0, 0.0, 1.0, false);
+			tail = t;
+			replayTail();
+			history.reset(points.snapshot(), origin.x, origin.y, scale,
+						  colorful);
+		}
+	}
+
+	// Make the recovered changes, then start journaling new ones.
+	private void	replayTail()
+	{
+		SketchJournal.Tail	t = tail;
+
+		for (int k=0; k<t.size(); k++)
+		{
+			int	i = t.getIndex(k);
+
+			switch (t.getKind(k))
+			{
+				case SketchJournal.ADD:
+					addPoint(t.getX(k), t.getY(k));
+					break;
+
+				case SketchJournal.CLEAR:
+					points.clear();
+					index.clear();
+					break;
+
+				case SketchJournal.ORIGIN:
+					origin = new Point2D.Double(t.getX(k), t.getY(k));
+					scale = t.getScale(k);
+					break;
+
+				case SketchJournal.COLORFUL:
+					colorful = (i != 0);
+					break;
+
+				case SketchJournal.SET:
+					if (i >= points.size())
+						break;
+
+					range.clear();
+					range.set(i);
+					index.remove(range);
+					points.set(i, t.getX(k), t.getY(k));
+					index.insert(range);
+					break;
+
+				case SketchJournal.TRUNCATE:
+					if (i >= points.size())
+						break;
+
+					range.clear();
+					range.set(i, points.size());
+					index.remove(range);
+					points.truncate(i);
+					break;
+			}
 		}
 
-		public abstract void	update(double[] p);
+		tail = null;
+		recovered = true;
+	}
+
+	// Save the sketch as it is now, and start the journal over from it.
+	private void	checkpoint()
+	{
+		journal.checkpoint(points.snapshot(), origin.x, origin.y, scale,
+						   colorful);
+		recovered = true;
+	}
+
+	//**********************************************************************
+	// Private Methods (History)
+	//**********************************************************************
+
+	// Log a change, leaving a checkpoint after it if one is due.
+	private void	log(int kind, double x, double y, double s, boolean start)
+	{
+		history.log(kind, x, y, s, start);
+
+		if (recovered)
+		{
+			switch (kind)
+			{
+				case ModelHistory.ADD:
+					journal.add(x, y);
+					break;
+
+				case ModelHistory.CLEAR:
+					journal.clear();
+					break;
+
+				case ModelHistory.ORIGIN:
+					journal.origin(x, y, s);
+					break;
+
+				case ModelHistory.COLORFUL:
+					journal.colorful(colorful);
+					break;
+
+				case ModelHistory.MOVE:
+					journal.move(points.snapshot(), (BitSet)selection.clone());
+					break;
+			}
+		}
+
+		if (history.isCheckpointDue())
+			history.checkpoint(points.snapshot(), origin.x, origin.y, scale,
+							   colorful);
+	}
+
+	// Move to position n in the history: go back (or forward) to the last
+	// checkpoint at or before it, then replay the changes after that.
+	private void	restore(int n)
+	{
+		ModelHistory.Checkpoint	c = history.findCheckpoint(n);
+		int						from = restorePoints(c.polyline);
+
+		origin = new Point2D.Double(c.x, c.y);
+		scale = c.scale;
+		colorful = c.colorful;
+
+		for (int i=c.position; i<n; i++)
+		{
+			switch (history.getKind(i))
+			{
+				case ModelHistory.ADD:
+					addPoint(history.getX(i), history.getY(i));
+					break;
+
+				case ModelHistory.CLEAR:
+					points.clear();
+					index.clear();
+					from = 0;
+					break;
+
+				case ModelHistory.ORIGIN:
+					origin = new Point2D.Double(history.getX(i),
+												history.getY(i));
+					scale = history.getScale(i);
+					break;
+
+				case ModelHistory.COLORFUL:
+					colorful = !colorful;
+					break;
+			}
+		}
+
+		history.setPosition(n);
+
+		if (recovered)							// Journal the outcome
+		{
+			journal.replace(points.snapshot(), from);
+			journal.origin(origin.x, origin.y, scale);
+			journal.colorful(colorful);
+		}
+
+		selection.clear();						// Indices may be stale
+		selecting = true;
+		grab = null;
+		marquee = null;
+		moving = false;
+		stroking = false;
+	}
+
+	// Make the polyline hold the snapshot's points, reindexing only those
+	// that may have changed. Returns the first point that may have.
+	private int	restorePoints(PolylineSnapshot s)
+	{
+		int	from = points.findChange(s);
+
+		range.clear();
+		range.set(from, points.size());
+		index.remove(range);
+
+		points.restore(s);
+
+		range.clear();
+		range.set(from, points.size());
+		index.insert(range);
+
+		return from;
 	}
 }
 
@@ -0,0 +1,298 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 22:49:10 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// The Model's history of changes, for undo, redo, and scrubbing back and forth
+// through time. Position p in the history is the state after its first p
+// operations; the model can be moved to any position from 0 to getLength().
+//
+// Operations are logged in primitive arrays: a kind and up to three numbers
+// each (the point added, or the new origin and scale). Adding a point costs 29
+// bytes of log, so the history never copies the polyline.
+//
+// To restore a position without replaying the log from the start, the model
+// leaves a checkpoint at least every CHECKPOINT operations, and after any
+// operation that can't be replayed cheaply (moving points). A checkpoint holds
+// the origin, scale, and colorful flag, and a PolylineSnapshot of the points.
+// Snapshots share their chunks with the store and with each other, so a
+// checkpoint costs a copy of the chunk references, and a chunk is kept only
+// once however many checkpoints refer to it. Restoring position p finds the
+// last checkpoint at or before p by binary search, then replays fewer than
+// CHECKPOINT operations from there.
+//
+// Operations are grouped for undo and redo, which move to the start of the
+// previous or next group: the points kept from one drag stroke, or a run of
+// origin changes, are undone together. Scrubbing moves one operation at a time.
+// Logging an operation anywhere but at the end drops the operations after it,
+// as usual for redo.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.util.Arrays;
+
+//******************************************************************************
+
+/**
+ * The <CODE>ModelHistory</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class ModelHistory
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	// Operation kinds
+	public static final int		ADD = 0;			// x, y
+	public static final int		CLEAR = 1;
+	public static final int		ORIGIN = 2;			// x, y, scale
+	public static final int		COLORFUL = 3;		// Toggle
+	public static final int		MOVE = 4;			// Checkpointed
+
+	public static final int		CHECKPOINT = 256;	// Most ops to replay
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private int[]				kinds;			// Operations, in order
+	private double[]			xs;				// Arguments
+	private double[]			ys;
+	private double[]			ss;
+	private boolean[]			starts;			// Starts a group?
+	private int					length;			// Operations logged
+	private int					position;		// Current position
+
+	private int[]				at;				// Checkpoint positions
+	private Checkpoint[]		checkpoints;	// Checkpoints, in order
+	private int					count;			// Checkpoints kept
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	// Create a history whose position 0 is the given state.
+	public ModelHistory(PolylineSnapshot polyline, double x, double y,
+						double scale, boolean colorful)
+	{
+		kinds = new int[256];
+		xs = new double[256];
+		ys = new double[256];
+		ss = new double[256];
+		starts = new boolean[256];
+
+		at = new int[16];
+		checkpoints = new Checkpoint[16];
+
+		checkpoint(polyline, x, y, scale, colorful);
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	getLength()
+	{
+		return length;
+	}
+
+	public int	getPosition()
+	{
+		return position;
+	}
+
+	public void	setPosition(int p)
+	{
+		position = p;
+	}
+
+	public int	getKind(int i)
+	{
+		return kinds[i];
+	}
+
+	public double	getX(int i)
+	{
+		return xs[i];
+	}
+
+	public double	getY(int i)
+	{
+		return ys[i];
+	}
+
+	public double	getScale(int i)
+	{
+		return ss[i];
+	}
+
+	// The last checkpoint at or before position p.
+	public Checkpoint	findCheckpoint(int p)
+	{
+		int	lo = 0;
+		int	hi = count - 1;
+
+		while (lo < hi)								// Last at[k] <= p
+		{
+			int	mid = (lo + hi + 1) >>> 1;
+
+			if (at[mid] <= p)
+				lo = mid;
+			else
+				hi = mid - 1;
+		}
+
+		return checkpoints[lo];
+	}
+
+	// Where undo goes: the start of the group before the position.
+	public int	getUndoPosition()
+	{
+		int	p = position - 1;
+
+		while ((p > 0) && !starts[p])
+			p--;
+
+		return Math.max(p, 0);
+	}
+
+	// Where redo goes: the start of the group after the position.
+	public int	getRedoPosition()
+	{
+		int	p = Math.min(position + 1, length);
+
+		while ((p < length) && !starts[p])
+			p++;
+
+		return p;
+	}
+
+	// Does the last operation need a checkpoint after it?
+	public boolean	isCheckpointDue()
+	{
+		return ((kinds[length - 1] == MOVE) ||
+				(position - at[count - 1] >= CHECKPOINT));
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Log an operation at the current position, dropping any after it, and
+	// move past it. A group starts with an operation that says so.
+	public void	log(int kind, double x, double y, double s, boolean start)
+	{
+		truncate();
+
+		if (length == kinds.length)
+		{
+			int	n = 2 * length;
+
+			kinds = Arrays.copyOf(kinds, n);
+			xs = Arrays.copyOf(xs, n);
+			ys = Arrays.copyOf(ys, n);
+			ss = Arrays.copyOf(ss, n);
+			starts = Arrays.copyOf(starts, n);
+		}
+
+		kinds[length] = kind;
+		xs[length] = x;
+		ys[length] = y;
+		ss[length] = s;
+		starts[length] = start;
+		length++;
+		position = length;
+	}
+
+	// Leave a checkpoint of the given state at the current position.
+	public void	checkpoint(PolylineSnapshot polyline, double x, double y,
+						   double scale, boolean colorful)
+	{
+		truncate();
+
+		if ((count > 0) && (at[count - 1] == position))
+			count--;								// Replace it
+
+		if (count == at.length)
+		{
+			at = Arrays.copyOf(at, 2 * count);
+			checkpoints = Arrays.copyOf(checkpoints, 2 * count);
+		}
+
+		at[count] = position;
+		checkpoints[count] = new Checkpoint(position, polyline, x, y, scale,
+											colorful);
+		count++;
+	}
+
+	// Forget every operation and checkpoint, making the given state position
+	// 0 (as after loading a sketch).
+	public void	reset(PolylineSnapshot polyline, double x, double y,
+					  double scale, boolean colorful)
+	{
+		Arrays.fill(checkpoints, 0, count, null);
+		length = 0;
+		position = 0;
+		count = 0;
+
+		checkpoint(polyline, x, y, scale, colorful);
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Drop the operations and checkpoints after the position.
+	private void	truncate()
+	{
+		if (position == length)
+			return;
+
+		length = position;
+
+		while ((count > 1) && (at[count - 1] > position))
+			checkpoints[--count] = null;			// Let snapshots go
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// The state at one position in the history.
+	public static final class Checkpoint
+	{
+		public final int				position;
+		public final PolylineSnapshot	polyline;
+		public final double				x;			// Origin
+		public final double				y;
+		public final double				scale;
+		public final boolean			colorful;
+
+		public Checkpoint(int position, PolylineSnapshot polyline, double x,
+						  double y, double scale, boolean colorful)
+		{
+			this.position = position;
+			this.polyline = polyline;
+			this.x = x;
+			this.y = y;
+			this.scale = scale;
+			this.colorful = colorful;
+		}
+	}
+}
+
+//******************************************************************************
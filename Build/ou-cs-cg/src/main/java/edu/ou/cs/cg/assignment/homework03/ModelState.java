@@ -0,0 +1,182 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 22:09:14 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// An unchanging copy of all of the Model's variables, as they were at the end
+// of one batch of changes. The model publishes a new state after each batch
+// through a single AtomicReference, so any thread can read a consistent state
+// with Model.getState(), without locking, and keep reading it for as long as
+// it likes. The version goes up by one with each state published; a reader
+// that has already handled a version can skip its work until it changes.
+//
+// States share structure with each other and with the model. The polylines
+// are PolylineSnapshots, which share their chunks with the model's stores. The
+// selection is copied only in batches that change it; otherwise a new state
+// shares the last one's copy. The rest are a few numbers.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.BitSet;
+
+//******************************************************************************
+
+/**
+ * The <CODE>ModelState</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class ModelState
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private final long					version;	// States published before
+
+	// Model variables
+	private final Point2D.Double		origin;		// Never handed out
+	private final double				scale;
+	private final Point2D.Double		cursor;		// Or null
+	private final Point2D.Double		tip;		// Or null
+	private final Rectangle2D.Double	marquee;	// Or null
+	private final boolean				colorful;
+	private final boolean				overlay;
+	private final PolylineSnapshot		polyline;
+	private final PolylineSnapshot		raw;
+	private final BitSet				selection;	// Never modified
+	private final int					position;	// In history
+	private final int					length;		// Of history
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	// Takes the points, rectangle, and selection as given, so pass copies.
+	ModelState(long version, Point2D.Double origin, double scale,
+			   Point2D.Double cursor, Point2D.Double tip,
+			   Rectangle2D.Double marquee, boolean colorful, boolean overlay,
+			   PolylineSnapshot polyline, PolylineSnapshot raw,
+			   BitSet selection, int position, int length)
+	{
+		this.version = version;
+		this.origin = origin;
+		this.scale = scale;
+		this.cursor = cursor;
+		this.tip = tip;
+		this.marquee = marquee;
+		this.colorful = colorful;
+		this.overlay = overlay;
+		this.polyline = polyline;
+		this.raw = raw;
+		this.selection = selection;
+		this.position = position;
+		this.length = length;
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public long	getVersion()
+	{
+		return version;
+	}
+
+	public Point2D.Double	getOrigin()
+	{
+		return new Point2D.Double(origin.x, origin.y);
+	}
+
+	public double	getScale()
+	{
+		return scale;
+	}
+
+	public Point2D.Double	getCursor()
+	{
+		if (cursor == null)
+			return null;
+		else
+			return new Point2D.Double(cursor.x, cursor.y);
+	}
+
+	public Point2D.Double	getTip()
+	{
+		if (tip == null)
+			return null;
+		else
+			return new Point2D.Double(tip.x, tip.y);
+	}
+
+	public Rectangle2D.Double	getMarquee()
+	{
+		if (marquee == null)
+			return null;
+		else
+			return (Rectangle2D.Double)marquee.clone();
+	}
+
+	public boolean	getColorful()
+	{
+		return colorful;
+	}
+
+	public boolean	getOverlay()
+	{
+		return overlay;
+	}
+
+	public PolylineSnapshot	getPolyline()
+	{
+		return polyline;
+	}
+
+	public PolylineSnapshot	getRawPolyline()
+	{
+		return raw;
+	}
+
+	public boolean	isSelected(int i)
+	{
+		return selection.get(i);
+	}
+
+	public int	getSelectedCount()
+	{
+		return selection.cardinality();
+	}
+
+	// The next selected point at or after i, or -1 if there isn't one.
+	public int	nextSelected(int i)
+	{
+		return selection.nextSetBit(i);
+	}
+
+	// Number of changes before the current one in the model's history.
+	public int	getHistoryPosition()
+	{
+		return position;
+	}
+
+	public int	getHistoryLength()
+	{
+		return length;
+	}
+}
+
+//******************************************************************************
@@ -35,8 +35,10 @@ public final class MouseHandler extends MouseAdapter
 	//**********************************************************************
 
 	// State (internal) variables
-	private final View		view;
-	private final Model	model;
+	private final View				view;
+	private final Model				model;
+	private final StrokeSimplifier	simplifier;	// Drag points to keep
+	private boolean					editing;	// Control-dragging?
 
 	//**********************************************************************
 	// Constructors and Finalizer
@@ -47,6 +49,8 @@ public final class MouseHandler extends MouseAdapter
 		this.view = view;
 		this.model = model;
 
+		simplifier = new StrokeSimplifier();
+
 		Component	component = view.getCanvas();
 
 		component.addMouseListener(this);
@@ -60,6 +64,9 @@ public final class MouseHandler extends MouseAdapter
 
 	public void		mouseClicked(MouseEvent e)
 	{
+		if (Utilities.isControlDown(e))		// Handled on press
+			return;
+
 		if (Utilities.isShiftDown(e))
 			model.setOriginInViewCoordinates(e.getPoint());
 		else
@@ -78,10 +85,24 @@ public final class MouseHandler extends MouseAdapter
 
 	public void		mousePressed(MouseEvent e)
 	{
+		if (Utilities.isControlDown(e))		// Select or move points
+		{
+			editing = true;
+			model.beginEditInViewCoordinates(e.getPoint());
+		}
 	}
 
 	public void		mouseReleased(MouseEvent e)
 	{
+		if (editing)
+		{
+			editing = false;
+			model.endEdit();
+		}
+		else
+		{
+			model.endStrokeInViewCoordinates(simplifier.end());
+		}
 	}
 
 	//**********************************************************************
@@ -90,8 +111,14 @@ public final class MouseHandler extends MouseAdapter
 
 	public void		mouseDragged(MouseEvent e)
 	{
-		model.addPolylinePointInViewCoordinates(e.getPoint());
-		model.setCursorInViewCoordinates(e.getPoint());
+		Point	q = e.getPoint();
+
+		if (editing)
+			model.dragEditInViewCoordinates(q);
+		else
+			model.addStrokePointInViewCoordinates(q, simplifier.add(q));
+
+		model.setCursorInViewCoordinates(q);
 	}
 
 	public void		mouseMoved(MouseEvent e)
@@ -103,8 +130,12 @@ public final class MouseHandler extends MouseAdapter
 	// Override Methods (MouseWheelListener)
 	//**********************************************************************
 
+	// Each notch down zooms out by 10%, and each notch up zooms back in.
 	public void		mouseWheelMoved(MouseWheelEvent e)
 	{
+		double	factor = Math.pow(1.1, e.getPreciseWheelRotation());
+
+		model.zoomAtViewCoordinates(e.getPoint(), factor);
 	}
 }
 
@@ -0,0 +1,406 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 23:52:08 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Holds the polyline as primitive x and y coordinates in fixed-size chunks of
+// CHUNK points each, rather than as a list of Point2D.Double objects. A point
+// costs 16 bytes instead of 40 or more, and there's nothing for the GC to trace
+// inside a chunk. Appending never copies points: a full chunk is left as it is
+// and a new one is started. Only the (small) array of chunk references grows.
+//
+// The version goes up by one on every change. Besides appends, points can be
+// moved with set() or dropped with truncate() or clear(). Those changes are
+// logged (the last LOG of them) as ranges of indices. A reader that remembers
+// the version and the number of points it last saw can ask getDirtyStart()/
+// getDirtyEnd() for the range of those points that has changed since, and then
+// process (or upload) only that range and the points added after them. A
+// reader that has fallen more than LOG changes behind is told that everything
+// has changed.
+//
+// Points are read with getX()/getY(), or a chunk at a time with getChunkX()/
+// getChunkY(). The chunk arrays are shared, not copied, and must not be
+// modified. Only the Model changes the store, on the GL thread, so it should
+// be read on the GL thread too.
+//
+// Other threads read a PolylineSnapshot instead. snapshot() copies only the
+// array of chunk references; the chunks themselves are shared with the store.
+// To keep them unchanged for the snapshot, the store remembers how many points
+// of each chunk snapshots can see, and copies a chunk the first time it writes
+// to one of those points. Appends past them are written in place, even after a
+// truncate, so a snapshot per frame costs a few reference copies while drawing,
+// and one chunk copy per chunk touched while moving points. A restored chunk
+// may be seen in full by older snapshots, so it's copied on any write.
+//
+// restore() goes the other way, making the store hold a snapshot's points
+// again (for undo). It too copies only chunk references. Chunks that the store
+// and the snapshot still have in common hold the same points, so only points
+// from the first chunk that differs are logged as changed.
+//
+// A store given a ChunkCache seals each chunk the first time a snapshot sees
+// it full. The cache may then spill the chunk to disk and drop its arrays, so
+// that only the chunks in use stay on the heap. Reads fault spilled chunks
+// back in, so getChunkX()/getChunkY() arrays should be held only briefly.
+// A store that's never snapshotted can be sealed with seal() instead.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.util.Arrays;
+
+//******************************************************************************
+
+/**
+ * The <CODE>PointStore</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class PointStore
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final int		CHUNK_BITS = 12;
+	public static final int		CHUNK = 1 << CHUNK_BITS;	// Points per chunk
+	public static final int		CHUNK_MASK = CHUNK - 1;
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int		LOG = 64;		// Changes remembered
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private final ChunkCache	cache;		// Or null, to keep all chunks
+	private ChunkCache.Chunk[]	chunks;		// Coordinates, by chunk
+	private int				size;			// Number of points
+
+	private int[]			seen;			// Points snapshots see, by chunk
+
+	private long			version;		// Changes since creation
+
+	private final long[]	logVersion;		// Version after each change
+	private final int[]		logFrom;		// First index changed
+	private final int[]		logTo;			// Last index changed, plus one
+	private int				logged;			// Changes logged, ever
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public PointStore()
+	{
+		this(null);
+	}
+
+	// Keep the store's sealed chunks in cache, which may spill them.
+	public PointStore(ChunkCache cache)
+	{
+		this.cache = cache;
+
+		chunks = new ChunkCache.Chunk[16];
+		seen = new int[16];
+
+		logVersion = new long[LOG];
+		logFrom = new int[LOG];
+		logTo = new int[LOG];
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	size()
+	{
+		return size;
+	}
+
+	public boolean	isEmpty()
+	{
+		return (size == 0);
+	}
+
+	public double	getX(int i)
+	{
+		return chunks[i >>> CHUNK_BITS].getX()[i & CHUNK_MASK];
+	}
+
+	public double	getY(int i)
+	{
+		return chunks[i >>> CHUNK_BITS].getY()[i & CHUNK_MASK];
+	}
+
+	public int	getChunkCount()
+	{
+		return (size + CHUNK_MASK) >>> CHUNK_BITS;
+	}
+
+	// Number of points in chunk c. Only the last chunk can be partly full.
+	public int	getChunkSize(int c)
+	{
+		return Math.min(CHUNK, size - (c << CHUNK_BITS));
+	}
+
+	// The x coordinates in chunk c. Shared, so don't modify them!
+	public double[]	getChunkX(int c)
+	{
+		return chunks[c].getX();
+	}
+
+	// The y coordinates in chunk c. Shared, so don't modify them!
+	public double[]	getChunkY(int c)
+	{
+		return chunks[c].getY();
+	}
+
+	public long	getVersion()
+	{
+		return version;
+	}
+
+	// For a reader that saw the first count points at the given version, the
+	// start of the range of those points that has since changed (or count, if
+	// none has). Points past count (and still present) are new to the reader.
+	public int	getDirtyStart(long since, int count)
+	{
+		int	start = Math.min(count, size);
+		int	stop = Math.max(0, logged - LOG);
+
+		for (int j=logged-1; j>=stop; j--)
+		{
+			if (logVersion[j % LOG] <= since)
+				return start;
+
+			start = Math.min(start, logFrom[j % LOG]);
+		}
+
+		return ((logged > LOG) ? 0 : start);	// Maybe missed changes
+	}
+
+	// The end of the range in getDirtyStart(). Points from there up to the
+	// smaller of count and size() haven't changed.
+	public int	getDirtyEnd(long since, int count)
+	{
+		int	keep = Math.min(count, size);
+		int	end = 0;
+		int	stop = Math.max(0, logged - LOG);
+
+		for (int j=logged-1; j>=stop; j--)
+		{
+			if (logVersion[j % LOG] <= since)
+				return Math.min(end, keep);
+
+			end = Math.max(end, logTo[j % LOG]);
+		}
+
+		return ((logged > LOG) ? keep : Math.min(end, keep));
+	}
+
+	//**********************************************************************
+	// Package Methods (Snapshots)
+	//**********************************************************************
+
+	// An unchanging copy of the points, which may be read on any thread once
+	// it has been safely published.
+	PolylineSnapshot	snapshot()
+	{
+		int	n = getChunkCount();
+
+		if (cache != null)
+			cache.seal(chunks, size >>> CHUNK_BITS);	// Full chunks
+
+		for (int c=0; c<n; c++)
+			seen[c] = Math.max(seen[c], getChunkSize(c));
+
+		return new PolylineSnapshot(Arrays.copyOf(chunks, n), size, version);
+	}
+
+	// Seal the full chunks, as snapshot() does, so that the cache may spill
+	// them, for a store that's never snapshotted.
+	void	seal()
+	{
+		int	n = size >>> CHUNK_BITS;
+
+		if (cache == null)
+			return;
+
+		cache.seal(chunks, n);
+
+		Arrays.fill(seen, 0, n, CHUNK);
+	}
+
+	// The first point that may differ between the store and the snapshot.
+	// Points before it are the same in both.
+	int	findChange(PolylineSnapshot s)
+	{
+		int	n = Math.min(getChunkCount(), s.getChunkCount());
+		int	c = 0;
+
+		while ((c < n) && (chunks[c] == s.getChunk(c)))
+			c++;
+
+		return Math.min(c << CHUNK_BITS, Math.min(size, s.size()));
+	}
+
+	// Make the store hold the snapshot's points. The snapshot stays as is.
+	void	restore(PolylineSnapshot s)
+	{
+		int	from = findChange(s);
+		int	n = s.getChunkCount();
+
+		if (n > chunks.length)
+		{
+			int	c = Integer.highestOneBit(n - 1) << 1;
+
+			chunks = Arrays.copyOf(chunks, c);
+			seen = Arrays.copyOf(seen, c);
+		}
+
+		for (int c=0; c<n; c++)
+			chunks[c] = s.getChunk(c);
+
+		Arrays.fill(chunks, n, chunks.length, null);
+		Arrays.fill(seen, 0, n, CHUNK);		// Maybe seen in full elsewhere
+
+		size = s.size();
+		log(from, Integer.MAX_VALUE);
+	}
+
+	//**********************************************************************
+	// Package Methods (Modify Points)
+	//**********************************************************************
+
+	void	add(double x, double y)
+	{
+		int	c = size >>> CHUNK_BITS;
+		int	i = size & CHUNK_MASK;
+
+		if (i == 0)								// Start a new chunk
+		{
+			if (c == chunks.length)
+			{
+				chunks = Arrays.copyOf(chunks, 2 * c);
+				seen = Arrays.copyOf(seen, 2 * c);
+			}
+
+			chunks[c] = new ChunkCache.Chunk(cache, new double[CHUNK],
+											 new double[CHUNK]);
+			seen[c] = 0;
+		}
+		else
+		{
+			own(size);
+		}
+
+		chunks[c].getX()[i] = x;
+		chunks[c].getY()[i] = y;
+
+		size++;
+		version++;
+	}
+
+	// Append the n points in x and y, which the store keeps (so don't modify
+	// them). Each must hold CHUNK points. If the store ends partway through a
+	// chunk, the points are copied instead.
+	void	addChunk(double[] x, double[] y, int n)
+	{
+		int	c = size >>> CHUNK_BITS;
+
+		if ((size & CHUNK_MASK) != 0)
+		{
+			for (int i=0; i<n; i++)
+				add(x[i], y[i]);
+
+			return;
+		}
+
+		if (c == chunks.length)
+		{
+			chunks = Arrays.copyOf(chunks, 2 * c);
+			seen = Arrays.copyOf(seen, 2 * c);
+		}
+
+		chunks[c] = new ChunkCache.Chunk(cache, x, y);
+		seen[c] = 0;
+
+		size += n;
+		version++;
+	}
+
+	// Move point i.
+	void	set(int i, double x, double y)
+	{
+		own(i);
+
+		ChunkCache.Chunk	k = chunks[i >>> CHUNK_BITS];
+
+		k.getX()[i & CHUNK_MASK] = x;
+		k.getY()[i & CHUNK_MASK] = y;
+
+		log(i, i + 1);
+	}
+
+	// Drop all but the first n points.
+	void	truncate(int n)
+	{
+		if (n >= size)
+			return;
+
+		int	c = (n + CHUNK_MASK) >>> CHUNK_BITS;	// Chunks still in use
+
+		Arrays.fill(chunks, c, chunks.length, null);	// Let the rest go
+
+		size = n;
+		log(n, Integer.MAX_VALUE);
+	}
+
+	void	clear()
+	{
+		truncate(0);
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Copy the chunk holding point i, if a snapshot might see the point.
+	private void	own(int i)
+	{
+		int	c = i >>> CHUNK_BITS;
+
+		if ((i & CHUNK_MASK) < seen[c])
+		{
+			chunks[c] = chunks[c].copy();
+			seen[c] = 0;
+		}
+	}
+
+	private void	log(int from, int to)
+	{
+		version++;
+
+		int	j = logged % LOG;
+
+		logVersion[j] = version;
+		logFrom[j] = from;
+		logTo[j] = to;
+		logged++;
+	}
+}
+
+//******************************************************************************
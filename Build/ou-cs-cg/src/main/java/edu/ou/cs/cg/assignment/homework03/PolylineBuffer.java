@@ -0,0 +1,633 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 23:53:44 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A vertex buffer for a PointStore polyline that stores positions compactly,
+// chunk by chunk, for PolylineRenderer. Each chunk of the store gets a block of
+// vertices in the buffer (span per point), with its own origin. A vertex holds
+// only its position, relative to that origin, in one of two encodings:
+//
+//   OFFSET		Two floats, the offset from the first vertex set in the
+//				chunk. 8 bytes.
+//   QUANTIZED	Two unsigned shorts, steps of the chunk's scale from the low
+//				corner of a box around its vertices. 4 bytes.
+//
+// The color is a uniform, the same for every vertex in a draw. A VertexBuffer
+// spends 24 bytes on a vertex (x, y, and a color), so the buffer takes a third
+// or a sixth of the memory on both sides, and of the bandwidth to upload.
+//
+// Offsets stay small however far the sketch is from (0, 0), so a float keeps
+// them to within a part in 10^7 of the chunk's extent, not of its coordinates.
+// For the same reason, draw() is given the point that the projection is
+// centered on, and hands the shader each chunk's origin relative to it. The
+// large numbers are all subtracted in doubles, on the CPU.
+//
+// A quantized chunk's box starts as its first vertex, and is grown to twice
+// what's needed whenever a vertex lands outside of it, re-encoding the vertices
+// already in the chunk. Drawing into a chunk grows its box only a few times.
+// Rounding is to the nearest step, 1/65535 of the box (and at most one step
+// for vertices that were re-encoded), so QUANTIZED is for when the extra
+// memory matters more than exactness when zoomed in close.
+//
+// The vertex shader decodes a position as origin + scale * encoded, reading
+// the shorts as plain (unnormalized) numbers. draw() takes ranges of points,
+// and draws the part of them in each chunk with one glMultiDrawArrays() call,
+// after setting that chunk's origin and scale. If the buffer joins chunks,
+// each chunk's block also holds the first point of the next one, so that a
+// line strip drawn across them doesn't break between chunks.
+//
+// Only vertices set since the last upload are sent, as one range per chunk,
+// so appending to a sketch sends only the new vertices.
+//
+// A direct buffer holds at most 2 GB, and a marker block takes 192 KB, so the
+// blocks are kept in pages of at most PAGE bytes, each with a buffer and a VBO
+// of its own. The first page grows by doubling, and the rest a page at a time.
+// Offsets within a page fit in an int, and sizes across pages are longs.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.opengl.*;
+import edu.ou.cs.cg.utilities.ShaderProgram;
+
+//******************************************************************************
+
+/**
+ * The <CODE>PolylineBuffer</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class PolylineBuffer
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	// Encodings
+	public static final int			OFFSET = 0;		// Float offsets
+	public static final int			QUANTIZED = 1;	// 16-bit steps
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final double		STEPS = 65535.0;	// Quantized range
+	private static final int		PAGE = 1 << 26;		// Most bytes per page
+
+	private static final String		VERTEX_SHADER =
+		"#version 120\n" +
+		"attribute vec2 position;\n" +
+		"uniform vec2 origin;\n" +
+		"uniform vec2 scale;\n" +
+		"void main() {\n" +
+		"  gl_Position = gl_ModelViewProjectionMatrix *\n" +
+		"                vec4(origin + scale * position, 0.0, 1.0);\n" +
+		"}\n";
+
+	private static final String		FRAGMENT_SHADER =
+		"#version 120\n" +
+		"uniform vec4 color;\n" +
+		"void main() {\n" +
+		"  gl_FragColor = color;\n" +
+		"}\n";
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private final int		encoding;
+	private final int		span;			// Vertices per point
+	private final boolean	joined;			// Blocks end with next point?
+	private final int		block;			// Vertices per chunk
+	private final int		bytes;			// Bytes per vertex
+	private final int		perPage;		// Blocks per full page
+
+	private ByteBuffer[]	data;			// Blocks on the CPU side, by page
+	private int				pages;			// Pages in data
+	private int				blocks;			// Blocks in all pages
+	private int				size;			// Points with vertices
+
+	private double[]		ox;				// Origin, by chunk
+	private double[]		oy;
+	private double[]		sx;				// Scale (QUANTIZED), by chunk
+	private double[]		sy;
+	private int[]			used;			// Vertices set, by chunk
+	private int[]			dirtyFrom;		// Vertices to send, by chunk
+	private int[]			dirtyTo;
+	private int[]			dirty;			// Chunks to send
+	private int				ndirty;
+
+	private int[]			ids;			// VBOs, or 0 until first upload
+	private int[]			allocated;		// Blocks in VBOs
+	private int				page;			// Page bound for drawing, or -1
+
+	private int				program;		// Program of uniforms below
+	private int				uOrigin;
+	private int				uScale;
+	private int				uColor;
+
+	private int[]			firsts;			// Ranges to draw in a chunk
+	private int[]			counts;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	// A buffer of span vertices per point. If joined, each chunk's vertices
+	// are followed by those of the next chunk's first point.
+	public PolylineBuffer(int encoding, int span, boolean joined)
+	{
+		this.encoding = encoding;
+		this.span = span;
+		this.joined = joined;
+
+		block = span * (PointStore.CHUNK + (joined ? 1 : 0));
+		bytes = ((encoding == QUANTIZED) ? 4 : 8);
+		perPage = Math.max(1, PAGE / (block * bytes));
+
+		data = new ByteBuffer[1];
+		ids = new int[1];
+		allocated = new int[1];
+
+		allocate(1);
+
+		firsts = new int[16];
+		counts = new int[16];
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	getEncoding()
+	{
+		return encoding;
+	}
+
+	// Number of points with vertices.
+	public int	getSize()
+	{
+		return size;
+	}
+
+	// Keep the vertices of the first n points. Vertices of points past the
+	// old size must be set before they're drawn.
+	public void	setSize(int n)
+	{
+		int	c = n >>> PointStore.CHUNK_BITS;
+		int	i = n & PointStore.CHUNK_MASK;
+
+		for (int b=c+1; (b < blocks) && (used[b] > 0); b++)
+			used[b] = 0;
+
+		if (c < blocks)
+			used[c] = Math.min(used[c], span * i);
+
+		if (joined && (i == 0) && (c > 0))		// Next point is gone
+			used[c - 1] = Math.min(used[c - 1], span * PointStore.CHUNK);
+
+		size = n;
+	}
+
+	// Bytes of vertex data, on each side.
+	public long	getBytes()
+	{
+		return (long)blocks * block * bytes;
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// A program that draws the buffer's vertices in a uniform color.
+	public static ShaderProgram	createProgram(GL2 gl)
+	{
+		return new ShaderProgram(gl, VERTEX_SHADER, FRAGMENT_SHADER,
+								 "position");
+	}
+
+	//**********************************************************************
+	// Public Methods (Vertices)
+	//**********************************************************************
+
+	// Set vertex k of point i.
+	public void	set(int i, int k, double x, double y)
+	{
+		int	c = i >>> PointStore.CHUNK_BITS;
+
+		put(c, span * (i & PointStore.CHUNK_MASK) + k, x, y);
+
+		if (joined && (c > 0) && ((i & PointStore.CHUNK_MASK) == 0))
+			put(c - 1, span * PointStore.CHUNK + k, x, y);
+
+		size = Math.max(size, i + 1);
+	}
+
+	//**********************************************************************
+	// Public Methods (GL)
+	//**********************************************************************
+
+	// Send the vertices set since the last upload to the GPU.
+	public void	upload(GL2 gl)
+	{
+		for (int p=0; p<pages; p++)
+		{
+			int	n = data[p].capacity() / (block * bytes);
+
+			if (ids[p] == 0)
+			{
+				int[]	id = new int[1];
+
+				gl.glGenBuffers(1, id, 0);
+				ids[p] = id[0];
+			}
+
+			if (allocated[p] < n)				// Send the page again
+			{
+				allocated[p] = n;
+
+				gl.glBindBuffer(GL.GL_ARRAY_BUFFER, ids[p]);
+				gl.glBufferData(GL.GL_ARRAY_BUFFER, (long)n * block * bytes,
+								null, GL.GL_DYNAMIC_DRAW);
+
+				for (int c=p*perPage; (c < blocks) && (c < (p + 1) * perPage) &&
+						 (used[c] > 0); c++)
+					touch(c, 0, used[c]);
+			}
+		}
+
+		int	bound = -1;
+
+		for (int j=0; j<ndirty; j++)
+		{
+			int	c = dirty[j];
+			int	p = c / perPage;
+			int	from = (c - p * perPage) * block + dirtyFrom[c];
+			int	to = from + Math.min(dirtyTo[c], used[c]) - dirtyFrom[c];
+
+			if (from < to)
+			{
+				ByteBuffer	range = data[p].duplicate();
+
+				if (p != bound)
+				{
+					gl.glBindBuffer(GL.GL_ARRAY_BUFFER, ids[p]);
+					bound = p;
+				}
+
+				range.position(from * bytes);
+				range.limit(to * bytes);
+
+				gl.glBufferSubData(GL.GL_ARRAY_BUFFER, (long)from * bytes,
+								   (long)(to - from) * bytes, range);
+			}
+
+			dirtyFrom[c] = 0;
+			dirtyTo[c] = 0;
+		}
+
+		ndirty = 0;
+
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+	}
+
+	// Draw the n ranges of points in ranges (as first, count pairs) with a
+	// program from createProgram(), for a projection centered on (cx, cy).
+	public void	draw(GL2 gl, ShaderProgram program, int mode, int[] ranges,
+					 int n, double cx, double cy, float r, float g, float b)
+	{
+		upload(gl);
+
+		if (n <= 0)
+			return;
+
+		bind(gl, program, r, g, b);
+
+		int	last = -1;
+		int	m = 0;
+
+		for (int j=0; j<n; j++)
+		{
+			int	a = ranges[2 * j];
+			int	e = a + ranges[2 * j + 1];
+
+			while (a < e)
+			{
+				int	c = a >>> PointStore.CHUNK_BITS;
+				int	end = Math.min(e, (c + 1) << PointStore.CHUNK_BITS);
+
+				if (c != last)
+				{
+					flush(gl, mode, last, m, cx, cy);
+					last = c;
+					m = 0;
+				}
+
+				if (m == firsts.length)
+				{
+					firsts = Arrays.copyOf(firsts, 2 * m);
+					counts = Arrays.copyOf(counts, 2 * m);
+				}
+
+				firsts[m] = (c % perPage) * block +
+					span * (a & PointStore.CHUNK_MASK);
+				counts[m] = span * (end - a);
+
+				if (joined && (end < e))		// On into the next chunk
+					counts[m] += span;
+
+				m++;
+				a = end;
+			}
+		}
+
+		flush(gl, mode, last, m, cx, cy);
+		unbind(gl, program);
+	}
+
+	public void	dispose(GL2 gl)
+	{
+		for (int p=0; p<pages; p++)
+		{
+			if (ids[p] != 0)
+				gl.glDeleteBuffers(1, ids, p);
+
+			ids[p] = 0;
+			allocated[p] = 0;
+		}
+
+		program = 0;
+	}
+
+	//**********************************************************************
+	// Private Methods (Encoding)
+	//**********************************************************************
+
+	// Set vertex v of chunk c.
+	private void	put(int c, int v, double x, double y)
+	{
+		if (c >= blocks)						// Double, then by page
+			allocate((c < perPage) ? Math.min(Math.max(2 * blocks, c + 1),
+											  perPage)
+					 : (c / perPage + 1) * perPage);
+
+		if (used[c] == 0)						// First vertex in chunk
+		{
+			ox[c] = x;
+			oy[c] = y;
+			sx[c] = 0.0;
+			sy[c] = 0.0;
+		}
+		else if ((encoding == QUANTIZED) && !contains(c, x, y))
+		{
+			grow(c, x, y);
+		}
+
+		encode(c, v, x, y);
+
+		used[c] = Math.max(used[c], v + 1);
+		touch(c, v, v + 1);
+	}
+
+	private boolean	contains(int c, double x, double y)
+	{
+		return ((x >= ox[c]) && (x <= ox[c] + STEPS * sx[c]) &&
+				(y >= oy[c]) && (y <= oy[c] + STEPS * sy[c]));
+	}
+
+	// Grow chunk c's box to twice what it takes to hold (x, y) too, along
+	// each axis that (x, y) is outside of, and re-encode the chunk's vertices
+	// in it.
+	private void	grow(int c, double x, double y)
+	{
+		double	nx = ox[c];
+		double	ny = oy[c];
+		double	nsx = sx[c];
+		double	nsy = sy[c];
+
+		if ((x < ox[c]) || (x > ox[c] + STEPS * sx[c]))
+		{
+			double	x0 = Math.min(ox[c], x);
+			double	w = Math.max(ox[c] + STEPS * sx[c], x) - x0;
+
+			nx = x0 - 0.5 * w;
+			nsx = 2.0 * w / STEPS;
+		}
+
+		if ((y < oy[c]) || (y > oy[c] + STEPS * sy[c]))
+		{
+			double	y0 = Math.min(oy[c], y);
+			double	h = Math.max(oy[c] + STEPS * sy[c], y) - y0;
+
+			ny = y0 - 0.5 * h;
+			nsy = 2.0 * h / STEPS;
+		}
+		ByteBuffer	d = data[c / perPage];
+		int			base = offset(c, 0);
+
+		for (int v=0; v<used[c]; v++)
+		{
+			int		o = base + v * bytes;
+			double	vx = ox[c] + sx[c] * (d.getShort(o) & 0xFFFF);
+			double	vy = oy[c] + sy[c] * (d.getShort(o + 2) & 0xFFFF);
+
+			d.putShort(o, quantize(vx - nx, nsx));
+			d.putShort(o + 2, quantize(vy - ny, nsy));
+		}
+
+		ox[c] = nx;
+		oy[c] = ny;
+		sx[c] = nsx;
+		sy[c] = nsy;
+
+		touch(c, 0, used[c]);
+	}
+
+	private void	encode(int c, int v, double x, double y)
+	{
+		ByteBuffer	d = data[c / perPage];
+		int			o = offset(c, v);
+
+		if (encoding == QUANTIZED)
+		{
+			d.putShort(o, quantize(x - ox[c], sx[c]));
+			d.putShort(o + 2, quantize(y - oy[c], sy[c]));
+		}
+		else
+		{
+			d.putFloat(o, (float)(x - ox[c]));
+			d.putFloat(o + 4, (float)(y - oy[c]));
+		}
+	}
+
+	// Byte offset of vertex v of chunk c in its page.
+	private int	offset(int c, int v)
+	{
+		return ((c % perPage) * block + v) * bytes;
+	}
+
+	// The nearest step to d, for steps of s.
+	private static short	quantize(double d, double s)
+	{
+		if (s == 0.0)
+			return 0;
+
+		return (short)Math.min(Math.max(Math.round(d / s), 0L), 65535L);
+	}
+
+	// Mark vertices [from, to) of chunk c to be sent at the next upload.
+	private void	touch(int c, int from, int to)
+	{
+		if (dirtyFrom[c] >= dirtyTo[c])
+		{
+			dirtyFrom[c] = from;
+			dirtyTo[c] = to;
+			dirty[ndirty++] = c;
+		}
+		else
+		{
+			dirtyFrom[c] = Math.min(dirtyFrom[c], from);
+			dirtyTo[c] = Math.max(dirtyTo[c], to);
+		}
+	}
+
+	// Make room for n chunks, keeping the vertices so far. Only the last
+	// page can be partly full.
+	private void	allocate(int n)
+	{
+		int	np = (n + perPage - 1) / perPage;
+
+		if (np > data.length)
+		{
+			int	length = Math.max(np, 2 * data.length);
+
+			data = Arrays.copyOf(data, length);
+			ids = Arrays.copyOf(ids, length);
+			allocated = Arrays.copyOf(allocated, length);
+		}
+
+		for (int p=Math.max(0, pages - 1); p<np; p++)
+		{
+			int			need = Math.min(n - p * perPage, perPage);
+			ByteBuffer	grown;
+
+			if ((data[p] != null) &&
+				(data[p].capacity() >= need * block * bytes))
+				continue;
+
+			grown = Buffers.newDirectByteBuffer(need * block * bytes);
+
+			if (data[p] != null)
+			{
+				ByteBuffer	old = data[p].duplicate();
+
+				old.clear();
+				grown.put(old);
+				grown.clear();
+			}
+
+			data[p] = grown;
+		}
+
+		pages = np;
+		blocks = n;
+
+		ox = resize(ox, n);
+		oy = resize(oy, n);
+		sx = resize(sx, n);
+		sy = resize(sy, n);
+		used = resize(used, n);
+		dirtyFrom = resize(dirtyFrom, n);
+		dirtyTo = resize(dirtyTo, n);
+		dirty = resize(dirty, n);
+	}
+
+	private static double[]	resize(double[] a, int n)
+	{
+		return ((a == null) ? new double[n] : Arrays.copyOf(a, n));
+	}
+
+	private static int[]	resize(int[] a, int n)
+	{
+		return ((a == null) ? new int[n] : Arrays.copyOf(a, n));
+	}
+
+	//**********************************************************************
+	// Private Methods (GL)
+	//**********************************************************************
+
+	private void	bind(GL2 gl, ShaderProgram p, float r, float g, float b)
+	{
+		p.use(gl);
+
+		if (program != p.getID())				// Look up uniforms once
+		{
+			program = p.getID();
+			uOrigin = p.getUniformLocation(gl, "origin");
+			uScale = p.getUniformLocation(gl, "scale");
+			uColor = p.getUniformLocation(gl, "color");
+		}
+
+		gl.glUniform4f(uColor, r, g, b, 1.0f);
+		gl.glEnableVertexAttribArray(ShaderProgram.POSITION);
+
+		page = -1;
+	}
+
+	// Point the position attribute at page p's VBO.
+	private void	bindPage(GL2 gl, int p)
+	{
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, ids[p]);
+		page = p;
+
+		if (encoding == QUANTIZED)
+			gl.glVertexAttribPointer(ShaderProgram.POSITION, 2,
+									 GL.GL_UNSIGNED_SHORT, false, bytes, 0L);
+		else
+			gl.glVertexAttribPointer(ShaderProgram.POSITION, 2,
+									 GL.GL_FLOAT, false, bytes, 0L);
+	}
+
+	private void	unbind(GL2 gl, ShaderProgram p)
+	{
+		gl.glDisableVertexAttribArray(ShaderProgram.POSITION);
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+		p.release(gl);
+	}
+
+	// Draw the m ranges gathered for chunk c, if any.
+	private void	flush(GL2 gl, int mode, int c, int m, double cx, double cy)
+	{
+		if (m == 0)
+			return;
+
+		if (c / perPage != page)
+			bindPage(gl, c / perPage);
+
+		gl.glUniform2f(uOrigin, (float)(ox[c] - cx), (float)(oy[c] - cy));
+
+		if (encoding == QUANTIZED)
+			gl.glUniform2f(uScale, (float)sx[c], (float)sy[c]);
+		else
+			gl.glUniform2f(uScale, 1.0f, 1.0f);
+
+		gl.glMultiDrawArrays(mode, firsts, 0, counts, 0, m);
+	}
+}
+
+//******************************************************************************
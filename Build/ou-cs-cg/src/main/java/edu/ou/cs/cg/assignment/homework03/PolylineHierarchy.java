@@ -0,0 +1,293 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 17:48:55 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A bounding volume hierarchy over the segments of a PointStore polyline, for
+// finding the parts of it that are in view. The segments are grouped in order
+// into runs of RUN segments each. Run r holds the segments that start at points
+// [r * RUN, (r + 1) * RUN), so its box bounds those points and the point after
+// them. The runs are the leaves of a complete binary tree, kept in an array as
+// a heap (node k has children 2k and 2k+1), in which each node's box bounds its
+// children's boxes.
+//
+// Because the runs follow the order of the points, appending a point changes
+// only the last run or two and their ancestors, and moving a point changes the
+// one or two runs it's in. update() finds what has changed with the store's
+// version and dirty range, recomputes those runs, and refits their ancestors,
+// so keeping up with a drag costs O(RUN + log n) per frame. The tree doubles
+// its capacity (and is refit from its leaves) when the runs outgrow it.
+//
+// findVisible() collects the ranges of points whose runs overlap a rectangle,
+// merging adjacent runs into one range, so that a renderer can draw each range
+// with a single call. It only descends into nodes that overlap, so its cost
+// depends on how much of the polyline is in the rectangle.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.util.Arrays;
+
+//******************************************************************************
+
+/**
+ * The <CODE>PolylineHierarchy</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class PolylineHierarchy
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final int		RUN = 256;			// Segments per leaf
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private int				capacity;		// Leaves, a power of 2
+	private double[]		xmin;			// Node bounds, by heap index
+	private double[]		ymin;
+	private double[]		xmax;
+	private double[]		ymax;
+
+	private long			version = -1;	// Store version in tree
+	private int				count;			// Store size in tree
+
+	private int[]			stack;			// Nodes to visit in queries
+	private int[]			ranges;			// Results of last query
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public PolylineHierarchy()
+	{
+		allocate(64);
+
+		ranges = new int[64];
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	// The ranges found by the last call to findVisible(), as pairs of first
+	// point and number of points. Shared, and reused on the next call.
+	public int[]	getRanges()
+	{
+		return ranges;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Bring the tree up to date with the points.
+	public void	update(PointStore points)
+	{
+		if (points.getVersion() == version)
+			return;
+
+		int	size = points.size();
+		int	start = points.getDirtyStart(version, count);
+		int	end = points.getDirtyEnd(version, count);
+		int	keep = Math.min(count, size);
+		int	leaves = leaves(size);
+
+		if (leaves > capacity)
+		{
+			int	c = capacity;
+
+			while (c < leaves)
+				c *= 2;
+
+			grow(c);
+		}
+
+		// Moved points change the runs on both sides of them...
+		if (start < end)
+			refit(points, leaf(start - 1), leaf(end - 1));
+
+		// ...added points change the last old run and the new ones...
+		if (keep < size)
+			refit(points, leaf(keep - 1), leaves - 1);
+
+		// ...and removed points empty the runs past the new last one.
+		if (leaves < leaves(count))
+			refit(points, Math.max(0, leaves - 1), leaves(count) - 1);
+
+		version = points.getVersion();
+		count = size;
+	}
+
+	// Find the ranges of points whose runs overlap the rectangle, and return
+	// the number of them. The ranges include the points at the far ends of
+	// runs, so that drawing them as line strips joins each run to the next.
+	public int	findVisible(double x0, double y0, double x1, double y1)
+	{
+		int[]	r = ranges;
+		int		n = 0;
+		int		top = 0;
+
+		if (count == 0)
+			return 0;
+
+		if ((x0 <= xmin[1]) && (xmax[1] <= x1) &&	// All of it
+			(y0 <= ymin[1]) && (ymax[1] <= y1))
+		{
+			r[0] = 0;
+			r[1] = count;
+
+			return 1;
+		}
+
+		stack[top++] = 1;
+
+		while (top > 0)
+		{
+			int	k = stack[--top];
+
+			if ((xmin[k] > x1) || (xmax[k] < x0) ||
+				(ymin[k] > y1) || (ymax[k] < y0))
+				continue;
+
+			if (k < capacity)						// Internal: visit right
+			{										// child last, so runs
+				stack[top++] = 2 * k + 1;			// come out in order
+				stack[top++] = 2 * k;
+				continue;
+			}
+
+			int	first = (k - capacity) * RUN;
+			int	last = Math.min(first + RUN, count - 1);	// Inclusive
+
+			if ((n > 0) && (r[2 * n - 2] + r[2 * n - 1] - 1 >= first))
+			{
+				r[2 * n - 1] = last - r[2 * n - 2] + 1;		// Extend
+			}
+			else
+			{
+				if (2 * n + 2 > r.length)
+					r = ranges = Arrays.copyOf(r, 2 * r.length);
+
+				r[2 * n] = first;
+				r[2 * n + 1] = last - first + 1;
+				n++;
+			}
+		}
+
+		return n;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private static int	leaf(int i)
+	{
+		return Math.max(i, 0) / RUN;
+	}
+
+	private static int	leaves(int size)
+	{
+		return ((size == 0) ? 0 : leaf(size - 1) + 1);
+	}
+
+	// Recompute the bounds of runs [r0, r1] and their ancestors.
+	private void	refit(PointStore points, int r0, int r1)
+	{
+		int	size = points.size();
+
+		for (int r=r0; r<=r1; r++)
+		{
+			int		k = capacity + r;
+			int		first = r * RUN;
+			int		last = Math.min(first + RUN, size - 1);
+
+			empty(k);
+
+			for (int i=first; i<=last; i++)
+			{
+				double	x = points.getX(i);
+				double	y = points.getY(i);
+
+				xmin[k] = Math.min(xmin[k], x);
+				ymin[k] = Math.min(ymin[k], y);
+				xmax[k] = Math.max(xmax[k], x);
+				ymax[k] = Math.max(ymax[k], y);
+			}
+		}
+
+		// Refit each level above the runs, just over the changed span.
+		for (int a=(capacity + r0) / 2, b=(capacity + r1) / 2; a>=1;
+			 a/=2, b/=2)
+			for (int k=a; k<=b; k++)
+				join(k);
+	}
+
+	private void	join(int k)
+	{
+		int	c = 2 * k;
+
+		xmin[k] = Math.min(xmin[c], xmin[c + 1]);
+		ymin[k] = Math.min(ymin[c], ymin[c + 1]);
+		xmax[k] = Math.max(xmax[c], xmax[c + 1]);
+		ymax[k] = Math.max(ymax[c], ymax[c + 1]);
+	}
+
+	private void	empty(int k)
+	{
+		xmin[k] = Double.POSITIVE_INFINITY;
+		ymin[k] = Double.POSITIVE_INFINITY;
+		xmax[k] = Double.NEGATIVE_INFINITY;
+		ymax[k] = Double.NEGATIVE_INFINITY;
+	}
+
+	// Double the leaves until there are c of them, keeping the runs.
+	private void	grow(int c)
+	{
+		int			old = capacity;
+		double[]	oxmin = xmin, oymin = ymin, oxmax = xmax, oymax = ymax;
+
+		allocate(c);
+
+		System.arraycopy(oxmin, old, xmin, capacity, old);
+		System.arraycopy(oymin, old, ymin, capacity, old);
+		System.arraycopy(oxmax, old, xmax, capacity, old);
+		System.arraycopy(oymax, old, ymax, capacity, old);
+
+		for (int k=capacity-1; k>=1; k--)
+			join(k);
+	}
+
+	private void	allocate(int c)
+	{
+		capacity = c;
+
+		xmin = new double[2 * c];
+		ymin = new double[2 * c];
+		xmax = new double[2 * c];
+		ymax = new double[2 * c];
+
+		for (int k=0; k<2*c; k++)
+			empty(k);
+
+		stack = new int[2 * (Integer.numberOfTrailingZeros(c) + 2)];
+	}
+}
+
+//******************************************************************************
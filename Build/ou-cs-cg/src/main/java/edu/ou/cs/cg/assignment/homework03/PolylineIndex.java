@@ -0,0 +1,832 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 17:05:26 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A spatial index over the vertices and segments of a PointStore polyline, in
+// scene coordinates, for picking and selecting them with the mouse.
+//
+// The index is a pair of loose quadtrees, one holding the indices of vertices
+// and the other the indices of segments (segment i joins vertices i and i+1).
+// Each node is a square; its loose bounds are the square doubled in size about
+// the same center. An item goes in the deepest node whose square holds the
+// center of its bounding box and whose loose bounds hold the whole box, so a
+// segment sits at the level that matches its length, and a vertex (a box of
+// size zero) always reaches a leaf. A leaf splits in four when it holds more
+// than CAPACITY items, unless it's too small to split at double precision.
+//
+// The root grows (by doubling, toward the new item) whenever an item lands
+// outside it, so the sketch can wander anywhere at any zoom without the tree
+// having bounds. Each node counts the items below it. When a subtree drops
+// to CAPACITY / 4 items, its nodes are freed and the items pulled up into its
+// root, and a root with one nonempty child and nothing of its own hands over
+// to the child, so the tree only ever holds the nodes its items need.
+//
+// Nearest queries visit nodes nearest first and skip any whose loose bounds
+// are farther than the best item found so far, so they take time logarithmic
+// in the size of the sketch however big the search radius is. Rectangle
+// queries take every item under a node inside the rectangle without testing
+// each one. The index is kept up to date as points are added or moved, by
+// whoever changes the store: add() after appending a point, and
+// remove()/insert() around moving a set of them. Each item's node and place
+// in it are kept, so removing one doesn't search for it.
+//
+// The trees take about 24 bytes of heap per point, more than the points
+// themselves. An index made unindexed (for a store whose chunks spill) keeps
+// no trees, ignores updates, and answers queries by scanning the store a
+// chunk at a time, in time linear in the size of the sketch.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.util.Arrays;
+import java.util.BitSet;
+
+//******************************************************************************
+
+/**
+ * The <CODE>PolylineIndex</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class PolylineIndex
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final int		CAPACITY = 16;		// Items before a split
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final double	ROOT = 1.0 / 64.0;	// Least half size of root
+	private static final double	LEAST = 0x1p-60;	// Least half size of node
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private final PointStore	points;
+	private final Tree			vertices;		// Vertex indices by area, or
+	private final Tree			segments;		// Segment indices, or null
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public PolylineIndex(PointStore points)
+	{
+		this(points, true);
+	}
+
+	// An index that keeps trees only if indexed, and otherwise scans.
+	public PolylineIndex(PointStore points, boolean indexed)
+	{
+		this.points = points;
+
+		vertices = (indexed ? new Tree(points, false) : null);
+		segments = (indexed ? new Tree(points, true) : null);
+
+		for (int i=0; i<points.size(); i++)
+			add(i);
+	}
+
+	//**********************************************************************
+	// Public Methods (Queries)
+	//**********************************************************************
+
+	// The vertex nearest (x, y) and no farther than r away, or -1.
+	public int	nearestVertex(double x, double y, double r)
+	{
+		if (vertices == null)
+			return scan(x, y, r, false);
+
+		return vertices.nearest(x, y, r);
+	}
+
+	// The segment nearest (x, y) and no farther than r away, or -1. Segment
+	// i joins vertices i and i+1.
+	public int	nearestSegment(double x, double y, double r)
+	{
+		if (segments == null)
+			return scan(x, y, r, true);
+
+		return segments.nearest(x, y, r);
+	}
+
+	// Set the bits of all vertices inside the rectangle in selection.
+	public void	findVertices(double xmin, double ymin, double xmax, double ymax,
+							 BitSet selection)
+	{
+		if (vertices == null)
+		{
+			scan(xmin, ymin, xmax, ymax, selection);
+			return;
+		}
+
+		vertices.find(xmin, ymin, xmax, ymax, selection);
+	}
+
+	//**********************************************************************
+	// Public Methods (Updates)
+	//**********************************************************************
+
+	// Index point i, just appended to the store, and its segment from i-1.
+	public void	add(int i)
+	{
+		if (vertices == null)
+			return;
+
+		vertices.insert(i);
+
+		if (i > 0)
+			segments.insert(i - 1);
+	}
+
+	// Unindex the points in moved and their segments, before they're moved
+	// in the store.
+	public void	remove(BitSet moved)
+	{
+		update(moved, false);
+	}
+
+	// Index the points in moved and their segments again, after they've been
+	// moved in the store.
+	public void	insert(BitSet moved)
+	{
+		update(moved, true);
+	}
+
+	public void	clear()
+	{
+		if (vertices == null)
+			return;
+
+		vertices.clear();
+		segments.clear();
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Add (or remove) the points in moved, and each segment that has one or
+	// both of them as an end. Each segment is visited once: from its first
+	// point if that moved, otherwise from its second.
+	private void	update(BitSet moved, boolean add)
+	{
+		if (vertices == null)
+			return;
+
+		for (int i=moved.nextSetBit(0); i>=0; i=moved.nextSetBit(i + 1))
+		{
+			if (add)
+				vertices.insert(i);
+			else
+				vertices.remove(i);
+
+			if ((i > 0) && !moved.get(i - 1))
+			{
+				if (add)
+					segments.insert(i - 1);
+				else
+					segments.remove(i - 1);
+			}
+
+			if (i + 1 < points.size())
+			{
+				if (add)
+					segments.insert(i);
+				else
+					segments.remove(i);
+			}
+		}
+	}
+
+	// The vertex (or segment) nearest (x, y) and no farther than r away, or
+	// -1, looking at every one.
+	private int	scan(double x, double y, double r, boolean segment)
+	{
+		int		n = points.size() - (segment ? 1 : 0);
+		int		best = -1;
+		double	bd2 = r * r;
+
+		for (int c=0; c<points.getChunkCount(); c++)
+		{
+			double[]	cx = points.getChunkX(c);
+			double[]	cy = points.getChunkY(c);
+			int			base = c << PointStore.CHUNK_BITS;
+			int			m = Math.min(n - base, PointStore.CHUNK);
+
+			for (int k=0; k<m; k++)
+			{
+				double	qx = x - cx[k];
+				double	qy = y - cy[k];
+
+				if (segment)
+				{
+					int		j = base + k + 1;
+					double	dx = ((k + 1 < PointStore.CHUNK) ? cx[k + 1] :
+								  points.getX(j)) - cx[k];
+					double	dy = ((k + 1 < PointStore.CHUNK) ? cy[k + 1] :
+								  points.getY(j)) - cy[k];
+					double	d2 = dx * dx + dy * dy;
+					double	t = ((d2 > 0.0) ? (qx * dx + qy * dy) / d2 : 0.0);
+
+					t = Math.max(0.0, Math.min(1.0, t));	// Closest point
+					qx -= t * dx;
+					qy -= t * dy;
+				}
+
+				double	d2 = qx * qx + qy * qy;
+
+				if ((d2 < bd2) || ((d2 == bd2) && (best < 0)))
+				{
+					best = base + k;
+					bd2 = d2;
+				}
+			}
+		}
+
+		return best;
+	}
+
+	// Set the bits of all vertices inside the rectangle, looking at every
+	// one.
+	private void	scan(double xmin, double ymin, double xmax, double ymax,
+						 BitSet selection)
+	{
+		for (int c=0; c<points.getChunkCount(); c++)
+		{
+			double[]	cx = points.getChunkX(c);
+			double[]	cy = points.getChunkY(c);
+			int			base = c << PointStore.CHUNK_BITS;
+			int			m = points.getChunkSize(c);
+
+			for (int k=0; k<m; k++)
+				if ((xmin <= cx[k]) && (cx[k] <= xmax) &&
+					(ymin <= cy[k]) && (cy[k] <= ymax))
+					selection.set(base + k);
+		}
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// A loose quadtree of vertex or segment indices. Nodes are kept in
+	// parallel arrays, and freed nodes are reused. Items are identified by
+	// index, and their bounds read from the store as needed.
+	private static final class Tree
+	{
+		private final PointStore	points;
+		private final boolean		segments;	// Items are segments?
+
+		// Nodes
+		private double[]		cx;			// Center
+		private double[]		cy;
+		private double[]		half;		// Half the side of the square
+		private int[]			parent;		// Or -1, for the root
+		private int[]			kids;		// Four per node, or -1s if leaf
+		private int[][]			bags;		// Items in each node, or null
+		private int[]			counts;		// Number of items in each node
+		private int[]			sizes;		// Number of items in each subtree
+		private int				nodes;		// Node slots in use or freed
+		private int				free;		// First freed slot, or -1
+		private int				root;		// Or -1, if empty
+
+		// Items
+		private int[]			where;		// Node holding each item, or -1
+		private int[]			at;			// Place of each item in node
+
+		// Bounds of the item being placed (center and half size)
+		private double			mx;
+		private double			my;
+		private double			me;
+
+		// Query in progress
+		private double			qx;
+		private double			qy;
+		private double			qd2;		// Squared distance of best
+		private int				qbest;
+
+		public Tree(PointStore points, boolean segments)
+		{
+			this.points = points;
+			this.segments = segments;
+
+			where = new int[0];
+			at = new int[0];
+
+			allocate(64);
+		}
+
+		//**************************************************************
+		// Queries
+		//**************************************************************
+
+		public int	nearest(double x, double y, double r)
+		{
+			if (root < 0)
+				return -1;
+
+			qx = x;
+			qy = y;
+			qd2 = r * r;
+			qbest = -1;
+
+			search(root);
+
+			return qbest;
+		}
+
+		public void	find(double xmin, double ymin, double xmax, double ymax,
+						 BitSet selection)
+		{
+			if (root >= 0)
+				collect(root, xmin, ymin, xmax, ymax, selection);
+		}
+
+		//**************************************************************
+		// Updates
+		//**************************************************************
+
+		public void	insert(int i)
+		{
+			if (i >= where.length)
+			{
+				int	n = where.length;
+
+				where = Arrays.copyOf(where, Math.max(i + 1, 2 * n));
+				at = Arrays.copyOf(at, where.length);
+				Arrays.fill(where, n, where.length, -1);
+			}
+
+			bound(i);
+
+			if (!Double.isFinite(mx) || !Double.isFinite(my) ||
+				!Double.isFinite(me))
+				return;									// Can't be placed
+
+			if (root < 0)
+			{
+				double	h = ROOT;
+
+				while (h < me)
+					h *= 2.0;
+
+				root = node((Math.floor(mx / h) + 0.5) * h,
+							(Math.floor(my / h) + 0.5) * h, h, -1);
+			}
+
+			while (!fits(root))
+				if (!grow())
+					return;								// Too far out
+
+			int	n = root;
+
+			while ((kids[4 * n] >= 0) && (me <= 0.5 * half[n]))
+				n = kids[4 * n + quadrant(n, mx, my)];
+
+			append(n, i);
+
+			for (int m=n; m>=0; m=parent[m])
+				sizes[m]++;
+
+			if ((kids[4 * n] < 0) && (counts[n] > CAPACITY))
+				split(n);
+		}
+
+		public void	remove(int i)
+		{
+			if ((i >= where.length) || (where[i] < 0))
+				return;
+
+			int	n = where[i];
+			int	top = -1;
+
+			detach(i);
+
+			for (int m=n; m>=0; m=parent[m])
+			{
+				sizes[m]--;
+
+				if ((kids[4 * m] >= 0) && (sizes[m] <= CAPACITY / 4))
+					top = m;							// Highest to collapse
+			}
+
+			if (top >= 0)
+				collapse(top);
+
+			while ((kids[4 * root] >= 0) && (counts[root] == 0))
+			{
+				int	only = -1;
+
+				for (int q=0; q<4; q++)
+				{
+					int	k = kids[4 * root + q];
+
+					if (sizes[k] > 0)
+						only = ((only == -1) ? k : -2);
+				}
+
+				if (only < 0)
+					break;
+
+				for (int q=0; q<4; q++)					// Hand over to child
+					if (kids[4 * root + q] != only)
+						gather(kids[4 * root + q], root);
+
+				release(root);
+				root = only;
+				parent[root] = -1;
+			}
+
+			if (sizes[root] == 0)
+				clear();
+		}
+
+		public void	clear()
+		{
+			Arrays.fill(where, -1);
+			allocate(64);
+		}
+
+		//**************************************************************
+		// Private Methods (Queries)
+		//**************************************************************
+
+		// Look for items nearer than the best so far in node n and below,
+		// nearest children first.
+		private void	search(int n)
+		{
+			if (sizes[n] == 0)
+				return;
+
+			double	reach = (segments ? 2.0 : 1.0) * half[n];
+			double	dx = Math.max(0.0, Math.abs(qx - cx[n]) - reach);
+			double	dy = Math.max(0.0, Math.abs(qy - cy[n]) - reach);
+
+			if (dx * dx + dy * dy > qd2)
+				return;
+
+			int[]	bag = bags[n];
+
+			for (int k=0; k<counts[n]; k++)
+			{
+				int		i = bag[k];
+				double	d2 = distance2(i);
+
+				if ((d2 < qd2) || ((d2 == qd2) && (qbest < 0)))
+				{
+					qbest = i;
+					qd2 = d2;
+				}
+			}
+
+			if (kids[4 * n] < 0)
+				return;
+
+			int	q = quadrant(n, qx, qy);
+
+			search(kids[4 * n + q]);					// Own, then beside,
+			search(kids[4 * n + (q ^ 1)]);
+			search(kids[4 * n + (q ^ 2)]);
+			search(kids[4 * n + (q ^ 3)]);				// then across
+		}
+
+		// Set the bits of the vertices in node n and below that are inside
+		// the rectangle.
+		private void	collect(int n, double xmin, double ymin, double xmax,
+								double ymax, BitSet selection)
+		{
+			double	h = half[n];
+
+			if (sizes[n] == 0)
+				return;
+
+			if ((cx[n] + h < xmin) || (cx[n] - h > xmax) ||
+				(cy[n] + h < ymin) || (cy[n] - h > ymax))
+				return;									// All outside
+
+			if ((cx[n] - h >= xmin) && (cx[n] + h <= xmax) &&
+				(cy[n] - h >= ymin) && (cy[n] + h <= ymax))
+			{
+				take(n, selection);						// All inside
+				return;
+			}
+
+			int[]	bag = bags[n];
+
+			for (int k=0; k<counts[n]; k++)
+			{
+				int		i = bag[k];
+				double	x = points.getX(i);
+				double	y = points.getY(i);
+
+				if ((xmin <= x) && (x <= xmax) && (ymin <= y) && (y <= ymax))
+					selection.set(i);
+			}
+
+			if (kids[4 * n] >= 0)
+				for (int q=0; q<4; q++)
+					collect(kids[4 * n + q], xmin, ymin, xmax, ymax,
+							selection);
+		}
+
+		// Set the bits of all items in node n and below.
+		private void	take(int n, BitSet selection)
+		{
+			for (int k=0; k<counts[n]; k++)
+				selection.set(bags[n][k]);
+
+			if (kids[4 * n] >= 0)
+				for (int q=0; q<4; q++)
+					take(kids[4 * n + q], selection);
+		}
+
+		// Squared distance from the query point to item i.
+		private double	distance2(int i)
+		{
+			double	x0 = points.getX(i), y0 = points.getY(i);
+			double	qx0 = qx - x0;
+			double	qy0 = qy - y0;
+
+			if (!segments)
+				return qx0 * qx0 + qy0 * qy0;
+
+			double	dx = points.getX(i + 1) - x0;
+			double	dy = points.getY(i + 1) - y0;
+			double	d2 = dx * dx + dy * dy;
+			double	t = ((d2 > 0.0) ? (qx0 * dx + qy0 * dy) / d2 : 0.0);
+
+			t = Math.max(0.0, Math.min(1.0, t));		// Closest point
+
+			double	ex = qx0 - t * dx;
+			double	ey = qy0 - t * dy;
+
+			return ex * ex + ey * ey;
+		}
+
+		//**************************************************************
+		// Private Methods (Structure)
+		//**************************************************************
+
+		// Set mx, my, and me to the bounds of item i.
+		private void	bound(int i)
+		{
+			double	x0 = points.getX(i), y0 = points.getY(i);
+
+			if (!segments)
+			{
+				mx = x0;
+				my = y0;
+				me = 0.0;
+				return;
+			}
+
+			double	x1 = points.getX(i + 1), y1 = points.getY(i + 1);
+
+			mx = 0.5 * (x0 + x1);
+			my = 0.5 * (y0 + y1);
+			me = 0.5 * Math.max(Math.abs(x1 - x0), Math.abs(y1 - y0));
+		}
+
+		// Does the item being placed belong in node n or below?
+		private boolean	fits(int n)
+		{
+			double	h = half[n];
+
+			return ((Math.abs(mx - cx[n]) <= h) &&
+					(Math.abs(my - cy[n]) <= h) && (me <= h));
+		}
+
+		// Which child of node n has (x, y) in its square, as bits for east
+		// (1) and north (2).
+		private int	quadrant(int n, double x, double y)
+		{
+			return ((x >= cx[n]) ? 1 : 0) | ((y >= cy[n]) ? 2 : 0);
+		}
+
+		// Replace the root with one twice its size, toward the item being
+		// placed, that has it as a child. Returns false if it can't grow.
+		private boolean	grow()
+		{
+			int		old = root;
+			double	h = half[old];
+
+			if (Double.isInfinite(2.0 * h))
+				return false;
+
+			double	x = cx[old] + ((mx >= cx[old]) ? h : -h);
+			double	y = cy[old] + ((my >= cy[old]) ? h : -h);
+
+			root = node(x, y, 2.0 * h, -1);
+			sizes[root] = sizes[old];
+			divide(root, old);
+
+			return true;
+		}
+
+		// Move the items in leaf n that fit a child into new children,
+		// splitting them in turn if they're too full.
+		private void	split(int n)
+		{
+			double	h = 0.5 * half[n];
+
+			if ((h < LEAST) ||
+				(h < 64.0 * Math.ulp(Math.max(Math.abs(cx[n]),
+											   Math.abs(cy[n])))))
+				return;									// Too small to split
+
+			divide(n, -1);
+
+			for (int k=counts[n]-1; k>=0; k--)
+			{
+				int	i = bags[n][k];
+
+				bound(i);
+
+				if (me <= h)
+				{
+					int	kid = kids[4 * n + quadrant(n, mx, my)];
+
+					detach(i);
+					append(kid, i);
+					sizes[kid]++;
+				}
+			}
+
+			for (int q=0; q<4; q++)
+			{
+				int	kid = kids[4 * n + q];
+
+				if (counts[kid] > CAPACITY)
+					split(kid);
+			}
+		}
+
+		// Give node n four children, using node old for the one that has its
+		// center, if it isn't -1.
+		private void	divide(int n, int old)
+		{
+			double	h = 0.5 * half[n];
+			int		q0 = ((old >= 0) ? quadrant(n, cx[old], cy[old]) : -1);
+
+			for (int q=0; q<4; q++)
+			{
+				int	kid;
+
+				if (q == q0)
+				{
+					kid = old;
+					parent[old] = n;
+				}
+				else
+				{
+					kid = node(cx[n] + (((q & 1) != 0) ? h : -h),
+							   cy[n] + (((q & 2) != 0) ? h : -h), h, n);
+				}
+
+				kids[4 * n + q] = kid;
+			}
+		}
+
+		// Pull all items below node n up into it, and free its descendants.
+		private void	collapse(int n)
+		{
+			for (int q=0; q<4; q++)
+			{
+				int	kid = kids[4 * n + q];
+
+				gather(kid, n);
+				kids[4 * n + q] = -1;
+			}
+		}
+
+		// Move the items in node m and below into node n, and free m and its
+		// descendants.
+		private void	gather(int m, int n)
+		{
+			while (counts[m] > 0)
+			{
+				int	i = bags[m][counts[m] - 1];
+
+				detach(i);
+				append(n, i);
+			}
+
+			if (kids[4 * m] >= 0)
+				for (int q=0; q<4; q++)
+					gather(kids[4 * m + q], n);
+
+			release(m);
+		}
+
+		// Put item i at the end of node n's bag.
+		private void	append(int n, int i)
+		{
+			if (bags[n] == null)
+				bags[n] = new int[4];
+			else if (counts[n] == bags[n].length)
+				bags[n] = Arrays.copyOf(bags[n], 2 * counts[n]);
+
+			where[i] = n;
+			at[i] = counts[n];
+			bags[n][counts[n]++] = i;
+		}
+
+		// Take item i out of its node's bag. Order in a bag doesn't matter.
+		private void	detach(int i)
+		{
+			int		n = where[i];
+			int[]	bag = bags[n];
+			int		last = bag[--counts[n]];
+
+			bag[at[i]] = last;
+			at[last] = at[i];
+			where[i] = -1;
+		}
+
+		// A new leaf, in a freed slot if there is one.
+		private int	node(double x, double y, double h, int up)
+		{
+			int	n;
+
+			if (free >= 0)
+			{
+				n = free;
+				free = parent[n];
+			}
+			else
+			{
+				if (nodes == cx.length)
+					resize(2 * nodes);
+
+				n = nodes++;
+			}
+
+			cx[n] = x;
+			cy[n] = y;
+			half[n] = h;
+			parent[n] = up;
+			counts[n] = 0;
+			sizes[n] = 0;
+			Arrays.fill(kids, 4 * n, 4 * n + 4, -1);
+
+			return n;
+		}
+
+		// Free node n for reuse. It must be empty, and its children (if any)
+		// already freed.
+		private void	release(int n)
+		{
+			bags[n] = null;
+			Arrays.fill(kids, 4 * n, 4 * n + 4, -1);
+			parent[n] = free;
+			free = n;
+		}
+
+		private void	allocate(int capacity)
+		{
+			cx = new double[capacity];
+			cy = new double[capacity];
+			half = new double[capacity];
+			parent = new int[capacity];
+			kids = new int[4 * capacity];
+			bags = new int[capacity][];
+			counts = new int[capacity];
+			sizes = new int[capacity];
+			nodes = 0;
+			free = -1;
+			root = -1;
+		}
+
+		private void	resize(int capacity)
+		{
+			cx = Arrays.copyOf(cx, capacity);
+			cy = Arrays.copyOf(cy, capacity);
+			half = Arrays.copyOf(half, capacity);
+			parent = Arrays.copyOf(parent, capacity);
+			kids = Arrays.copyOf(kids, 4 * capacity);
+			bags = Arrays.copyOf(bags, capacity);
+			counts = Arrays.copyOf(counts, capacity);
+			sizes = Arrays.copyOf(sizes, capacity);
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,363 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 18:55:48 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Keeps a pyramid of coarser and coarser copies of a PointStore polyline, for
+// drawing it zoomed out. Level 0 is the polyline itself. Level L keeps a point
+// of level L-1 only if it's at least getTolerance(L) from the last point kept,
+// so level L's points are at least that far apart. Since tolerances double from
+// one level to the next (starting at BASE), the dropped points add up to less
+// than twice that: no point of the polyline is farther from level L's.
+//
+// To draw with error under a pixel, chooseLevel() picks the coarsest level
+// whose tolerance is under a given fraction of a pixel. However big the sketch
+// is, a level then has only a few points per pixel along the line, apart from
+// where the line crosses back over itself.
+//
+// Levels are built only when first asked for, so that a sketch that's never
+// zoomed out costs nothing extra. After that, update() keeps them in step with
+// the polyline: appended points are passed down the levels one at a time,
+// stopping at the first level that doesn't keep them, so appends cost O(1)
+// on average. Moving points or clearing redoes each level from the first point
+// affected (found by binary search on each kept point's source index), but only
+// until the level keeps a point it kept before from the unchanged part of the
+// level below. From there on the level is as it was, so if it kept as many
+// points as before they're moved in place, and if not the rest is put back
+// after them. Moving a point costs about as much as the points near it.
+//
+// Given a ChunkCache, the levels keep their points in it, sealing their full
+// chunks after each update, so they spill along with the polyline's. The
+// source indices (4 bytes per point kept) stay on the heap.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.util.Arrays;
+
+//******************************************************************************
+
+/**
+ * The <CODE>PolylinePyramid</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class PolylinePyramid
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final int		LEVELS = 16;				// Including 0
+	public static final double		BASE = 2.0 / 1024.0;		// Level 1
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private final ChunkCache		cache;			// Or null, to keep all
+	private PointStore				source;			// Level 0
+	private final PointStore[]		levels;			// Kept points, by level
+	private final int[][]			sources;		// Their level 0 indices
+	private int						built;			// Highest level built
+
+	private double[]				keptX;			// Points kept by redo()
+	private double[]				keptY;
+	private int[]					keptSources;
+
+	private long					version = -1;	// Source version seen
+	private int						count;			// Source size seen
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public PolylinePyramid()
+	{
+		this(null);
+	}
+
+	// A pyramid whose levels keep their points in cache, which may spill
+	// them.
+	public PolylinePyramid(ChunkCache cache)
+	{
+		this.cache = cache;
+
+		levels = new PointStore[LEVELS];
+		sources = new int[LEVELS][];
+
+		keptX = new double[64];
+		keptY = new double[64];
+		keptSources = new int[64];
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	public static double	getTolerance(int level)
+	{
+		return ((level == 0) ? 0.0 : BASE * (1L << (level - 1)));
+	}
+
+	// The coarsest level whose tolerance is no more than the given one.
+	public static int	chooseLevel(double tolerance)
+	{
+		int	level = 0;
+
+		while ((level + 1 < LEVELS) && (getTolerance(level + 1) <= tolerance))
+			level++;
+
+		return level;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// The points at a level, after update() has brought it up to date.
+	public PointStore	getLevel(int level)
+	{
+		return ((level == 0) ? source : levels[level]);
+	}
+
+	// Bring levels up to the given one up to date with the points.
+	public void	update(PointStore points, int level)
+	{
+		if (points != source)						// Start over
+		{
+			source = points;
+			version = -1;
+			count = 0;
+			built = 0;
+		}
+
+		if ((points.getVersion() != version) && (built > 0))
+		{
+			int	size = points.size();
+			int	from = points.getDirtyStart(version, count);
+
+			if (from < count)						// Redo up to change
+			{
+				int	limit = Math.min(count, size);
+				int	after = points.getDirtyEnd(version, count);
+
+				for (int l=1; l<=built; l++)
+					after = redo(l, from, after, limit);
+
+				from = limit;
+			}
+
+			for (int i=from; i<size; i++)			// Pass new points
+				pass(i, points.getX(i), points.getY(i));
+
+			for (int l=1; l<=built; l++)
+				levels[l].seal();
+		}
+
+		version = points.getVersion();
+		count = points.size();
+
+		while (built < level)					// Build new levels
+			build(built + 1);
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Pass point i of the polyline down the levels as far as it's kept.
+	private void	pass(int i, double x, double y)
+	{
+		for (int l=1; l<=built; l++)
+			if (!keep(l, i, x, y))
+				return;
+	}
+
+	// Add a point from level l-1 to level l, if it's far enough from the
+	// last one there. Returns whether it was added.
+	private boolean	keep(int l, int i, double x, double y)
+	{
+		PointStore	store = levels[l];
+		int			n = store.size();
+
+		if (n > 0)
+		{
+			double	dx = x - store.getX(n - 1);
+			double	dy = y - store.getY(n - 1);
+			double	t = getTolerance(l);
+
+			if (dx * dx + dy * dy < t * t)
+				return false;
+		}
+
+		append(l, i, x, y);
+
+		return true;
+	}
+
+	// Add point i of the polyline to the end of level l.
+	private void	append(int l, int i, double x, double y)
+	{
+		int	n = levels[l].size();
+
+		if (n == sources[l].length)
+			sources[l] = Arrays.copyOf(sources[l], 2 * n);
+
+		levels[l].add(x, y);
+		sources[l][n] = i;
+	}
+
+	// Redo level l for the polyline's points from from up to limit, given
+	// that level l-1 hasn't changed from source index after on. Stops once
+	// level l keeps one of those points that it kept before, since the rest
+	// of it is then as it was. Returns the point it stopped at, or MAX_VALUE
+	// if it didn't stop (and level l ends at limit).
+	private int	redo(int l, int from, int after, int limit)
+	{
+		PointStore	below = getLevel(l - 1);
+		PointStore	store = levels[l];
+		int			size = store.size();
+		int			cut = find(l, from);				// Points kept as is
+		int			k = cut;							// Old point to match
+		int			m = 0;								// New points kept
+		int			stop = Integer.MAX_VALUE;
+		double		t = getTolerance(l);
+		double		lx = ((cut > 0) ? store.getX(cut - 1) : 0.0);
+		double		ly = ((cut > 0) ? store.getY(cut - 1) : 0.0);
+
+		for (int j=((l == 1) ? from : find(l - 1, from)); j<below.size(); j++)
+		{
+			int	i = ((l == 1) ? j : sources[l - 1][j]);
+
+			if (i >= limit)
+				break;
+
+			double	x = below.getX(j);
+			double	y = below.getY(j);
+			double	dx = x - lx;
+			double	dy = y - ly;
+
+			if ((cut + m > 0) && (dx * dx + dy * dy < t * t))
+				continue;
+
+			if (m == keptX.length)
+			{
+				keptX = Arrays.copyOf(keptX, 2 * m);
+				keptY = Arrays.copyOf(keptY, 2 * m);
+				keptSources = Arrays.copyOf(keptSources, 2 * m);
+			}
+
+			keptX[m] = x;
+			keptY[m] = y;
+			keptSources[m] = i;
+			m++;
+
+			lx = x;
+			ly = y;
+
+			if (i < after)
+				continue;
+
+			while ((k < size) && (sources[l][k] < i))
+				k++;
+
+			if ((k < size) && (sources[l][k] == i))	// Caught up
+			{
+				stop = i;
+				break;
+			}
+		}
+
+		if (stop == Integer.MAX_VALUE)				// All new from cut
+		{
+			store.truncate(cut);
+
+			for (int q=0; q<m; q++)
+				append(l, keptSources[q], keptX[q], keptY[q]);
+		}
+		else if (k + 1 - cut == m)					// Move them in place
+		{
+			for (int q=0; q<m-1; q++)
+			{
+				int	p = cut + q;
+
+				if ((store.getX(p) != keptX[q]) || (store.getY(p) != keptY[q]))
+					store.set(p, keptX[q], keptY[q]);
+
+				sources[l][p] = keptSources[q];
+			}
+		}
+		else										// Put the rest back
+		{
+			PolylineSnapshot	old = store.snapshot();
+			int					rest = size - (k + 1);
+
+			if (cut + m + rest > sources[l].length)
+				sources[l] = Arrays.copyOf(sources[l],
+										   2 * (cut + m + rest));
+
+			System.arraycopy(sources[l], k + 1, sources[l], cut + m, rest);
+			store.truncate(cut);
+
+			for (int q=0; q<m; q++)
+				append(l, keptSources[q], keptX[q], keptY[q]);
+
+			for (int p=k+1; p<size; p++)
+				store.add(old.getX(p), old.getY(p));
+		}
+
+		return stop;
+	}
+
+	// Build level l from level l-1.
+	private void	build(int l)
+	{
+		levels[l] = new PointStore(cache);
+		sources[l] = new int[1024];
+		built = l;
+
+		PointStore	below = getLevel(l - 1);
+
+		for (int j=0; j<below.size(); j++)
+		{
+			int	i = ((l == 1) ? j : sources[l - 1][j]);
+
+			keep(l, i, below.getX(j), below.getY(j));
+		}
+
+		levels[l].seal();
+	}
+
+	// The number of points at level l that come from points before i.
+	private int	find(int l, int i)
+	{
+		int	lo = 0;
+		int	hi = levels[l].size();
+
+		while (lo < hi)
+		{
+			int	mid = (lo + hi) >>> 1;
+
+			if (sources[l][mid] < i)
+				lo = mid + 1;
+			else
+				hi = mid;
+		}
+
+		return lo;
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,366 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 23:54:37 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Draws the user's sketch from two vertex buffers: one of square markers (two
+// triangles per point) and one of the polyline itself (a line strip, or a
+// triangle fan from the origin in colorful mode). The whole sketch goes to the
+// GPU in a few draw calls rather than one glBegin()/glEnd() block per marker.
+//
+// The markers and line strip are kept in PolylineBuffers, which store each
+// vertex as an offset from its chunk's origin (as floats, or as 16-bit steps
+// if the renderer is made QUANTIZED) with the color in a uniform. That's 8 or
+// 4 bytes a vertex to keep and upload, instead of 24. While drawing them, the
+// projection is replaced by one centered on the window, so that the vertices
+// are never far from (0, 0) in float arithmetic. The fan has a color for each
+// point, so it's kept in a VertexBuffer, and filled only while colorful.
+//
+// The buffers are kept from frame to frame. Using the store's version, only
+// points moved or added since the last draw are turned into vertices (and
+// uploaded); the rest of the sketch costs nothing. The fan's colors depend on
+// the number of points, so it's rebuilt whenever the sketch changes.
+//
+// Given the visible window, only the parts of the sketch in it are drawn. A
+// PolylineHierarchy finds the ranges of points whose runs overlap the window
+// (widened by the marker size), and each buffer draws just those ranges, in
+// one glMultiDrawArrays() call per chunk. The fan always reaches back to the
+// origin, so it's drawn whole.
+//
+// Zoomed out, a sketch of a million points would put thousands of vertices in
+// every pixel. Given the size of a pixel in scene units, the sketch is drawn
+// from the coarsest level of a PolylinePyramid that stays within a fraction of
+// a pixel of it. Each level has its own layer of buffers and hierarchy, kept up
+// to date as above, and made only when the level is first drawn.
+//
+// Takes the sketch as arguments (rather than reading the model) so that it can
+// be driven without a canvas, e.g. by the benchmarks in src/jmh.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.awt.Color;
+import com.jogamp.opengl.*;
+import edu.ou.cs.cg.utilities.ShaderProgram;
+import edu.ou.cs.cg.utilities.VertexBuffer;
+
+//******************************************************************************
+
+/**
+ * The <CODE>PolylineRenderer</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class PolylineRenderer
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final double		MARKER = 0.05;	// Half size of markers
+	private static final double		ERROR = 0.25;	// Pixels, per tolerance
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private final int			encoding;		// Of PolylineBuffers
+	private ShaderProgram		program;		// Created in init()
+	private ShaderProgram		compact;		// For PolylineBuffers
+	private final PolylinePyramid	pyramid;	// Coarser sketches
+	private final Layer[]		layers;			// Buffers, by level
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public PolylineRenderer()
+	{
+		this(PolylineBuffer.OFFSET);
+	}
+
+	// A renderer that keeps vertices in the given PolylineBuffer encoding.
+	public PolylineRenderer(int encoding)
+	{
+		this(encoding, null);
+	}
+
+	// As above, keeping the coarser sketches in cache, which may spill them.
+	public PolylineRenderer(int encoding, ChunkCache cache)
+	{
+		this.encoding = encoding;
+
+		pyramid = new PolylinePyramid(cache);
+		layers = new Layer[PolylinePyramid.LEVELS];
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Creates the shader programs. Call it on the GL thread before drawing,
+	// e.g. in GLEventListener.init().
+	public void	init(GL2 gl)
+	{
+		program = ShaderProgram.createColorProgram(gl);
+		compact = PolylineBuffer.createProgram(gl);
+	}
+
+	// Draws the whole sketch and returns the number of vertices submitted.
+	public int	draw(GL2 gl, PointStore points, boolean colorful)
+	{
+		return draw(gl, points, colorful,
+					Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+					Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+	}
+
+	// Draws the parts of the sketch that are in the window, in scene
+	// coordinates, and returns the number of vertices submitted.
+	public int	draw(GL2 gl, PointStore points, boolean colorful,
+					 double xmin, double ymin, double xmax, double ymax)
+	{
+		return draw(gl, points, colorful, xmin, ymin, xmax, ymax, 0.0);
+	}
+
+	// As above, but in as little detail as the pixel size (in scene units)
+	// allows.
+	public int	draw(GL2 gl, PointStore points, boolean colorful,
+					 double xmin, double ymin, double xmax, double ymax,
+					 double pixel)
+	{
+		int	level = PolylinePyramid.chooseLevel(ERROR * pixel);
+
+		pyramid.update(points, level);
+
+		if (layers[level] == null)
+			layers[level] = new Layer(encoding);
+
+		Layer				layer = layers[level];
+		PolylineHierarchy	hierarchy = layer.hierarchy;
+
+		layer.update(pyramid.getLevel(level), colorful);
+
+		int		n = hierarchy.findVisible(xmin - MARKER, ymin - MARKER,
+										  xmax + MARKER, ymax + MARKER);
+		int[]	ranges = hierarchy.getRanges();
+		int		total = 0;
+
+		for (int i=0; i<n; i++)
+			total += ranges[2 * i + 1];
+
+		boolean	bounded = ((xmin > Double.NEGATIVE_INFINITY) &&
+						   (ymin > Double.NEGATIVE_INFINITY) &&
+						   (xmax < Double.POSITIVE_INFINITY) &&
+						   (ymax < Double.POSITIVE_INFINITY));
+		double	cx = (bounded ? 0.5 * (xmin + xmax) : 0.0);
+		double	cy = (bounded ? 0.5 * (ymin + ymax) : 0.0);
+
+		if (bounded)
+			center(gl, xmin - cx, xmax - cx, ymin - cy, ymax - cy);
+
+		layer.markers.draw(gl, compact, GL.GL_TRIANGLES, ranges, n, cx, cy,
+						   1.0f, 0.0f, 0.0f);
+
+		if (colorful)
+		{
+			if (bounded)
+				uncenter(gl);
+
+			layer.fan.draw(gl, program, GL.GL_TRIANGLE_FAN);
+
+			return 6 * total + layer.fan.getCount();	// Six per marker
+		}
+
+		layer.line.draw(gl, compact, GL.GL_LINE_STRIP, ranges, n, cx, cy,
+						1.0f, 1.0f, 0.0f);
+
+		if (bounded)
+			uncenter(gl);
+
+		return 7 * total;						// Six per marker, one per point
+	}
+
+	public void	dispose(GL2 gl)
+	{
+		for (int l=0; l<layers.length; l++)
+			if (layers[l] != null)
+				layers[l].dispose(gl);
+
+		if (program != null)
+		{
+			program.dispose(gl);
+			compact.dispose(gl);
+		}
+
+		program = null;
+		compact = null;
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	// Project the window, moved to be centered on (0, 0).
+	private static void	center(GL2 gl, double xmin, double xmax,
+								   double ymin, double ymax)
+	{
+		gl.glMatrixMode(GL2.GL_PROJECTION);
+		gl.glPushMatrix();
+		gl.glLoadIdentity();
+		gl.glOrtho(xmin, xmax, ymin, ymax, -1.0, 1.0);
+		gl.glMatrixMode(GL2.GL_MODELVIEW);
+	}
+
+	private static void	uncenter(GL2 gl)
+	{
+		gl.glMatrixMode(GL2.GL_PROJECTION);
+		gl.glPopMatrix();
+		gl.glMatrixMode(GL2.GL_MODELVIEW);
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// The buffers and hierarchy for one level of the pyramid.
+	private static final class Layer
+	{
+		private final PolylineBuffer	markers;		// Squares around points
+		private final PolylineBuffer	line;			// Polyline
+		private final VertexBuffer		fan;			// Colorful fan
+		private final PolylineHierarchy	hierarchy;		// Runs of points
+
+		private long					version = -1;	// Version in buffers
+		private boolean					colorful;		// Fan, not line?
+
+		public Layer(int encoding)
+		{
+			markers = new PolylineBuffer(encoding, 6, false);
+			line = new PolylineBuffer(encoding, 1, true);
+			fan = new VertexBuffer(256 + 1);
+			hierarchy = new PolylineHierarchy();
+		}
+
+		public void	dispose(GL2 gl)
+		{
+			markers.dispose(gl);
+			line.dispose(gl);
+			fan.dispose(gl);
+
+			version = -1;
+		}
+
+		// Bring the buffers and hierarchy up to date with the points.
+		public void	update(PointStore points, boolean colorful)
+		{
+			if ((points.getVersion() != version) ||
+				(colorful != this.colorful))
+			{
+				int	count = markers.getSize();
+				int	start = points.getDirtyStart(version, count);
+				int	end = points.getDirtyEnd(version, count);
+
+				fillMarkers(points, start, end, count);
+
+				if (colorful)				// Show the psychedelic version...
+					fillFan(points);
+				else if (this.colorful)		// ...or the simple version,
+					fillLine(points, 0, 0, 0);	// from scratch...
+				else						// ...or just what changed.
+					fillLine(points, start, end, count);
+
+				version = points.getVersion();
+				this.colorful = colorful;
+			}
+
+			hierarchy.update(points);
+		}
+
+		// Bring the markers for the first count points up to date, given that
+		// only those for points [start, end) have changed, and add the rest.
+		private void	fillMarkers(PointStore points, int start, int end,
+									int count)
+		{
+			int	keep = Math.min(count, points.size());
+
+			markers.setSize(keep);
+
+			for (int i=start; i<end; i++)
+				fillMarker(points, i);
+
+			for (int i=keep; i<points.size(); i++)
+				fillMarker(points, i);
+
+			markers.setSize(points.size());
+		}
+
+		private void	fillMarker(PointStore points, int i)
+		{
+			double	x = points.getX(i);
+			double	y = points.getY(i);
+			double	xmin = x - MARKER;
+			double	xmax = x + MARKER;
+			double	ymin = y - MARKER;
+			double	ymax = y + MARKER;
+
+			markers.set(i, 0, xmin, ymin);
+			markers.set(i, 1, xmin, ymax);
+			markers.set(i, 2, xmax, ymax);
+
+			markers.set(i, 3, xmin, ymin);
+			markers.set(i, 4, xmax, ymax);
+			markers.set(i, 5, xmax, ymin);
+		}
+
+		private void	fillFan(PointStore points)
+		{
+			float	a = 0.0f;
+			float	delta = 360.0f / (float)points.size();
+
+			fan.clear();
+			fan.setColor(1.0f, 1.0f, 0.0f);
+			fan.add(0.0, 0.0);
+
+			for (int i=0; i<points.size(); i++)
+			{
+				Color	c = new Color(Color.HSBtoRGB(a, 1.0f, 1.0f));
+				float[]	rgb = c.getRGBColorComponents(null);
+
+				fan.setColor(rgb[0], rgb[1], rgb[2]);
+				fan.add(points.getX(i), points.getY(i));
+
+				a += delta;
+			}
+		}
+
+		// As for fillMarkers(), but for the line's vertices.
+		private void	fillLine(PointStore points, int start, int end,
+								 int count)
+		{
+			int	keep = Math.min(count, points.size());
+
+			line.setSize(keep);
+
+			for (int i=start; i<end; i++)
+				line.set(i, 0, points.getX(i), points.getY(i));
+
+			for (int i=keep; i<points.size(); i++)
+				line.set(i, 0, points.getX(i), points.getY(i));
+
+			line.setSize(points.size());
+		}
+	}
+}
+
+//******************************************************************************
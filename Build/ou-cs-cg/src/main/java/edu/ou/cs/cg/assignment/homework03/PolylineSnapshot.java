@@ -0,0 +1,120 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 23:52:31 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// The points of a PointStore as they were when PointStore.snapshot() was
+// called. The chunks are shared with the store (and with other snapshots), but
+// the store copies a chunk before changing any point in it that a snapshot can
+// see, so a snapshot never changes. It can be read on any thread once it has
+// been published safely, e.g. through ModelState. Chunks spilled by a
+// ChunkCache are read back as they're needed, on the reading thread.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>PolylineSnapshot</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class PolylineSnapshot
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private final ChunkCache.Chunk[]	chunks;	// Coordinates, by chunk
+	private final int			size;			// Number of points
+	private final long			version;		// Store version at snapshot
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	PolylineSnapshot(ChunkCache.Chunk[] chunks, int size, long version)
+	{
+		this.chunks = chunks;
+		this.size = size;
+		this.version = version;
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	size()
+	{
+		return size;
+	}
+
+	public boolean	isEmpty()
+	{
+		return (size == 0);
+	}
+
+	public long	getVersion()
+	{
+		return version;
+	}
+
+	public double	getX(int i)
+	{
+		return chunks[i >>> PointStore.CHUNK_BITS].getX()[
+			i & PointStore.CHUNK_MASK];
+	}
+
+	public double	getY(int i)
+	{
+		return chunks[i >>> PointStore.CHUNK_BITS].getY()[
+			i & PointStore.CHUNK_MASK];
+	}
+
+	public int	getChunkCount()
+	{
+		return chunks.length;
+	}
+
+	// Number of points in chunk c. Only the last chunk can be partly full.
+	public int	getChunkSize(int c)
+	{
+		return Math.min(PointStore.CHUNK, size - (c << PointStore.CHUNK_BITS));
+	}
+
+	// The x coordinates in chunk c. Shared, so don't modify them!
+	public double[]	getChunkX(int c)
+	{
+		return chunks[c].getX();
+	}
+
+	// The y coordinates in chunk c. Shared, so don't modify them!
+	public double[]	getChunkY(int c)
+	{
+		return chunks[c].getY();
+	}
+
+	//**********************************************************************
+	// Package Methods
+	//**********************************************************************
+
+	ChunkCache.Chunk	getChunk(int c)
+	{
+		return chunks[c];
+	}
+}
+
+//******************************************************************************
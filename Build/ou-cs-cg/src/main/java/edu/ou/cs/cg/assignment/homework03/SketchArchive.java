@@ -0,0 +1,543 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 23:57:19 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A compressed sketch file, for archiving. Each chunk's coordinates are
+// rounded to a grid of its own, and its points stored as a block of zig-zag
+// varints, so that the small steps of a drawn stroke take a byte or two each
+// instead of eight.
+//
+// A block's grid spacing (its quantum) comes from its points: the largest
+// power of two no more than 1/SUBSTEPS of the shortest segment in the chunk.
+// Rounding moves a point by less than 1/20 of that segment however far in or
+// out the sketch was drawn, so it doesn't show at any zoom the sketch could
+// be drawn at. A chunk with no segments longer than zero uses the spacing of
+// doubles at its largest coordinate (or 1, if all of its points are at
+// (0, 0)). A chunk whose segments are too short for a grid that fine, next to
+// the size of its coordinates, is stored as plain doubles instead, with a
+// quantum of 0, so that grid steps always fit in a long.
+//
+// A block starts with its quantum, as a double. After that, the first point
+// is stored as is (in grid steps), and each
+// point after it as the difference between its step from the point before and
+// that point's step, i.e. how far it strays from a straight line through the
+// two points before it. Drag-drawn strokes turn gradually, so those
+// differences stay within a few pixels' worth of steps. Each difference is
+// zig-zag encoded (0, -1, 1, -2, ... as 0, 1, 2, 3, ...) and written seven
+// bits to a byte, low bits first, with the high bit set on all but the last.
+// x and y alternate.
+//
+// The file is a HEADER of 64 bytes, then an index of the byte offset of each
+// block plus the end of the last, then the blocks. Every block but the last
+// holds PointStore.CHUNK points.
+//
+//   0	int		MAGIC ("OUSZ")
+//   4	int		VERSION
+//   8	int		CHUNK_BITS of the store that saved it
+//   12	int		Flags (SketchFile.COLORFUL)
+//   16	long	Number of points
+//   24	double	Origin x
+//   32	double	Origin y
+//   40	double	Scale
+//   48	...		Reserved (zeros)
+//
+// Blocks are decoded independently, so a reader can start anywhere. read()
+// reads one block's bytes and decodes them straight into the arrays that the
+// Model hands to PointStore.addChunk(), with no intermediate objects. This is
+// how SketchFile reads archives, so the Model loads them like sketches, a few
+// blocks per frame.
+//
+// Points on a block's grid are saved exactly. If a chunk's points are all on
+// a power of two grid that is up to SUBSTEPS times finer than its quantum,
+// that grid is used instead, so saving a sketch loaded from an archive saves
+// it exactly again. save() can also be given a quantum to round every block
+// to.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+//******************************************************************************
+
+/**
+ * The <CODE>SketchArchive</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class SketchArchive
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final int		MAGIC = 0x5A53554F;		// "OUSZ", in order
+	public static final int		VERSION = 2;
+	public static final int		HEADER = 64;			// Bytes before index
+
+	public static final int		SUBSTEPS = 16;			// Quanta per segment
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	// Most bytes in a block: the quantum, then two coordinates of up to ten
+	// bytes per point
+	private static final int		BLOCK = 8 + 20 * PointStore.CHUNK;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private final FileChannel		channel;
+	private final int				size;			// Number of points
+	private final double			x;				// Origin
+	private final double			y;
+	private final double			scale;
+	private final boolean			colorful;
+	private final long[]			index;			// Block offsets, and end
+
+	private final byte[]			bytes;			// Block being decoded
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	private SketchArchive(FileChannel channel, int size, double x, double y,
+						  double scale, boolean colorful, long[] index)
+	{
+		this.channel = channel;
+		this.size = size;
+		this.x = x;
+		this.y = y;
+		this.scale = scale;
+		this.colorful = colorful;
+		this.index = index;
+
+		bytes = new byte[BLOCK];
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	size()
+	{
+		return size;
+	}
+
+	public int	getChunkCount()
+	{
+		return index.length - 1;
+	}
+
+	// Number of points in chunk c. Only the last chunk can be partly full.
+	public int	getChunkSize(int c)
+	{
+		return Math.min(PointStore.CHUNK, size - (c << PointStore.CHUNK_BITS));
+	}
+
+	// Number of bytes chunk c takes in the file.
+	public int	getBlockSize(int c)
+	{
+		return (int)(index[c + 1] - index[c]);
+	}
+
+	public double	getOriginX()
+	{
+		return x;
+	}
+
+	public double	getOriginY()
+	{
+		return y;
+	}
+
+	public double	getScale()
+	{
+		return scale;
+	}
+
+	public boolean	getColorful()
+	{
+		return colorful;
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Save the points and view settings, rounding each chunk to its own
+	// quantum, replacing the file if it exists. Reads only the snapshot, so
+	// it can be called on any thread.
+	public static void	save(File file, PolylineSnapshot polyline, double x,
+							 double y, double scale, boolean colorful)
+		throws IOException
+	{
+		save(file, polyline, x, y, scale, colorful, 0.0);
+	}
+
+	// As above, but rounding every chunk to quantum instead, unless it's 0.
+
+	public static void	save(File file, PolylineSnapshot polyline, double x,
+							 double y, double scale, boolean colorful,
+							 double quantum)
+		throws IOException
+	{
+		FileChannel	channel =
+			FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+							 StandardOpenOption.WRITE,
+							 StandardOpenOption.TRUNCATE_EXISTING);
+
+		try
+		{
+			int			chunks = polyline.getChunkCount();
+			ByteBuffer	head = ByteBuffer.allocate(HEADER + 8 * (chunks + 1));
+			byte[]		block = new byte[BLOCK];
+			long		offset = head.capacity();
+
+			head.order(ByteOrder.LITTLE_ENDIAN);
+			head.putInt(0, MAGIC);
+			head.putInt(4, VERSION);
+			head.putInt(8, PointStore.CHUNK_BITS);
+			head.putInt(12, (colorful ? SketchFile.COLORFUL : 0));
+			head.putLong(16, polyline.size());
+			head.putDouble(24, x);
+			head.putDouble(32, y);
+			head.putDouble(40, scale);
+
+			for (int c=0; c<chunks; c++)
+			{
+				double[]	cx = polyline.getChunkX(c);
+				double[]	cy = polyline.getChunkY(c);
+				int			size = polyline.getChunkSize(c);
+				double		q = ((quantum > 0.0) ? quantum :
+									 quantize(cx, cy, size));
+				int			n = encode(cx, cy, size, q, block);
+
+				head.putLong(HEADER + 8 * c, offset);
+				write(channel, ByteBuffer.wrap(block, 0, n), offset);
+				offset += n;
+			}
+
+			head.putLong(HEADER + 8 * chunks, offset);
+			write(channel, head, 0L);
+		}
+		finally
+		{
+			channel.close();
+		}
+	}
+
+	//**********************************************************************
+	// Package Class Methods
+	//**********************************************************************
+
+	// Read and check the header and index of the archive open in channel.
+	static SketchArchive	open(FileChannel channel, File file)
+		throws IOException
+	{
+		ByteBuffer	b = ByteBuffer.allocate(HEADER);
+
+		b.order(ByteOrder.LITTLE_ENDIAN);
+		read(channel, b, 0L);
+
+		if (b.getInt(0) != MAGIC)
+			throw new IOException("Not a sketch archive: " + file);
+
+		if (b.getInt(4) != VERSION)
+			throw new IOException("Unknown sketch archive version " +
+								  b.getInt(4) + ": " + file);
+
+		if (b.getInt(8) != PointStore.CHUNK_BITS)
+			throw new IOException("Unsupported sketch chunk size: " + file);
+
+		long	n = b.getLong(16);
+
+		if ((n < 0) || (n > Integer.MAX_VALUE))
+			throw new IOException("Corrupt sketch archive: " + file);
+
+		int			chunks = (int)((n + PointStore.CHUNK_MASK) >>>
+								   PointStore.CHUNK_BITS);
+		long[]		index = new long[chunks + 1];
+		ByteBuffer	i = ByteBuffer.allocate(8 * (chunks + 1));
+
+		i.order(ByteOrder.LITTLE_ENDIAN);
+		read(channel, i, HEADER);
+
+		for (int c=0; c<=chunks; c++)
+		{
+			index[c] = i.getLong(8 * c);
+
+			if ((c > 0) && ((index[c] < index[c - 1]) ||
+							(index[c] - index[c - 1] > BLOCK)))
+				throw new IOException("Corrupt sketch archive: " + file);
+		}
+
+		if (index[chunks] > channel.size())
+			throw new IOException("Truncated sketch archive: " + file);
+
+		return new SketchArchive(channel, (int)n, b.getDouble(24),
+								 b.getDouble(32), b.getDouble(40),
+								 (b.getInt(12) & SketchFile.COLORFUL) != 0,
+								 index);
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Decode chunk c into x and y, which must hold at least getChunkSize(c)
+	// points each.
+	public void	read(int c, double[] x, double[] y) throws IOException
+	{
+		int	length = getBlockSize(c);
+
+		read(channel, ByteBuffer.wrap(bytes, 0, length), index[c]);
+
+		double	quantum = ((length < 8) ? 0.0 :
+						   ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN)
+						   .getDouble(0));
+
+		if (!(quantum >= 0.0) || Double.isInfinite(quantum))
+			throw new IOException("Corrupt sketch archive block " + c);
+
+		try
+		{
+			if (decode(bytes, getChunkSize(c), quantum, x, y) != length)
+				throw new IOException("Corrupt sketch archive block " + c);
+		}
+		catch (ArrayIndexOutOfBoundsException e)
+		{
+			throw new IOException("Corrupt sketch archive block " + c);
+		}
+	}
+
+	//**********************************************************************
+	// Private Class Methods (Encoding)
+	//**********************************************************************
+
+	// The quantum for the first n points in x and y: the largest power of two
+	// no more than 1/SUBSTEPS of their shortest segment, or 0 if that's finer
+	// than the spacing of doubles at their largest coordinate.
+	private static double	quantize(double[] x, double[] y, int n)
+	{
+		double	shortest = Double.POSITIVE_INFINITY;
+		double	largest = 0.0;
+
+		for (int i=0; i<n; i++)
+		{
+			largest = Math.max(largest, Math.max(Math.abs(x[i]),
+												 Math.abs(y[i])));
+
+			if (i > 0)
+			{
+				double	d = Math.hypot(x[i] - x[i - 1], y[i] - y[i - 1]);
+
+				if (d > 0.0)
+					shortest = Math.min(shortest, d);
+			}
+		}
+
+		double	least = ((largest > 0.0) ? Math.ulp(largest) : 1.0);
+
+		if (Double.isInfinite(shortest))				// No segments
+			return least;
+
+		double	quantum = Math.scalb(1.0, Math.getExponent(shortest /
+															 SUBSTEPS));
+
+		for (double g=quantum; (g >= quantum / SUBSTEPS) && (g >= least);
+			 g*=0.5)
+			if (isOnGrid(x, y, n, g))					// Already rounded
+				return g;
+
+		return ((quantum >= least) ? quantum : 0.0);	// Or plain doubles
+	}
+
+	// Are the first n points in x and y all multiples of g?
+	private static boolean	isOnGrid(double[] x, double[] y, int n, double g)
+	{
+		for (int i=0; i<n; i++)
+			if ((Math.rint(x[i] / g) != x[i] / g) ||
+				(Math.rint(y[i] / g) != y[i] / g))
+				return false;
+
+		return true;
+	}
+
+	// Encode the first n points in x and y into b, after the quantum. Returns
+	// the bytes used.
+	private static int	encode(double[] x, double[] y, int n, double quantum,
+							   byte[] b)
+	{
+		ByteBuffer	buffer = ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN);
+
+		buffer.putDouble(0, quantum);
+
+		if (quantum == 0.0)								// Plain doubles
+		{
+			for (int i=0; i<n; i++)
+			{
+				buffer.putDouble(8 + 16 * i, x[i]);
+				buffer.putDouble(16 + 16 * i, y[i]);
+			}
+
+			return 8 + 16 * n;
+		}
+
+		long	qx = Math.round(x[0] / quantum);
+		long	qy = Math.round(y[0] / quantum);
+		long	dx = 0L;
+		long	dy = 0L;
+		int		p = 8;
+
+		p = put(b, p, qx);
+		p = put(b, p, qy);
+
+		for (int i=1; i<n; i++)
+		{
+			long	ix = Math.round(x[i] / quantum);
+			long	iy = Math.round(y[i] / quantum);
+
+			p = put(b, p, ix - qx - dx);		// Off the line so far
+			p = put(b, p, iy - qy - dy);
+
+			dx = ix - qx;
+			dy = iy - qy;
+			qx = ix;
+			qy = iy;
+		}
+
+		return p;
+	}
+
+	// Decode n points from b, after the quantum, into x and y. Returns the
+	// bytes used.
+	private static int	decode(byte[] b, int n, double quantum, double[] x,
+							   double[] y)
+	{
+		if (quantum == 0.0)								// Plain doubles
+		{
+			ByteBuffer	buffer =
+				ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN);
+
+			for (int i=0; i<n; i++)
+			{
+				x[i] = buffer.getDouble(8 + 16 * i);
+				y[i] = buffer.getDouble(16 + 16 * i);
+			}
+
+			return 8 + 16 * n;
+		}
+
+		long	qx = 0L;
+		long	qy = 0L;
+		long	dx = 0L;
+		long	dy = 0L;
+		int		p = 8;
+
+		for (int i=0; i<n; i++)
+		{
+			long	ux = 0L;
+			long	uy = 0L;
+			int		s = 0;
+			byte	v;
+
+			do
+			{
+				v = b[p++];
+				ux |= (long)(v & 0x7F) << s;
+				s += 7;
+			}
+			while (v < 0);
+
+			s = 0;
+
+			do
+			{
+				v = b[p++];
+				uy |= (long)(v & 0x7F) << s;
+				s += 7;
+			}
+			while (v < 0);
+
+			if (i == 0)							// Stored as is
+			{
+				qx = (ux >>> 1) ^ -(ux & 1L);
+				qy = (uy >>> 1) ^ -(uy & 1L);
+			}
+			else
+			{
+				dx += (ux >>> 1) ^ -(ux & 1L);
+				dy += (uy >>> 1) ^ -(uy & 1L);
+				qx += dx;
+				qy += dy;
+			}
+
+			x[i] = qx * quantum;
+			y[i] = qy * quantum;
+		}
+
+		return p;
+	}
+
+	// Write r zig-zag encoded as a varint into b at p. Returns the new p.
+	private static int	put(byte[] b, int p, long r)
+	{
+		long	u = (r << 1) ^ (r >> 63);
+
+		while ((u & ~0x7FL) != 0L)
+		{
+			b[p++] = (byte)((u & 0x7F) | 0x80);
+			u >>>= 7;
+		}
+
+		b[p++] = (byte)u;
+
+		return p;
+	}
+
+	//**********************************************************************
+	// Private Class Methods (I/O)
+	//**********************************************************************
+
+	private static void	read(FileChannel channel, ByteBuffer b, long at)
+		throws IOException
+	{
+		while (b.hasRemaining())
+		{
+			int	n = channel.read(b, at);
+
+			if (n < 0)
+				throw new IOException("Truncated sketch archive");
+
+			at += n;
+		}
+	}
+
+	private static void	write(FileChannel channel, ByteBuffer b, long at)
+		throws IOException
+	{
+		while (b.hasRemaining())
+			at += channel.write(b, at);
+	}
+}
+
+//******************************************************************************
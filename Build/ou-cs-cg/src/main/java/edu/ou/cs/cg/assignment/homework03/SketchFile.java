@@ -0,0 +1,345 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 23:58:07 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Saves and loads the Model's origin, scale, colorful flag, and polyline in a
+// binary file laid out like a PointStore, so that a chunk of the file can be
+// copied straight into a chunk of the store. The file is a HEADER of 64 bytes
+// followed by the chunks in order. Each chunk holds its x coordinates and then
+// its y coordinates, as little-endian doubles. Every chunk but the last is
+// full, so chunk c starts at HEADER + c * CHUNK * 16.
+//
+//   0	int		MAGIC ("OUSK")
+//   4	int		VERSION
+//   8	int		CHUNK_BITS of the store that saved it
+//   12	int		Flags (COLORFUL)
+//   16	long	Number of points
+//   24	double	Origin x
+//   32	double	Origin y
+//   40	double	Scale
+//   48	long	Generation (0 unless saved by a SketchJournal)
+//   56	...		Reserved (zeros)
+//
+// Both directions go through MappedByteBuffers over the FileChannel, WINDOW
+// chunks (64 MB) at a time, so mappings stay well under the 2 GB limit. A chunk
+// moves between the page cache and a chunk array with one bulk get() or put()
+// on a DoubleBuffer view, with no stream or intermediate buffer in between.
+//
+// open() reads and checks only the header; read() then maps windows as their
+// chunks are asked for. The OS pages the file in as it's touched, so the Model
+// can take the first chunks (and draw them) while the rest are still on disk.
+//
+// save() forces the mapped windows to the device before it returns, so a
+// SketchJournal can rename a saved sketch into place knowing it's complete.
+//
+// open() also reads SketchArchives, which it recognizes by their MAGIC. For
+// those, read() decodes the chunk's block instead of copying it from a window.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+//******************************************************************************
+
+/**
+ * The <CODE>SketchFile</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class SketchFile
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final int		MAGIC = 0x4B53554F;		// "OUSK", in order
+	public static final int		VERSION = 1;
+	public static final int		HEADER = 64;			// Bytes before chunks
+
+	public static final int		COLORFUL = 1;			// Flags
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int		WINDOW = 1024;		// Chunks per mapping
+	private static final long		CHUNK_BYTES = 16L * PointStore.CHUNK;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private final FileChannel		channel;
+	private final int				size;			// Number of points
+	private final double			x;				// Origin
+	private final double			y;
+	private final double			scale;
+	private final boolean			colorful;
+	private final long				generation;
+	private final SketchArchive		archive;		// Or null, if plain
+
+	private DoubleBuffer			window;			// Mapped chunks, or null
+	private int						first;			// First chunk in window
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	private SketchFile(FileChannel channel, int size, double x, double y,
+					   double scale, boolean colorful, long generation,
+					   SketchArchive archive)
+	{
+		this.channel = channel;
+		this.size = size;
+		this.x = x;
+		this.y = y;
+		this.scale = scale;
+		this.colorful = colorful;
+		this.generation = generation;
+		this.archive = archive;
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	size()
+	{
+		return size;
+	}
+
+	public int	getChunkCount()
+	{
+		return (size + PointStore.CHUNK_MASK) >>> PointStore.CHUNK_BITS;
+	}
+
+	// Number of points in chunk c. Only the last chunk can be partly full.
+	public int	getChunkSize(int c)
+	{
+		return Math.min(PointStore.CHUNK, size - (c << PointStore.CHUNK_BITS));
+	}
+
+	public double	getOriginX()
+	{
+		return x;
+	}
+
+	public double	getOriginY()
+	{
+		return y;
+	}
+
+	public double	getScale()
+	{
+		return scale;
+	}
+
+	public boolean	getColorful()
+	{
+		return colorful;
+	}
+
+	public long	getGeneration()
+	{
+		return generation;
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Open a sketch for reading, checking its header. Close it when done.
+	public static SketchFile	open(File file) throws IOException
+	{
+		FileChannel	channel = FileChannel.open(file.toPath(),
+											   StandardOpenOption.READ);
+
+		try
+		{
+			if (channel.size() < HEADER)
+				throw new IOException("Not a sketch file: " + file);
+
+			ByteBuffer	b = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+										HEADER);
+
+			b.order(ByteOrder.LITTLE_ENDIAN);
+
+			if (b.getInt(0) == SketchArchive.MAGIC)
+			{
+				SketchArchive	a = SketchArchive.open(channel, file);
+
+				return new SketchFile(channel, a.size(), a.getOriginX(),
+									  a.getOriginY(), a.getScale(),
+									  a.getColorful(), 0L, a);
+			}
+
+			if (b.getInt(0) != MAGIC)
+				throw new IOException("Not a sketch file: " + file);
+
+			if (b.getInt(4) != VERSION)
+				throw new IOException("Unknown sketch version " +
+									  b.getInt(4) + ": " + file);
+
+			if (b.getInt(8) != PointStore.CHUNK_BITS)
+				throw new IOException("Unsupported sketch chunk size: " +
+									  file);
+
+			long	n = b.getLong(16);
+
+			if ((n < 0) || (n > Integer.MAX_VALUE) ||
+				(channel.size() < HEADER + 16 * n))
+				throw new IOException("Truncated sketch file: " + file);
+
+			return new SketchFile(channel, (int)n, b.getDouble(24),
+								  b.getDouble(32), b.getDouble(40),
+								  (b.getInt(12) & COLORFUL) != 0,
+								  b.getLong(48), null);
+		}
+		catch (IOException e)
+		{
+			channel.close();
+			throw e;
+		}
+	}
+
+	// Save the points and view settings, replacing the file if it exists.
+	// Reads only the snapshot, so it can be called on any thread.
+	public static void	save(File file, PolylineSnapshot polyline, double x,
+							 double y, double scale, boolean colorful)
+		throws IOException
+	{
+		save(file, polyline, x, y, scale, colorful, 0L);
+	}
+
+	public static void	save(File file, PolylineSnapshot polyline, double x,
+							 double y, double scale, boolean colorful,
+							 long generation)
+		throws IOException
+	{
+		FileChannel	channel =
+			FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+							 StandardOpenOption.READ, StandardOpenOption.WRITE,
+							 StandardOpenOption.TRUNCATE_EXISTING);
+
+		try
+		{
+			MappedByteBuffer	b = channel.map(FileChannel.MapMode.READ_WRITE,
+												0, HEADER);
+
+			b.order(ByteOrder.LITTLE_ENDIAN);
+			b.putInt(0, MAGIC);
+			b.putInt(4, VERSION);
+			b.putInt(8, PointStore.CHUNK_BITS);
+			b.putInt(12, (colorful ? COLORFUL : 0));
+			b.putLong(16, polyline.size());
+			b.putDouble(24, x);
+			b.putDouble(32, y);
+			b.putDouble(40, scale);
+			b.putLong(48, generation);
+
+			int	chunks = polyline.getChunkCount();
+
+			for (int c=0; c<chunks; c+=WINDOW)
+			{
+				int					m = Math.min(WINDOW, chunks - c);
+				MappedByteBuffer	mapped = map(channel,
+												 FileChannel.MapMode.READ_WRITE,
+												 c, polyline.size());
+				DoubleBuffer		w = mapped.asDoubleBuffer();
+
+				for (int k=0; k<m; k++)
+				{
+					int	n = polyline.getChunkSize(c + k);
+
+					w.position(2 * k * PointStore.CHUNK);
+					w.put(polyline.getChunkX(c + k), 0, n);
+					w.put(polyline.getChunkY(c + k), 0, n);
+				}
+
+				mapped.force();
+			}
+
+			b.force();
+		}
+		finally
+		{
+			channel.close();
+		}
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Copy chunk c into x and y, which must hold at least getChunkSize(c)
+	// points each.
+	public void	read(int c, double[] x, double[] y) throws IOException
+	{
+		if (archive != null)
+		{
+			archive.read(c, x, y);
+			return;
+		}
+
+		if ((window == null) || (c < first) || (c >= first + WINDOW))
+		{
+			first = c - (c % WINDOW);
+			window = map(channel, FileChannel.MapMode.READ_ONLY, first,
+						 size).asDoubleBuffer();
+		}
+
+		int	n = getChunkSize(c);
+
+		window.position(2 * (c - first) * PointStore.CHUNK);
+		window.get(x, 0, n);
+		window.get(y, 0, n);
+	}
+
+	public void	close() throws IOException
+	{
+		window = null;
+		channel.close();
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	// Map the window of chunks that starts at chunk c, for a file of size
+	// points.
+	private static MappedByteBuffer	map(FileChannel channel,
+										FileChannel.MapMode mode, int c,
+										int size)
+		throws IOException
+	{
+		long	start = HEADER + c * CHUNK_BYTES;
+		long	end = HEADER + 16L * Math.min((long)size,
+											  (long)(c + WINDOW) *
+											  PointStore.CHUNK);
+
+		MappedByteBuffer	b = channel.map(mode, start, end - start);
+
+		b.order(ByteOrder.LITTLE_ENDIAN);
+
+		return b;
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,752 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 23:48:31 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A write-ahead journal of changes to the Model's sketch, so that a crash
+// loses at most the last COMMIT milliseconds of work. The sketch is kept as
+// the last snapshot saved (a SketchFile) plus a journal of the changes since,
+// which are replayed on top of it when the model is next opened.
+//
+// The model posts changes on the GL thread. Posting only writes a few numbers
+// (or a reference to an unchanging PolylineSnapshot) into primitive arrays, as
+// in InputQueue, and never touches the disk. A writer thread of its own swaps
+// the arrays at most once per COMMIT interval, encodes everything posted since
+// into one frame, appends it to the journal, and then calls force() once for
+// the whole frame: group commit. Posts that carry a snapshot (undo/redo, which
+// replace the points from the first changed chunk on; moves, which set the
+// selected points) are encoded from the snapshot on the writer thread.
+//
+// The journal file is a header (MAGIC, VERSION, and the generation of the
+// sketch it applies to) followed by frames. A frame is its payload's length
+// and CRC-32, then the payload: records of a kind byte and its numbers, all
+// little-endian. A frame that was cut off or garbled by a crash fails its CRC,
+// and it and everything after it are ignored and then truncated away.
+//
+// A checkpoint (saving with the journal open, or loading another sketch)
+// writes the sketch to a temporary file with a new generation, forces it, and
+// renames it into place, forcing the directory so the rename is kept too;
+// then does the same with a new, empty journal for that generation. After a
+// crash at any point, either the generations match and the journal applies to
+// the sketch, or they don't and the sketch alone is the latest state.
+//
+// The undo history isn't journaled; it starts over after recovery.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.zip.CRC32;
+
+//******************************************************************************
+
+/**
+ * The <CODE>SketchJournal</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class SketchJournal
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	// Record kinds, in the file
+	public static final int		ADD = 1;			// x, y
+	public static final int		CLEAR = 2;
+	public static final int		ORIGIN = 3;			// x, y, scale
+	public static final int		COLORFUL = 4;		// 0 or 1
+	public static final int		SET = 5;			// i, x, y
+	public static final int		TRUNCATE = 6;		// n
+
+	public static final int		MAGIC = 0x4A53554F;	// "OUSJ", in order
+	public static final int		VERSION = 1;
+	public static final int		HEADER = 16;		// Bytes before frames
+	public static final long	COMMIT = 100L;		// Group commit (ms)
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	// Posted kinds, expanded into records by the writer
+	private static final int		REPLACE = 7;		// snapshot, from
+	private static final int		MOVE = 8;			// snapshot, bits
+	private static final int		CHECKPOINT = 9;		// snapshot, x, y, s
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private final File				sketch;
+	private final File				file;
+	private final Runnable			recovered;		// Called when ready
+
+	// Posted on the GL thread, since the writer last swapped
+	private Posts					posts;
+	private Posts					taken;			// Writer's to encode
+	private boolean				closing;
+	private boolean				failed;
+
+	// Writer thread only
+	private Thread					writer;
+	private FileChannel				channel;		// Open for append
+	private long					generation;		// Of sketch
+	private ByteBuffer				frame;			// Payload being built
+	private final CRC32				crc;
+	private volatile Tail			tail;			// Recovered changes
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	// Journal changes to the sketch in sketch in file. Once started, it
+	// recovers the sketch, then calls recovered, after which getTail() says
+	// what was recovered.
+	public SketchJournal(File sketch, File file, Runnable recovered)
+	{
+		this.sketch = sketch;
+		this.file = file;
+		this.recovered = recovered;
+
+		posts = new Posts();
+		taken = new Posts();
+		frame = ByteBuffer.allocate(65536).order(ByteOrder.LITTLE_ENDIAN);
+		crc = new CRC32();
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public File	getSketch()
+	{
+		return sketch;
+	}
+
+	// The sketch and changes recovered, or null if recovery failed (in which
+	// case nothing is journaled). Read it after the recovered callback.
+	public Tail	getTail()
+	{
+		return tail;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Start the writer thread, which recovers the sketch first.
+	public void	start()
+	{
+		writer = new Thread("SketchJournal") {
+				public void	run()
+				{
+					write();
+				}
+			};
+
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	// Commit everything posted so far, and stop the writer.
+	public void	close()
+	{
+		synchronized (this)
+		{
+			closing = true;
+			notifyAll();
+		}
+
+		try
+		{
+			writer.join();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	//**********************************************************************
+	// Public Methods (Posting, GL Thread)
+	//**********************************************************************
+
+	public void	add(double x, double y)
+	{
+		post(ADD, 0, x, y, 0.0, null, null);
+	}
+
+	public void	clear()
+	{
+		post(CLEAR, 0, 0.0, 0.0, 0.0, null, null);
+	}
+
+	public void	origin(double x, double y, double scale)
+	{
+		post(ORIGIN, 0, x, y, scale, null, null);
+	}
+
+	public void	colorful(boolean colorful)
+	{
+		post(COLORFUL, (colorful ? 1 : 0), 0.0, 0.0, 0.0, null, null);
+	}
+
+	// The points from index from on were replaced by those in the snapshot.
+	public void	replace(PolylineSnapshot s, int from)
+	{
+		post(REPLACE, from, 0.0, 0.0, 0.0, s, null);
+	}
+
+	// The points in moved were moved to where they are in the snapshot.
+	// Takes moved as given, so pass a copy.
+	public void	move(PolylineSnapshot s, BitSet moved)
+	{
+		post(MOVE, 0, 0.0, 0.0, 0.0, s, moved);
+	}
+
+	// Save the snapshot as the sketch and start the journal over.
+	public void	checkpoint(PolylineSnapshot s, double x, double y,
+						   double scale, boolean colorful)
+	{
+		post(CHECKPOINT, (colorful ? 1 : 0), x, y, scale, s, null);
+	}
+
+	//**********************************************************************
+	// Private Methods (Posting)
+	//**********************************************************************
+
+	private synchronized void	post(int kind, int i, double x, double y,
+									 double s, PolylineSnapshot snapshot,
+									 BitSet bits)
+	{
+		if (failed || closing)
+			return;
+
+		if (posts.add(kind, i, x, y, s, snapshot, bits) == 1)
+			notifyAll();						// Wake the writer
+	}
+
+	// Wait for posts, then give the writer the ones since last time, no
+	// sooner than COMMIT after the last commit. Returns false to stop.
+	private boolean	take(long last) throws InterruptedException
+	{
+		synchronized (this)
+		{
+			while ((posts.n == 0) && !closing)
+				wait();
+		}
+
+		long	wait = last + COMMIT - System.currentTimeMillis();
+
+		if (wait > 0L)
+			synchronized (this)
+			{
+				if (!closing)
+					wait(wait);					// Let more accumulate
+			}
+
+		synchronized (this)
+		{
+			Posts	p = taken;
+
+			taken = posts;
+			posts = p;
+			posts.n = 0;
+
+			return ((taken.n > 0) || !closing);
+		}
+	}
+
+	//**********************************************************************
+	// Private Methods (Writer Thread)
+	//**********************************************************************
+
+	private void	write()
+	{
+		try
+		{
+			recover();
+		}
+		catch (IOException e)
+		{
+			System.err.println("Failed to recover sketch journal: " + e);
+			fail();
+			recovered.run();
+			return;
+		}
+
+		recovered.run();
+
+		try
+		{
+			long	last = 0L;
+
+			while (take(last))
+			{
+				for (int k=0; k<taken.n; k++)
+					encode(k);
+
+				commit();
+				taken.clear();
+				last = System.currentTimeMillis();
+			}
+
+			channel.close();
+		}
+		catch (Exception e)
+		{
+			System.err.println("Stopped journaling sketch: " + e);
+			fail();
+		}
+	}
+
+	private void	fail()
+	{
+		synchronized (this)
+		{
+			failed = true;
+			posts.clear();
+		}
+	}
+
+	// Encode posted change k into the frame, expanding it into records.
+	private void	encode(int k) throws IOException
+	{
+		Posts	p = taken;
+
+		switch (p.kinds[k])
+		{
+			case ADD:
+				record(ADD, 16).putDouble(p.xs[k]).putDouble(p.ys[k]);
+				break;
+
+			case CLEAR:
+				record(CLEAR, 0);
+				break;
+
+			case ORIGIN:
+				record(ORIGIN, 24).putDouble(p.xs[k]).putDouble(p.ys[k])
+					.putDouble(p.ss[k]);
+				break;
+
+			case COLORFUL:
+				record(COLORFUL, 1).put((byte)p.is[k]);
+				break;
+
+			case REPLACE:
+			{
+				PolylineSnapshot	s = p.snapshots[k];
+
+				record(TRUNCATE, 4).putInt(p.is[k]);
+
+				for (int i=p.is[k]; i<s.size(); i++)
+					record(ADD, 16).putDouble(s.getX(i)).putDouble(s.getY(i));
+
+				break;
+			}
+
+			case MOVE:
+			{
+				PolylineSnapshot	s = p.snapshots[k];
+				BitSet				b = p.sets[k];
+
+				for (int i=b.nextSetBit(0); (i>=0) && (i<s.size());
+					 i=b.nextSetBit(i + 1))
+					record(SET, 20).putInt(i).putDouble(s.getX(i))
+						.putDouble(s.getY(i));
+
+				break;
+			}
+
+			case CHECKPOINT:
+				commit();
+				save(p.snapshots[k], p.xs[k], p.ys[k], p.ss[k],
+					 (p.is[k] != 0));
+				break;
+		}
+	}
+
+	// Start a record of the kind with the given number of bytes after the
+	// kind, and return the frame to put them in.
+	private ByteBuffer	record(int kind, int bytes)
+	{
+		if (frame.remaining() < bytes + 1)
+		{
+			ByteBuffer	b = ByteBuffer.allocate(2 * frame.capacity() +
+												bytes);
+
+			frame.flip();
+			b.order(ByteOrder.LITTLE_ENDIAN).put(frame);
+			frame = b;
+		}
+
+		return frame.put((byte)kind);
+	}
+
+	// Append the frame to the journal, and force it to the device.
+	private void	commit() throws IOException
+	{
+		if (frame.position() == 0)
+			return;
+
+		frame.flip();
+		crc.reset();
+		crc.update(frame);
+		frame.rewind();
+
+		ByteBuffer	head = ByteBuffer.allocate(8);
+
+		head.order(ByteOrder.LITTLE_ENDIAN);
+		head.putInt(0, frame.limit());
+		head.putInt(4, (int)crc.getValue());
+
+		while (head.hasRemaining())
+			channel.write(head);
+
+		while (frame.hasRemaining())
+			channel.write(frame);
+
+		channel.force(false);
+		frame.clear();
+	}
+
+	// Save the sketch with a new generation, and start a journal for it.
+	private void	save(PolylineSnapshot s, double x, double y, double scale,
+						 boolean colorful)
+		throws IOException
+	{
+		long	g = Math.max(generation + 1, System.currentTimeMillis());
+		File	temp = new File(sketch.getPath() + ".tmp");
+
+		SketchFile.save(temp, s, x, y, scale, colorful, g);
+		rename(temp, sketch);
+
+		channel.close();
+		generation = g;
+		create();
+	}
+
+	// Start an empty journal for the current generation, replacing any old
+	// one only once the new one is on the device.
+	private void	create() throws IOException
+	{
+		File		temp = new File(file.getPath() + ".tmp");
+		ByteBuffer	b = ByteBuffer.allocate(HEADER);
+
+		b.order(ByteOrder.LITTLE_ENDIAN);
+		b.putInt(MAGIC).putInt(VERSION).putLong(generation).flip();
+
+		FileChannel	c = FileChannel.open(temp.toPath(),
+										 StandardOpenOption.CREATE,
+										 StandardOpenOption.WRITE,
+										 StandardOpenOption.TRUNCATE_EXISTING);
+
+		while (b.hasRemaining())
+			c.write(b);
+
+		c.force(true);
+		c.close();
+
+		rename(temp, file);
+
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE,
+								   StandardOpenOption.APPEND);
+	}
+
+	// Replace to with from, and put the change of name on the device too by
+	// forcing the directory, where the platform can open one.
+	private static void	rename(File from, File to) throws IOException
+	{
+		Files.move(from.toPath(), to.toPath(),
+				   StandardCopyOption.REPLACE_EXISTING,
+				   StandardCopyOption.ATOMIC_MOVE);
+
+		Path	dir = to.getAbsoluteFile().toPath().getParent();
+
+		if (dir == null)
+			return;
+
+		try
+		{
+			FileChannel	d = FileChannel.open(dir, StandardOpenOption.READ);
+
+			try
+			{
+				d.force(true);
+			}
+			finally
+			{
+				d.close();
+			}
+		}
+		catch (IOException e)
+		{
+			// Directories can't be opened or forced here (e.g. Windows)
+		}
+	}
+
+	//**********************************************************************
+	// Private Methods (Recovery)
+	//**********************************************************************
+
+	// Open the sketch and read the journal's changes to it into the tail,
+	// then open the journal to append to, dropping any torn frame at its end.
+	private void	recover() throws IOException
+	{
+		SketchFile	s = null;
+		Tail		t = new Tail();
+
+		if (sketch.exists())
+		{
+			s = SketchFile.open(sketch);
+			generation = s.getGeneration();
+		}
+
+		t.sketch = s;
+
+		long	end = (file.exists() ? read(t) : -1L);
+
+		if (end < 0L)
+		{
+			t.n = 0;
+			create();
+		}
+		else
+		{
+			channel = FileChannel.open(file.toPath(),
+									   StandardOpenOption.WRITE);
+			channel.truncate(end);
+			channel.position(end);
+		}
+
+		tail = t;
+	}
+
+	// Read the journal's records into the tail. Returns where the last whole
+	// frame ends, or -1 if the journal isn't for the sketch.
+	private long	read(Tail t) throws IOException
+	{
+		FileChannel	c = FileChannel.open(file.toPath(),
+										 StandardOpenOption.READ);
+
+		try
+		{
+			long	size = c.size();
+
+			if (size < HEADER)
+				return -1L;
+
+			ByteBuffer	b = c.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+			b.order(ByteOrder.LITTLE_ENDIAN);
+
+			if ((b.getInt(0) != MAGIC) || (b.getInt(4) != VERSION) ||
+				(b.getLong(8) != generation))
+				return -1L;
+
+			int	p = HEADER;
+
+			while (p + 8 <= size)
+			{
+				int	n = b.getInt(p);
+
+				if ((n <= 0) || (p + 8L + n > size))
+					break;							// Cut off
+
+				ByteBuffer	payload = (ByteBuffer)b.duplicate()
+					.position(p + 8).limit(p + 8 + n);
+
+				crc.reset();
+				crc.update(payload.slice());
+
+				if ((int)crc.getValue() != b.getInt(p + 4))
+					break;							// Garbled
+
+				t.parse(payload.slice().order(ByteOrder.LITTLE_ENDIAN));
+				p += 8 + n;
+			}
+
+			return p;
+		}
+		finally
+		{
+			c.close();
+		}
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Changes posted, in parallel arrays.
+	private static final class Posts
+	{
+		public int[]				kinds = new int[256];
+		public int[]				is = new int[256];
+		public double[]				xs = new double[256];
+		public double[]				ys = new double[256];
+		public double[]				ss = new double[256];
+		public PolylineSnapshot[]	snapshots = new PolylineSnapshot[256];
+		public BitSet[]				sets = new BitSet[256];
+		public int					n;
+
+		// Returns the number of posts, including this one.
+		public int	add(int kind, int i, double x, double y, double s,
+						PolylineSnapshot snapshot, BitSet bits)
+		{
+			if (n == kinds.length)
+			{
+				kinds = Arrays.copyOf(kinds, 2 * n);
+				is = Arrays.copyOf(is, 2 * n);
+				xs = Arrays.copyOf(xs, 2 * n);
+				ys = Arrays.copyOf(ys, 2 * n);
+				ss = Arrays.copyOf(ss, 2 * n);
+				snapshots = Arrays.copyOf(snapshots, 2 * n);
+				sets = Arrays.copyOf(sets, 2 * n);
+			}
+
+			kinds[n] = kind;
+			is[n] = i;
+			xs[n] = x;
+			ys[n] = y;
+			ss[n] = s;
+			snapshots[n] = snapshot;
+			sets[n] = bits;
+
+			return ++n;
+		}
+
+		// Forget the posts, and let their snapshots go.
+		public void	clear()
+		{
+			Arrays.fill(snapshots, 0, n, null);
+			Arrays.fill(sets, 0, n, null);
+			n = 0;
+		}
+	}
+
+	// The sketch and the journaled changes to it, as recovered.
+	public static final class Tail
+	{
+		private SketchFile		sketch;			// Or null, if none
+		private int[]			kinds = new int[256];
+		private int[]			is = new int[256];
+		private double[]		xs = new double[256];
+		private double[]		ys = new double[256];
+		private double[]		ss = new double[256];
+		private int				n;
+
+		// The sketch to load before making the changes, or null to make them
+		// to an empty sketch. Close it when done.
+		public SketchFile	getSketch()
+		{
+			return sketch;
+		}
+
+		public int	size()
+		{
+			return n;
+		}
+
+		public int	getKind(int k)
+		{
+			return kinds[k];
+		}
+
+		// Point index (SET), size (TRUNCATE), or 0 or 1 (COLORFUL).
+		public int	getIndex(int k)
+		{
+			return is[k];
+		}
+
+		public double	getX(int k)
+		{
+			return xs[k];
+		}
+
+		public double	getY(int k)
+		{
+			return ys[k];
+		}
+
+		public double	getScale(int k)
+		{
+			return ss[k];
+		}
+
+		// Add the records in one frame's payload.
+		private void	parse(ByteBuffer b) throws IOException
+		{
+			while (b.hasRemaining())
+			{
+				int	kind = b.get();
+
+				if (n == kinds.length)
+				{
+					kinds = Arrays.copyOf(kinds, 2 * n);
+					is = Arrays.copyOf(is, 2 * n);
+					xs = Arrays.copyOf(xs, 2 * n);
+					ys = Arrays.copyOf(ys, 2 * n);
+					ss = Arrays.copyOf(ss, 2 * n);
+				}
+
+				kinds[n] = kind;
+
+				switch (kind)
+				{
+					case ADD:
+						xs[n] = b.getDouble();
+						ys[n] = b.getDouble();
+						break;
+
+					case CLEAR:
+						break;
+
+					case ORIGIN:
+						xs[n] = b.getDouble();
+						ys[n] = b.getDouble();
+						ss[n] = b.getDouble();
+						break;
+
+					case COLORFUL:
+						is[n] = b.get();
+						break;
+
+					case SET:
+						is[n] = b.getInt();
+						xs[n] = b.getDouble();
+						ys[n] = b.getDouble();
+						break;
+
+					case TRUNCATE:
+						is[n] = b.getInt();
+						break;
+
+					default:
+						throw new IOException("Bad journal record: " + kind);
+				}
+
+				n++;
+			}
+		}
+	}
+}
+
+//******************************************************************************
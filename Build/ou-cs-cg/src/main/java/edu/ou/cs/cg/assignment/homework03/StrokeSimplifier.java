@@ -0,0 +1,174 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 15:52:17 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Simplifies a drag stroke as it arrives, in view (pixel) coordinates, so that
+// only the vertices needed to draw it to within a tolerance are kept.
+//
+// The last kept vertex is the anchor. Points after it are collected into a run
+// for as long as every point in the run stays within the tolerance of the line
+// segment from the anchor to the newest point. When a new point breaks that,
+// the run's last point (which the whole run was within tolerance of) is kept
+// and becomes the new anchor, and a new run starts with the new point. This is
+// a streaming, greedy form of Ramer-Douglas-Peucker; each point is checked
+// against at most MAX_RUN earlier ones, and a run that long is cut short.
+//
+// Slow, steady drags produce many nearly collinear points a pixel or so apart,
+// nearly all of which fall within a pixel of a longer segment.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.assignment.homework03;
+
+//import java.lang.*;
+import java.awt.Point;
+
+//******************************************************************************
+
+/**
+ * The <CODE>StrokeSimplifier</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class StrokeSimplifier
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final double		DEFAULT_TOLERANCE = 1.0;	// Pixels
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int		MAX_RUN = 256;	// Points checked per add
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private final double	tolerance2;		// Squared tolerance
+
+	private boolean			anchored;		// In a stroke?
+	private int				ax;				// Anchor x
+	private int				ay;				// Anchor y
+
+	private final int[]		rx;				// Run x coordinates
+	private final int[]		ry;				// Run y coordinates
+	private int				n;				// Run length
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public StrokeSimplifier()
+	{
+		this(DEFAULT_TOLERANCE);
+	}
+
+	public StrokeSimplifier(double tolerance)
+	{
+		tolerance2 = tolerance * tolerance;
+
+		rx = new int[MAX_RUN];
+		ry = new int[MAX_RUN];
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Add the next point of the stroke. Returns the vertex to keep, if this
+	// point settles one, or null. The first point of a stroke is always kept.
+	public Point	add(Point p)
+	{
+		if (!anchored)
+		{
+			anchored = true;
+			ax = p.x;
+			ay = p.y;
+			n = 0;
+
+			return new Point(p);
+		}
+
+		int	lx = ((n > 0) ? rx[n - 1] : ax);
+		int	ly = ((n > 0) ? ry[n - 1] : ay);
+
+		if ((p.x == lx) && (p.y == ly))			// Didn't move
+			return null;
+
+		if ((n < MAX_RUN) && fits(p.x, p.y))	// Run still within tolerance
+		{
+			rx[n] = p.x;
+			ry[n] = p.y;
+			n++;
+
+			return null;
+		}
+
+		ax = lx;								// Keep the end of the run...
+		ay = ly;
+
+		rx[0] = p.x;							// ...and start a new one
+		ry[0] = p.y;
+		n = 1;
+
+		return new Point(ax, ay);
+	}
+
+	// End the stroke. Returns the last vertex to keep, or null if there
+	// isn't one.
+	public Point	end()
+	{
+		Point	v = ((n > 0) ? new Point(rx[n - 1], ry[n - 1]) : null);
+
+		anchored = false;
+		n = 0;
+
+		return v;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Is every point of the run within tolerance of the segment from the
+	// anchor to (px, py)?
+	private boolean	fits(int px, int py)
+	{
+		double	dx = px - ax;
+		double	dy = py - ay;
+		double	d2 = dx * dx + dy * dy;
+
+		for (int i=0; i<n; i++)
+		{
+			double	qx = rx[i] - ax;
+			double	qy = ry[i] - ay;
+			double	t = ((d2 > 0.0) ? (qx * dx + qy * dy) / d2 : 0.0);
+
+			t = Math.max(0.0, Math.min(1.0, t));	// Closest point on segment
+
+			double	ex = qx - t * dx;
+			double	ey = qy - t * dy;
+
+			if (ex * ex + ey * ey > tolerance2)
+				return false;
+		}
+
+		return true;
+	}
+}
+
+//******************************************************************************
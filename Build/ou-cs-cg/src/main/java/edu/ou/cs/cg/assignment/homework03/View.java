@@ -20,15 +20,18 @@ package edu.ou.cs.cg.assignment.homework03;
 //import java.lang.*;
 import java.awt.*;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 import java.text.DecimalFormat;
 import java.util.*;
 import com.jogamp.opengl.*;
 import com.jogamp.opengl.awt.GLJPanel;
-import com.jogamp.opengl.glu.*;
 import com.jogamp.opengl.util.FPSAnimator;
 import com.jogamp.opengl.util.awt.TextRenderer;
 import com.jogamp.opengl.util.gl2.GLUT;
-import edu.ou.cs.cg.utilities.Utilities;
+import edu.ou.cs.cg.utilities.InputRecorder;
+import edu.ou.cs.cg.utilities.InputReplayer;
+import edu.ou.cs.cg.utilities.PerformanceOverlay;
+import edu.ou.cs.cg.utilities.Transform;
 
 //******************************************************************************
 
@@ -65,6 +68,16 @@ public final class View
 	private int						h;			// Canvas height
 
 	private TextRenderer				renderer;
+	private final PerformanceOverlay	overlay;	// Frame timing display
+	private final Transform			transform;	// Projection and viewport
+	private final double[]				center;		// View center in scene
+	private final double[]				origin;		// Scene origin in view
+	private final String[]				mode;		// Mode text lines
+	private long						modeVersion;	// Model state shown
+	private int						modeW;		// Canvas size shown
+	private int						modeH;
+	private final PolylineRenderer		polyline;	// Sketch vertex buffers
+	private final Rectangle2D.Double	window;		// Visible part of scene
 
 	private final FPSAnimator			animator;
 	private int						counter;	// Frame counter
@@ -84,15 +97,30 @@ public final class View
 
 		// Initialize rendering
 		counter = 0;
+		overlay = new PerformanceOverlay();
+		transform = new Transform();
+		center = new double[3];
+		origin = new double[3];
+		mode = new String[4];
+		modeVersion = -1;
+		window = new Rectangle2D.Double();
 		canvas.addGLEventListener(this);
 
 		// Initialize model (scene data and parameter manager)
 		model = new Model(this);
+		polyline = new PolylineRenderer(Boolean.getBoolean("sketch.quantize") ?
+										PolylineBuffer.QUANTIZED :
+										PolylineBuffer.OFFSET,
+										model.getChunkCache());
 
 		// Initialize controller (interaction handlers)
 		keyHandler = new KeyHandler(this, model);
 		mouseHandler = new MouseHandler(this, model);
 
+		// Record or replay input, if asked to with system properties
+		InputRecorder.attach(canvas);
+		InputReplayer.attach(canvas);
+
 		// Initialize animation
 		animator = new FPSAnimator(canvas, DEFAULT_FRAMES_PER_SECOND);
 		animator.start();
@@ -107,6 +135,11 @@ public final class View
 		return canvas;
 	}
 
+	public Model	getModel()
+	{
+		return model;
+	}
+
 	public int	getWidth()
 	{
 		return w;
@@ -117,6 +150,13 @@ public final class View
 		return h;
 	}
 
+	// The view's projection and viewport, for mapping points between view
+	// and scene coordinates. Use it on the GL thread only.
+	public Transform	getTransform()
+	{
+		return transform;
+	}
+
 	//**********************************************************************
 	// Override Methods (GLEventListener)
 	//**********************************************************************
@@ -130,25 +170,37 @@ public final class View
 									true, true);
 
 		initPipeline(drawable);
+		polyline.init(drawable.getGL().getGL2());
 	}
 
 	public void	dispose(GLAutoDrawable drawable)
 	{
+		polyline.dispose(drawable.getGL().getGL2());
+
 		renderer = null;
 	}
 
 	public void	display(GLAutoDrawable drawable)
 	{
+		overlay.begin();
+
+		model.applyInput(drawable.getGL().getGL2());	// Input since last frame
 		updatePipeline(drawable);
+		overlay.mark(PerformanceOverlay.PIPELINE);
 
 		update(drawable);
+		overlay.mark(PerformanceOverlay.UPDATE);
+
 		render(drawable);
+		overlay.end();
 	}
 
 	public void	reshape(GLAutoDrawable drawable, int x, int y, int w, int h)
 	{
 		this.w = w;
 		this.h = h;
+
+		transform.setViewport(x, y, w, h);
 	}
 
 	//**********************************************************************
@@ -168,7 +220,10 @@ public final class View
 
 		// Draw the scene
 		drawMain(gl);								// Draw main content
+		overlay.mark(PerformanceOverlay.RENDER);
+
 		drawMode(drawable);						// Draw mode text
+		overlay.mark(PerformanceOverlay.MODE);
 
 		gl.glFlush();								// Finish and display
 	}
@@ -190,17 +245,18 @@ public final class View
 	private void	updatePipeline(GLAutoDrawable drawable)
 	{
 		GL2			gl = drawable.getGL().getGL2();
-		GLU			glu = GLU.createGLU();
 		Point2D.Double	origin = model.getOrigin();
+		double			scale = model.getScale();
+
+		double			xmin = origin.x - scale;
+		double			xmax = origin.x + scale;
+		double			ymin = origin.y - scale;
+		double			ymax = origin.y + scale;
 
-		float			xmin = (float)(origin.x - 1.0);
-		float			xmax = (float)(origin.x + 1.0);
-		float			ymin = (float)(origin.y - 1.0);
-		float			ymax = (float)(origin.y + 1.0);
+		window.setFrameFromDiagonal(xmin, ymin, xmax, ymax);
 
-		gl.glMatrixMode(GL2.GL_PROJECTION);		// Prepare for matrix xform
-		gl.glLoadIdentity();						// Set to identity matrix
-		glu.gluOrtho2D(xmin, xmax, ymin, ymax);	// 2D translate and scale
+		transform.setOrtho2D(xmin, xmax, ymin, ymax);	// 2D translate and scale
+		transform.loadProjection(gl);				// Copy to GL projection
 	}
 
 	//**********************************************************************
@@ -209,38 +265,61 @@ public final class View
 
 	private void	drawMode(GLAutoDrawable drawable)
 	{
-		GL2		gl = drawable.getGL().getGL2();
-		double[]	p = Utilities.mapViewToScene(gl, 0.5 * w, 0.5 * h, 0.0);
-		double[]	q = Utilities.mapSceneToView(gl, 0.0, 0.0, 0.0);
-		String		svc = ("View center in scene: [" + FORMAT.format(p[0]) +
-						   " , " + FORMAT.format(p[1]) + "]");
-		String		sso = ("Scene origin in view: [" + FORMAT.format(q[0]) +
-						   " , " + FORMAT.format(q[1]) + "]");
+		GL2			gl = drawable.getGL().getGL2();
+		ModelState	state = model.getState();
+
+		// The text only changes with the model or the canvas size
+		if ((state.getVersion() != modeVersion) || (w != modeW) || (h != modeH))
+			updateMode(state);
 
 		renderer.beginRendering(w, h);
 
 		// Draw all text in yellow
 		renderer.setColor(1.0f, 1.0f, 0.0f, 1.0f);
 
-		Point2D.Double	cursor = model.getCursor();
+		renderer.draw(mode[0], 2, 2);
+		renderer.draw(mode[1], 2, 16);
+		renderer.draw(mode[2], 2, 30);
+		renderer.draw(mode[3], 2, 44);
+
+		renderer.endRendering();
+
+		if (model.getOverlay())
+			overlay.draw(gl, renderer, w, h, model.getPending());
+	}
+
+	private void	updateMode(ModelState state)
+	{
+		double[]	p = center;
+		double[]	q = origin;
+
+		transform.mapViewToScene(0.5 * w, 0.5 * h, 0.0, p);
+		transform.mapSceneToView(0.0, 0.0, 0.0, q);
+
+		Point2D.Double	cursor = state.getCursor();
 
 		if (cursor != null)
 		{
 			String		sx = FORMAT.format(new Double(cursor.x));
 			String		sy = FORMAT.format(new Double(cursor.y));
-			String		s = "Pointer at (" + sx + "," + sy + ")";
 
-			renderer.draw(s, 2, 2);
+			mode[0] = "Pointer at (" + sx + "," + sy + ")";
 		}
 		else
 		{
-			renderer.draw("No Pointer", 2, 2);
+			mode[0] = "No Pointer";
 		}
 
-		renderer.draw(svc, 2, 16);
-		renderer.draw(sso, 2, 30);
+		mode[1] = ("View center in scene: [" + FORMAT.format(p[0]) +
+				   " , " + FORMAT.format(p[1]) + "]");
+		mode[2] = ("Scene origin in view: [" + FORMAT.format(q[0]) +
+				   " , " + FORMAT.format(q[1]) + "]");
+		mode[3] = ("History: " + state.getHistoryPosition() + " / " +
+				   state.getHistoryLength());
 
-		renderer.endRendering();
+		modeVersion = state.getVersion();
+		modeW = w;
+		modeH = h;
 	}
 
 	private void	drawMain(GL2 gl)
@@ -249,6 +328,9 @@ public final class View
 		drawAxes(gl);								// X and Y axes
 		drawCursor(gl);							// Crosshairs at mouse point
 		drawPolyline(gl);							// Draw the user's sketch
+		drawTip(gl);								// Rest of current stroke
+		drawSelection(gl);							// Selected points
+		drawMarquee(gl);							// Selection rectangle
 	}
 
 	private void	drawBounds(GL2 gl)
@@ -262,20 +344,24 @@ public final class View
 		gl.glVertex2d(1.0, -1.0);
 
 		gl.glEnd();
+
+		overlay.addVertices(4);
 	}
 
 	private void	drawAxes(GL2 gl)
 	{
 		gl.glBegin(GL.GL_LINES);
 
-		gl.glColor3f(0.25f, 0.25f, 0.25f);
-		gl.glVertex2d(-10.0, 0.0);
-		gl.glVertex2d(10.0, 0.0);
+		gl.glColor3f(0.25f, 0.25f, 0.25f);		// Across the whole window
+		gl.glVertex2d(window.getMinX(), 0.0);
+		gl.glVertex2d(window.getMaxX(), 0.0);
 
-		gl.glVertex2d(0.0, -10.0);
-		gl.glVertex2d(0.0, 10.0);
+		gl.glVertex2d(0.0, window.getMinY());
+		gl.glVertex2d(0.0, window.getMaxY());
 
 		gl.glEnd();
+
+		overlay.addVertices(4);
 	}
 
 	private void	drawCursor(GL2 gl)
@@ -297,58 +383,88 @@ public final class View
 		}
 
 		gl.glEnd();
+
+		overlay.addVertices(32);
 	}
 
+	// Zoomed out, draw the sketch in only as much detail as the pixels show.
 	private void	drawPolyline(GL2 gl)
 	{
-		java.util.List<Point2D.Double>	points = model.getPolyline();
+		double	pixel = window.getHeight() / Math.max(h, 1);
 
-		gl.glColor3f(1.0f, 0.0f, 0.0f);
+		overlay.addVertices(polyline.draw(gl, model.getPolyline(),
+										  model.getColorful(),
+										  window.getMinX(), window.getMinY(),
+										  window.getMaxX(), window.getMaxY(),
+										  pixel));
+	}
 
-		for (Point2D.Double p : points)
-		{
-			gl.glBegin(GL2.GL_POLYGON);
+	// The simplifier holds back the latest points of a stroke until it knows
+	// whether to keep them, so join the last kept point to the newest point.
+	private void	drawTip(GL2 gl)
+	{
+		Point2D.Double	tip = model.getTip();
+		PointStore		points = model.getPolyline();
 
-			gl.glVertex2d(p.x - 0.05, p.y - 0.05);
-			gl.glVertex2d(p.x - 0.05, p.y + 0.05);
-			gl.glVertex2d(p.x + 0.05, p.y + 0.05);
-			gl.glVertex2d(p.x + 0.05, p.y - 0.05);
+		if ((tip == null) || points.isEmpty())
+			return;
 
-			gl.glEnd();
-		}
+		int	last = points.size() - 1;
 
-		if (model.getColorful())		// Show the psychedelic version...
-		{
-			float	a = 0.0f;
-			float	delta = 360.0f / (float)points.size();
+		gl.glBegin(GL.GL_LINES);
+		gl.glColor3f(1.0f, 1.0f, 0.0f);
+		gl.glVertex2d(points.getX(last), points.getY(last));
+		gl.glVertex2d(tip.x, tip.y);
+		gl.glEnd();
 
-			gl.glColor3f(1.0f, 1.0f, 0.0f);
-			gl.glBegin(GL.GL_TRIANGLE_FAN);
-			gl.glVertex2d(0.0, 0.0);
+		overlay.addVertices(2);
+	}
 
-			for (Point2D.Double p : points)
-			{
-				Color	c = new Color(Color.HSBtoRGB(a, 1.0f, 1.0f));
-				float[]	rgb = c.getRGBColorComponents(null);
+	private void	drawSelection(GL2 gl)
+	{
+		BitSet		selection = model.getSelection();
+		PointStore	points = model.getPolyline();
 
-				gl.glColor3f(rgb[0], rgb[1], rgb[2]);
-				gl.glVertex2d(p.x, p.y);
+		if (selection.isEmpty())
+			return;
 
-				a += delta;
-			}
+		gl.glBegin(GL2.GL_QUADS);
+		gl.glColor3f(0.0f, 1.0f, 1.0f);
 
-			gl.glEnd();
-		}
-		else							// ...or the simple version.
+		for (int i=selection.nextSetBit(0); i>=0; i=selection.nextSetBit(i + 1))
 		{
-			gl.glColor3f(1.0f, 1.0f, 0.0f);
-			gl.glBegin(GL.GL_LINE_STRIP);
-
-			for (Point2D.Double p : points)
-				gl.glVertex2d(p.x, p.y);
+			double	x = points.getX(i);
+			double	y = points.getY(i);
 
-			gl.glEnd();
+			gl.glVertex2d(x - 0.03, y - 0.03);
+			gl.glVertex2d(x - 0.03, y + 0.03);
+			gl.glVertex2d(x + 0.03, y + 0.03);
+			gl.glVertex2d(x + 0.03, y - 0.03);
 		}
+
+		gl.glEnd();
+
+		overlay.addVertices(4 * selection.cardinality());
+	}
+
+	private void	drawMarquee(GL2 gl)
+	{
+		Rectangle2D.Double	r = model.getMarquee();
+
+		if (r == null)
+			return;
+
+		gl.glBegin(GL.GL_LINE_LOOP);
+		gl.glColor3f(0.0f, 1.0f, 1.0f);
+
+		gl.glVertex2d(r.getMinX(), r.getMinY());
+		gl.glVertex2d(r.getMinX(), r.getMaxY());
+		gl.glVertex2d(r.getMaxX(), r.getMaxY());
+		gl.glVertex2d(r.getMaxX(), r.getMinY());
+
+		gl.glEnd();
+
+		overlay.addVertices(4);
 	}
 }
 
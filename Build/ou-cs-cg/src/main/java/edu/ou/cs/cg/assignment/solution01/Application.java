@@ -35,6 +35,10 @@ import com.jogamp.opengl.glu.GLU;
 import com.jogamp.opengl.util.*;
 import com.jogamp.opengl.util.awt.TextRenderer;
 import com.jogamp.opengl.util.gl2.GLUT;
+import edu.ou.cs.cg.utilities.AccumulationBuffer;
+import edu.ou.cs.cg.utilities.FrameBudget;
+import edu.ou.cs.cg.utilities.ShaderProgram;
+import edu.ou.cs.cg.utilities.VertexBuffer;
 
 //******************************************************************************
 
@@ -54,6 +58,10 @@ public final class Application
 	private static final String		DEFAULT_NAME = "Solution01";
 	private static final Dimension		DEFAULT_SIZE = new Dimension(1280, 720);
 
+	private static final int			BATCH = 65536;	// Progressive points
+	private static final int			PERIOD = 600;	// Progressive frames
+	private static final long			CAP = 50000000L;	// Points per mode
+
 	//**********************************************************************
 	// Public Class Members
 	//**********************************************************************
@@ -70,11 +78,22 @@ public final class Application
 	private int				h;				// Canvas height
 	private int				k = 0;			// Animation counter
 	private TextRenderer		renderer;
+	private ShaderProgram	program;		// Per-vertex color shader
+	private VertexBuffer		points;			// Map points (VBO)
 
-	private int				m = 1;			// Number of points to draw
+	int						m = 1;			// Number of points to draw
 	private int				mode = 0;		// Mode in [0,3]
-	private boolean			p1 = false;		// Draw lines?
-	private boolean			p2 = false;		// Use alternative coordinates?
+	boolean					p1 = false;		// Draw lines?
+	boolean					p2 = false;		// Use alternative coordinates?
+
+	private double			lx;				// Last iterated x coordinate
+	private double			ly;				// Last iterated y coordinate
+	private double			vx;				// Last vertex x coordinate
+	private double			vy;				// Last vertex y coordinate
+
+	private FrameBudget		budget;			// Null unless progressive
+	private AccumulationBuffer	accumulation;	// Points from earlier frames
+	private long			total;			// Points accumulated
 
 	//**********************************************************************
 	// Main
@@ -91,6 +110,14 @@ public final class Application
 
 	public Application(String[] args)
 	{
+		for (String arg : args)
+		{
+			if (arg.equals("-progressive"))	// Add points for a fixed time
+			{
+				budget = new FrameBudget();
+				accumulation = new AccumulationBuffer();
+			}
+		}
 	}
 
 	//**********************************************************************
@@ -159,7 +186,20 @@ public final class Application
 	// Notification to release resources for the GLContext.
 	public void	dispose(GLAutoDrawable drawable)
 	{
+		GL2	gl = drawable.getGL().getGL2();
+
+		if (points != null)
+			points.dispose(gl);
+
+		if (program != null)
+			program.dispose(gl);
+
+		if (accumulation != null)
+			accumulation.dispose(gl);
+
 		renderer = null;
+		program = null;
+		points = null;
 	}
 
 	// Called to initiate rendering of each frame into the GLCanvas.
@@ -185,12 +225,21 @@ public final class Application
 	{
 		k++;									// Advance animation counter
 
+		if (budget != null)						// Progressive mode?
+		{
+			if (k % PERIOD == 0)				// Check frame cap
+			{
+				advanceMode();
+				accumulation.clear();			// Start over next draw
+			}
+
+			return;
+		}
+
 		if (m > 100000)						// Check point cap
 		{
 			m = 1;								// Reset point count
-			mode = ((mode == 3) ? 0 : (mode + 1));	// Advance mode (cyclically)
-			p1 = ((mode == 1) || (mode == 2));		// Set point/line mode
-			p2 = ((mode == 2) || (mode == 3));	// Set coordinates mode
+			advanceMode();
 		}
 		else
 		{
@@ -200,6 +249,13 @@ public final class Application
 		m = (int)Math.floor(m * 1.02) + 1;		// Increase point count
 	}
 
+	private void	advanceMode()
+	{
+		mode = ((mode == 3) ? 0 : (mode + 1));	// Advance mode (cyclically)
+		p1 = ((mode == 1) || (mode == 2));		// Set point/line mode
+		p2 = ((mode == 2) || (mode == 3));	// Set coordinates mode
+	}
+
 	// Render the scene model and display the current animation frame.
 	private void	render(GLAutoDrawable drawable)
 	{
@@ -210,7 +266,10 @@ public final class Application
 		//setProjection(gl);					// Use a coordinate system
 
 		// Draw the scene
-		drawTinkerbellMap(gl);					// Draw the Tinkerbell map
+		if (budget != null)
+			refineTinkerbellMap(gl);			// Add to the Tinkerbell map
+		else
+			drawTinkerbellMap(gl);				// Draw the Tinkerbell map
 		drawText(drawable);					// Draw some text
 
 		gl.glFlush();							// Finish and display
@@ -227,6 +286,16 @@ public final class Application
 
 		// Make points easier to see on Hi-DPI displays
 		gl.glEnable(GL2.GL_POINT_SMOOTH);	// Turn on point anti-aliasing
+
+		initPoints(gl);
+	}
+
+	// Create the GL objects for drawing points, sized for a batch in
+	// progressive mode. Called by init(), and by ApplicationBenchmark.
+	void	initPoints(GL2 gl)
+	{
+		program = ShaderProgram.createColorProgram(gl);
+		points = new VertexBuffer((budget != null) ? (BATCH + 1) : 100000);
 	}
 
 	// Position and orient the default camera to view in 2-D, centered above.
@@ -245,23 +314,71 @@ public final class Application
 
 	// This page is helpful:
 	// en.wikipedia.org/wiki/Tinkerbell_map
-	private void	drawTinkerbellMap(GL2 gl)
+	void	drawTinkerbellMap(GL2 gl)
 	{
+		points.clear();							// Start specifying vertices
+		lx = -0.72;								// Initial x coordinate
+		ly = -0.64;								// Initial y coordinate
+
+		iterate(points, m);
+
 		if (p1)									// Line or point mode?
-			gl.glBegin(GL.GL_LINE_STRIP);		// Specify line segment sequence
+			points.draw(gl, program, GL.GL_LINE_STRIP);	// Line segment sequence
 		else
-			gl.glBegin(GL.GL_POINTS);			// Specify point set
+			points.draw(gl, program, GL.GL_POINTS);		// Point set
+	}
+
+	// Iterate as many more points as fit in the frame budget, drawing them a
+	// batch at a time into the accumulation buffer, which keeps the points
+	// from all earlier frames. The map restarts whenever the buffer is empty,
+	// i.e. when the mode changes or the canvas is resized.
+	private void	refineTinkerbellMap(GL2 gl)
+	{
+		if (accumulation.begin(gl, w, h))		// Start over if buffer empty
+		{
+			lx = -0.72;
+			ly = -0.64;
+			total = 0;
+		}
+
+		budget.begin();
+
+		while ((total < CAP) && budget.hasTime())	// Stop once converged
+		{
+			points.clear();
+
+			if (p1 && (total > 0))				// Join to the previous batch
+			{
+				points.setColor(1.0f, 1.0f, 1.0f);
+				points.add(vx, vy);
+			}
 
-		gl.glColor3f(1.0f, 1.0f, 1.0f);		// Draw in white
+			iterate(points, BATCH);
 
+			if (p1)
+				points.draw(gl, program, GL.GL_LINE_STRIP);
+			else
+				points.draw(gl, program, GL.GL_POINTS);
+
+			total += BATCH;
+		}
+
+		accumulation.end(gl);
+		accumulation.draw(gl);					// Copy all points to canvas
+	}
+
+	// Iterate the map n more times from the last iterated point, adding each
+	// new point to vb.
+	private void	iterate(VertexBuffer vb, int n)
+	{
 		double		a = 0.9;					// Constant for updating x
 		double		b = -0.6013;				// Constant for updating x
 		double		c = 2.0;					// Constant for updating y
 		double		d = 0.50;					// Constant for updating y
-		double		lx = -0.72;				// Initial x coordinate
-		double		ly = -0.64;				// Initial y coordinate
 
-		for (int i=0; i<m; i++)
+		vb.setColor(1.0f, 1.0f, 1.0f);			// Draw in white
+
+		for (int i=0; i<n; i++)
 		{
 			double	yprev = ly;			// Remember y_previous before updating
 			double	llx = lx * lx - ly * ly + a * lx + b * ly;
@@ -275,12 +392,18 @@ public final class Application
 			// and translating and scaling the y coordinate. (Changing the x
 			// and y ranges in setProjection() above might be a better way.)
 			if (p2)								// Draw (y_previous, y_current)
-				gl.glVertex2d((yprev + 0.5) / 1.1, (ly + 0.5) / 1.1);
+			{
+				vx = (yprev + 0.5) / 1.1;
+				vy = (ly + 0.5) / 1.1;
+			}
 			else								// Draw (x_current, y_current)
-				gl.glVertex2d(lx + 0.4, (ly + 0.5) / 1.1);
-}
+			{
+				vx = lx + 0.4;
+				vy = (ly + 0.5) / 1.1;
+			}
 
-		gl.glEnd();
+			vb.add(vx, vy);
+		}
 	}
 
 	// Warning! Text is drawn in unprojected canvas/viewport coordinates.
@@ -290,7 +413,9 @@ public final class Application
 	{
 		renderer.beginRendering(w, h);
 		renderer.setColor(0.75f, 0.75f, 0.75f, 1.0f);
-		renderer.draw("Tinkerbell map (Points: " + m + ")", 2, h - 14);
+		long	n = ((budget != null) ? total : m);
+
+		renderer.draw("Tinkerbell map (Points: " + n + ")", 2, h - 14);
 		renderer.endRendering();
 	}
 }
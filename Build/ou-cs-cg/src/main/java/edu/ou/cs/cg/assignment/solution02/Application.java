@@ -36,6 +36,8 @@ import com.jogamp.opengl.glu.*;
 import com.jogamp.opengl.util.*;
 import com.jogamp.opengl.util.awt.TextRenderer;
 import com.jogamp.opengl.util.gl2.GLUT;
+import edu.ou.cs.cg.utilities.ShaderProgram;
+import edu.ou.cs.cg.utilities.VertexBuffer;
 
 //******************************************************************************
 
@@ -69,8 +71,12 @@ public final class Application
 	// State (internal) variables
 	private int				w;				// Canvas width
 	private int				h;				// Canvas height
-	private int				k = 0;			// Animation counter
+	int						k = 0;			// Animation counter
 	private TextRenderer		renderer;
+	private ShaderProgram	program;		// Per-vertex color shader
+	private VertexBuffer		galaxy;			// Galaxy points (VBO)
+	private VertexBuffer		plume;			// Smoke quads (VBO)
+	private int				scenery;		// Display list of static layers
 
 	//**********************************************************************
 	// Main
@@ -150,12 +156,32 @@ public final class Application
 									true, true);
 
 		initPipeline(drawable);
+		initBuffers(drawable.getGL().getGL2());
+		initScenery(drawable);
 	}
 
 	// Notification to release resources for the GLContext.
 	public void	dispose(GLAutoDrawable drawable)
 	{
+		GL2	gl = drawable.getGL().getGL2();
+
+		if (scenery != 0)
+			gl.glDeleteLists(scenery, 1);
+
+		if (galaxy != null)
+			galaxy.dispose(gl);
+
+		if (plume != null)
+			plume.dispose(gl);
+
+		if (program != null)
+			program.dispose(gl);
+
 		renderer = null;
+		program = null;
+		galaxy = null;
+		plume = null;
+		scenery = 0;
 	}
 
 	// Called to initiate rendering of each frame into the GLCanvas.
@@ -194,15 +220,8 @@ public final class Application
 		drawLorenzGalaxy(gl);
 
 		setScreenProjection(gl);				// Position the rest absolutely
-		drawSky(gl);
-		drawGround(gl);
-		drawSidewalkBase(gl);
-		drawStars(gl);
-		drawMoon(gl);
-		drawSidewalk(gl);
-		drawHopscotch(gl);
-		drawHouses(gl);
-		drawFence(gl);
+		gl.glCallList(scenery);				// Replay the static layers
+		drawSmoke(gl, 225, 382);				// Above the left house chimney
 		drawKite(gl);
 	}
 
@@ -226,6 +245,37 @@ public final class Application
 		gl.glBlendFunc(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA);
 	}
 
+	// Create the GL objects for the galaxy and smoke, which change every
+	// frame. Called by init(), and by ApplicationBenchmark.
+	void	initBuffers(GL2 gl)
+	{
+		program = ShaderProgram.createColorProgram(gl);
+		galaxy = new VertexBuffer(10000);
+		plume = new VertexBuffer(6 * 161);
+	}
+
+	// Compile everything that doesn't animate into a display list, once. The
+	// screen projection is fixed at 1280x720 regardless of canvas size, so the
+	// list doesn't need to be rebuilt on reshape.
+	private void	initScenery(GLAutoDrawable drawable)
+	{
+		GL2	gl = drawable.getGL().getGL2();
+
+		scenery = gl.glGenLists(1);
+
+		gl.glNewList(scenery, GL2.GL_COMPILE);
+		drawSky(gl);
+		drawGround(gl);
+		drawSidewalkBase(gl);
+		drawStars(gl);
+		drawMoon(gl);
+		drawSidewalk(gl);
+		drawHopscotch(gl);
+		drawHouses(gl);
+		drawFence(gl);
+		gl.glEndList();
+	}
+
 	// Position and orient the default camera to view in 2-D, scaled specially.
 	private void	setGalaxyProjection(GL2 gl)
 	{
@@ -253,10 +303,9 @@ public final class Application
 	// These pages are helpful:
 	// en.wikipedia.org/wiki/Lorenz_system
 	// www.algosome.com/articles/lorenz-attractor-programming-code.html
-	private void	drawLorenzGalaxy(GL2 gl)
+	void	drawLorenzGalaxy(GL2 gl)
 	{
-		gl.glPointSize(5.0f);					// Set point size (in pixels)
-		gl.glBegin(GL.GL_POINTS);				// Start specifying points
+		galaxy.clear();							// Start specifying points
 
 		double		dt = 0.01;					// Integration step size
 		double		sigma = 10.0;				// Constant for updating x
@@ -283,16 +332,17 @@ public final class Application
 
 			// Lower background star opacity to experiment with animation.
 			if (Math.abs(n) <= 20)							// Animation window
-				setColor(gl, 255, 255-cw, cw, 255-cw);		// Dots cycling
+				setColor(galaxy, 255, 255-cw, cw, 255-cw);	// Dots cycling
 			else
-				gl.glColor4f(cc, cc, cc, 0.05f);			// Background stars
+				galaxy.setColor(cc, cc, cc, 0.05f);		// Background stars
 
 			double	dy = 0.00005 * k * (1.5 - 0.05 * lx);	// Galaxy rise
 
-			gl.glVertex2d(-lx / 30.0, ly / 30.0 + dy);
+			galaxy.add(-lx / 30.0, ly / 30.0 + dy);
 		}
 
-		gl.glEnd();
+		gl.glPointSize(5.0f);					// Set point size (in pixels)
+		galaxy.draw(gl, program, GL.GL_POINTS);	// Upload and draw in one call
 		gl.glPointSize(1.0f);					// Reset point size (in pixels)
 	}
 
@@ -656,7 +706,7 @@ public final class Application
 		int		tx = 108;
 		int		ty = 132;
 
-		drawChimney(gl, tx + 114, ty + 162, true);
+		drawChimney(gl, tx + 114, ty + 162);
 		drawOutline(gl, tx, ty, 0, 1);
 		drawRoof(gl, tx + 88, ty + 250);
 		drawWindow(gl, tx + 127, ty + 127, true);
@@ -665,7 +715,7 @@ public final class Application
 		tx = 634;
 		ty = 158;
 
-		drawChimney(gl, tx + 30, ty + 162, false);
+		drawChimney(gl, tx + 30, ty + 162);
 		drawOutline(gl, tx, ty, 1, 2);
 		drawWindow(gl, tx + 98, ty + 64, false);
 		drawWindow(gl, tx + 144, ty + 64, false);
@@ -675,7 +725,7 @@ public final class Application
 		tx = 1048;
 		ty = 132;
 
-		drawChimney(gl, tx + 30, ty + 162, false);
+		drawChimney(gl, tx + 30, ty + 162);
 		drawOutline(gl, tx, ty, 2, 2);
 		drawWindow(gl, tx + 98, ty + 64, false);
 		drawWindow(gl, tx + 144, ty + 64, false);
@@ -683,22 +733,20 @@ public final class Application
 		drawDoorWindow(gl, tx + 27, ty + 71);
 	}
 
-	private void	drawChimney(GL2 gl, int sx, int sy, boolean smoke)
+	// The smoke animates, so render() draws it separately at (sx+3, sy+88).
+	private void	drawChimney(GL2 gl, int sx, int sy)
 	{
 		setColor(gl, 128, 0, 0);				// Firebrick red
 		fillRect(gl, sx, sy, 30, 88);
 
 		setColor(gl, 0, 0, 0);					// Black
 		drawRect(gl, sx, sy, 30, 88);
-
-		if (smoke)
-			drawSmoke(gl, sx + 3, sy + 88);
 	}
 
 	private LinkedList<Point>	smoke = new LinkedList<Point>();
 
 	// The picture's quads are boring...let's have some fun with animation!
-	private void	drawSmoke(GL2 gl, int sx, int sy)
+	void	drawSmoke(GL2 gl, int sx, int sy)
 	{
 		// Random walk up to two pixels on each end of the previous smoke line
 		// Each point in the list defines (xmin, xmax) for a smoke line
@@ -713,6 +761,8 @@ public final class Application
 		if (smoke.size() > 160)	// If it's long enough,
 			smoke.removeLast();	// remove the highest (=transparent) line
 
+		plume.clear();				// Two triangles per line
+
 		int		alpha = 0;		// For most opaque line closest to chimney
 
 		for (Point a : smoke)		// Draw all the lines lowest to highest,
@@ -723,15 +773,17 @@ public final class Application
 			if (RANDOM.nextInt(1024) < alpha)	// and rightward
 				a.y++;
 
-			setColor(gl, 255, 255, 255, 160 - alpha++);	// fading on the way
+			setColor(plume, 255, 255, 255, 160 - alpha++);	// fading on the way
 
-			gl.glBegin(GL2.GL_QUADS);
-			gl.glVertex2i(sx + a.x, sy + alpha + 1);	// as height goes up
-			gl.glVertex2i(sx + a.y, sy + alpha + 1);
-			gl.glVertex2i(sx + a.y, sy + alpha + 2);
-			gl.glVertex2i(sx + a.x, sy + alpha + 2);
-			gl.glEnd();
+			plume.add(sx + a.x, sy + alpha + 1);		// as height goes up
+			plume.add(sx + a.y, sy + alpha + 1);
+			plume.add(sx + a.y, sy + alpha + 2);
+			plume.add(sx + a.x, sy + alpha + 1);
+			plume.add(sx + a.y, sy + alpha + 2);
+			plume.add(sx + a.x, sy + alpha + 2);
 		}
+
+		plume.draw(gl, program, GL.GL_TRIANGLES);
 	}
 
 	private void	drawOutline(GL2 gl, int sx, int sy, int shade, int thickness)
@@ -933,6 +985,11 @@ public final class Application
 		setColor(gl, r, g, b, 255);
 	}
 
+	private void	setColor(VertexBuffer vb, int r, int g, int b, int a)
+	{
+		vb.setColor(r / 255.0f, g / 255.0f, b / 255.0f, a / 255.0f);
+	}
+
 	private void	fillRect(GL2 gl, int x, int y, int w, int h)
 	{
 		gl.glBegin(GL2.GL_POLYGON);
@@ -35,6 +35,11 @@ import com.jogamp.opengl.glu.GLU;
 import com.jogamp.opengl.util.FPSAnimator;
 import com.jogamp.opengl.util.awt.TextRenderer;
 import com.jogamp.opengl.util.gl2.GLUT;
+import edu.ou.cs.cg.utilities.ChaosGame;
+import edu.ou.cs.cg.utilities.DensityHistogram;
+import edu.ou.cs.cg.utilities.FrameBudget;
+import edu.ou.cs.cg.utilities.ShaderProgram;
+import edu.ou.cs.cg.utilities.VertexBuffer;
 
 //******************************************************************************
 
@@ -54,6 +59,14 @@ public final class Gasket
 	public static final GLUT	MYGLUT = new GLUT();
 	public static final Random	RANDOM = new Random();
 
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	DENSITY_SIZE = 1024;		// Bins per side
+	private static final long	DENSITY_SAMPLES = 4000000L;	// Per frame
+	private static final long	DENSITY_CAP = 500000000L;	// In total
+
 	//**********************************************************************
 	// Private Members
 	//**********************************************************************
@@ -63,13 +76,18 @@ public final class Gasket
 	private int				h;				// Canvas height
 	private int				k = 0;			// Animation counter
 	private TextRenderer		renderer;
+	private ShaderProgram	program;		// Per-vertex color shader
+	private VertexBuffer		points;			// Gasket points (VBO)
+	private final ChaosGame	chaos;			// Parallel point generator
+	private DensityHistogram	density;	// Null unless in density mode
+	private FrameBudget		budget;			// Null unless progressive
 
-	private int				m = 1;			// Number of points to draw
+	int						m = 1;			// Number of points to draw
 	private double				theta = 0.0;	// Current angle
 	private double				s = 0.0;		// Sine of angle
 	private double				c = 0.0;		// Cosine of angle
 	private int				cmode = 0;		// Color mode [0-2]
-	private int				vmode = 0;		// Vertex mode [0-2]
+	int						vmode = 0;		// Vertex mode [0-2]
 
 	//**********************************************************************
 	// Main
@@ -86,6 +104,25 @@ public final class Gasket
 
 	public Gasket(String[] args)
 	{
+		chaos = new ChaosGame(RANDOM.nextLong());
+
+		boolean	binned = false;
+		boolean	progressive = false;
+
+		for (String arg : args)
+		{
+			if (arg.equals("-density"))		// Bin samples instead of points
+				binned = true;
+
+			if (arg.equals("-progressive"))	// Bin samples for a fixed time
+				progressive = true;
+		}
+
+		if (binned || progressive)
+			density = new DensityHistogram(DENSITY_SIZE, RANDOM.nextLong());
+
+		if (progressive)
+			budget = new FrameBudget();
 	}
 
 	//**********************************************************************
@@ -152,12 +189,27 @@ public final class Gasket
 
 		// Make points easier to see on Hi-DPI displays
 		gl.glEnable(GL2.GL_POINT_SMOOTH);	// Turn on point anti-aliasing
+
+		initPoints(gl);
 	}
 
 	// Notification to release resources for the GLContext.
 	public void	dispose(GLAutoDrawable drawable)
 	{
+		GL2	gl = drawable.getGL().getGL2();
+
+		if (points != null)
+			points.dispose(gl);
+
+		if (program != null)
+			program.dispose(gl);
+
+		if (density != null)
+			density.dispose(gl);
+
 		renderer = null;
+		program = null;
+		points = null;
 	}
 
 	// Called to initiate rendering of each frame into the GLCanvas.
@@ -192,6 +244,21 @@ public final class Gasket
 		s = Math.sin(theta);					// Calculate once per frame
 		c = Math.cos(theta);					// Calculate once per frame
 
+		if ((density != null) && (density.getSamples() < DENSITY_CAP))
+		{
+			long	n = DENSITY_CAP - density.getSamples();	// Up to the cap
+
+			if (budget != null)					// Add samples for a fixed time
+			{
+				budget.begin();
+				density.accumulate(n, budget);
+			}
+			else								// Add a fixed number
+			{
+				density.accumulate(Math.min(n, DENSITY_SAMPLES));
+			}
+		}
+
 		if ((k % 300) == 0)
 		{
 			cmode = RANDOM.nextInt(3);			// Change color mode
@@ -263,33 +330,39 @@ public final class Gasket
 		gl.glEnd();
 	}
 
+	// Create the GL objects for drawing points, unless they're drawn as a
+	// density image. Called by init(), and by GasketBenchmark.
+	void	initPoints(GL2 gl)
+	{
+		if (density == null)				// Draw points from a VBO
+		{
+			program = ShaderProgram.createColorProgram(gl);
+			points = new VertexBuffer(100000);
+		}
+	}
+
 	// Draw a Sierpinski gasket inside the base triangle. This page is helpful:
 	// en.wikipedia.org/wiki/Sierpinski_triangle
-	private void	drawSierpinskiTriangle(GL2 gl)
+	void	drawSierpinskiTriangle(GL2 gl)
 	{
-		gl.glBegin(GL.GL_POINTS);				// Start specifying points
-		gl.glColor3f(1.0f, 1.0f, 1.0f);		// Draw in white
-
 		Point2D.Double[]	t = new Point2D.Double[3];
-		Point2D.Double		p = new Point2D.Double(c, c);
 
 		calcVertices(t, vmode);
 
-		p.x = t[0].x;							// Initial x coordinate
-		p.y = t[0].y;							// Initial y coordinate
-
-		for (int i=0; i<m; i++)				// Draw m points
+		if (density != null)					// Draw as a density image
 		{
-			int	index = RANDOM.nextInt(3);
-
-			p.x = (p.x + t[index].x) / 2;		// Fold x,y inside base triangle
-			p.y = (p.y + t[index].y) / 2;		// relative to a random vertex.
-			//System.out.println(" " + index + " " + p.x + " " + p.y);
-
-			gl.glVertex2d(p.x, p.y);
+			density.draw(gl, t, 1.0f, 1.0f, 1.0f);
+			return;
 		}
 
-		gl.glEnd();
+		// The weights don't change with the triangle, so only grow them to m
+		chaos.extendWeights(points, m, 1.0f, 1.0f, 1.0f);	// In white
+
+		gl.glMatrixMode(GL2.GL_MODELVIEW);
+		gl.glPushMatrix();
+		ChaosGame.multTriangle(gl, t);			// Map weights into triangle
+		points.draw(gl, program, GL.GL_POINTS, 0, m);	// Draw the first m
+		gl.glPopMatrix();
 	}
 
 	// Warning! Text is drawn in unprojected canvas/viewport coordinates.
@@ -299,8 +372,11 @@ public final class Gasket
 	{
 		renderer.beginRendering(w, h);
 		renderer.setColor(0.75f, 0.75f, 0.75f, 1.0f);
+		String	count = ((density != null) ?
+						 " Samples: " + density.getSamples() : " Points: " + m);
+
 		renderer.draw("Sierpinski Gasket (CMode: " + cmode +
-					  " VMode: " + vmode + " Points: " + m + ")", 2, h - 14);
+					  " VMode: " + vmode + count + ")", 2, h - 14);
 		renderer.endRendering();
 	}
 
@@ -35,6 +35,10 @@ import com.jogamp.opengl.glu.GLU;
 import com.jogamp.opengl.util.FPSAnimator;
 import com.jogamp.opengl.util.awt.TextRenderer;
 import com.jogamp.opengl.util.gl2.GLUT;
+import edu.ou.cs.cg.utilities.AccumulationBuffer;
+import edu.ou.cs.cg.utilities.FrameBudget;
+import edu.ou.cs.cg.utilities.ShaderProgram;
+import edu.ou.cs.cg.utilities.VertexBuffer;
 
 //******************************************************************************
 
@@ -54,6 +58,13 @@ public final class Lorenz
 	public static final GLUT	MYGLUT = new GLUT();
 	public static final Random	RANDOM = new Random();
 
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int	BATCH = 65536;	// Progressive points per draw
+	private static final long	CAP = 100000000L;	// Progressive points in all
+
 	//**********************************************************************
 	// Private Members
 	//**********************************************************************
@@ -63,8 +74,17 @@ public final class Lorenz
 	private int				h;				// Canvas height
 	private int				k = 0;			// Animation counter
 	private TextRenderer		renderer;
+	private ShaderProgram	program;		// Per-vertex color shader
+	private VertexBuffer		points;			// Attractor points (VBO)
+	private double			lx = 0.1;		// Last integrated x coordinate
+	private double			ly = 0.0;		// Last integrated y coordinate
+	private double			lz = 0.0;		// Last integrated z coordinate
+
+	private FrameBudget		budget;			// Null unless progressive
+	private AccumulationBuffer	accumulation;	// Points from earlier frames
+	private long			total;			// Points accumulated
 
-	private int				m = 1;			// Number of points to draw
+	int						m = 1;			// Number of points to draw
 
 	//**********************************************************************
 	// Main
@@ -81,6 +101,14 @@ public final class Lorenz
 
 	public Lorenz(String[] args)
 	{
+		for (String arg : args)
+		{
+			if (arg.equals("-progressive"))	// Add points for a fixed time
+			{
+				budget = new FrameBudget();
+				accumulation = new AccumulationBuffer();
+			}
+		}
 	}
 
 	//**********************************************************************
@@ -147,12 +175,27 @@ public final class Lorenz
 
 		// Make points easier to see on Hi-DPI displays
 		gl.glEnable(GL2.GL_POINT_SMOOTH);	// Turn on point anti-aliasing
+
+		initPoints(gl);
 	}
 
 	// Notification to release resources for the GLContext.
 	public void	dispose(GLAutoDrawable drawable)
 	{
+		GL2	gl = drawable.getGL().getGL2();
+
+		if (points != null)
+			points.dispose(gl);
+
+		if (program != null)
+			program.dispose(gl);
+
+		if (accumulation != null)
+			accumulation.dispose(gl);
+
 		renderer = null;
+		program = null;
+		points = null;
 	}
 
 	// Called to initiate rendering of each frame into the GLCanvas.
@@ -196,7 +239,10 @@ public final class Lorenz
 		//setProjection(gl);					// Use the default projection
 
 		// Draw the scene
-		drawLorenzAttractor(gl);				// Draw the Lorenz Attractor
+		if (budget != null)
+			refineLorenzAttractor(gl);			// Add to the Lorenz Attractor
+		else
+			drawLorenzAttractor(gl);			// Draw the Lorenz Attractor
 		drawText(drawable);					// Draw some text
 
 		gl.glFlush();							// Finish and display
@@ -220,22 +266,75 @@ public final class Lorenz
 	// Private Methods (Scene)
 	//**********************************************************************
 
+	// Create the GL objects for drawing points, sized for a batch in
+	// progressive mode. Called by init(), and by LorenzBenchmark. The new
+	// buffer is empty, so the trajectory starts over too.
+	void	initPoints(GL2 gl)
+	{
+		program = ShaderProgram.createColorProgram(gl);
+		points = new VertexBuffer((budget != null) ? BATCH : 100000);
+
+		restart();
+	}
+
+	// Start the trajectory over from (0.1, 0.0, 0.0).
+	private void	restart()
+	{
+		lx = 0.1;
+		ly = 0.0;
+		lz = 0.0;
+		total = 0;
+	}
+
 	// These pages are helpful:
 	// en.wikipedia.org/wiki/Lorenz_system
 	// www.algosome.com/articles/lorenz-attractor-programming-code.html
-	private void	drawLorenzAttractor(GL2 gl)
+	//
+	// The trajectory always starts from (0.1, 0.0, 0.0), so each frame's m
+	// points are a prefix of the next frame's. The points integrated so far
+	// are kept in the vertex buffer, and only the steps beyond them are
+	// integrated (and uploaded). When m resets, the first m are already there.
+	void	drawLorenzAttractor(GL2 gl)
 	{
-		gl.glBegin(GL.GL_POINTS);				// Start specifying points
+		integrate(points, m - points.getCount());	// Extend to m points
+
+		points.draw(gl, program, GL.GL_POINTS, 0, m);	// Draw the first m
+	}
 
+	// Integrate as many more steps as fit in the frame budget, drawing them a
+	// batch at a time into the accumulation buffer, which keeps the points
+	// from all earlier frames. The trajectory never restarts, except when the
+	// canvas is resized and the buffer has to start over empty.
+	private void	refineLorenzAttractor(GL2 gl)
+	{
+		if (accumulation.begin(gl, w, h))		// Start over if buffer empty
+			restart();
+
+		budget.begin();
+
+		while ((total < CAP) && budget.hasTime())	// Stop once converged
+		{
+			points.clear();
+			integrate(points, BATCH);
+			points.draw(gl, program, GL.GL_POINTS);
+
+			total += BATCH;
+		}
+
+		accumulation.end(gl);
+		accumulation.draw(gl);					// Copy all points to canvas
+	}
+
+	// Integrate n more steps from the last integrated point, adding each new
+	// point to vb.
+	private void	integrate(VertexBuffer vb, int n)
+	{
 		double		dt = 0.01;					// Integration step size
 		double		sigma = 10.0;				// Constant for updating x
 		double		rho = 28.0;				// Constant for updating y
 		double		beta = 8.0 / 3.0;			// Constant for updating z
-		double		lx = 0.1;					// Initial x coordinate
-		double		ly = 0.0;					// Initial y coordinate
-		double		lz = 0.0;					// Initial z coordinate
 
-		for (int i=0; i<m; i++)
+		for (int i=0; i<n; i++)
 		{
 			double	llx = lx + dt * sigma * (ly - lx);
 			double	lly = ly + dt * (lx * (rho - lz) - ly);
@@ -248,11 +347,9 @@ public final class Lorenz
 
 			float	cc = (float)((lz + 30.0) / 60.0);
 
-			gl.glColor3f(cc, cc, cc);			// Draw in gray, depth-scaled
-			gl.glVertex2d(lx / 30.0, ly / 30.0);
+			vb.setColor(cc, cc, cc);			// Draw in gray, depth-scaled
+			vb.add(lx / 30.0, ly / 30.0);
 		}
-
-		gl.glEnd();
 	}
 
 	// Warning! Text is drawn in unprojected canvas/viewport coordinates.
@@ -262,7 +359,9 @@ public final class Lorenz
 	{
 		renderer.beginRendering(w, h);
 		renderer.setColor(0.75f, 0.75f, 0.75f, 1.0f);
-		renderer.draw("Lorenz Attractor (Points: " + m + ")", 2, h - 14);
+		long	n = ((budget != null) ? total : m);
+
+		renderer.draw("Lorenz Attractor (Points: " + n + ")", 2, h - 14);
 		renderer.endRendering();
 	}
 }
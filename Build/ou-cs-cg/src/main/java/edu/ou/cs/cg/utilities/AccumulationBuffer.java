@@ -0,0 +1,153 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 15:21:02 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// An offscreen color buffer, the size of the canvas, that keeps what's drawn
+// into it from frame to frame. A progressive scene draws only its new points
+// between begin() and end(), then copies the whole buffer to the canvas with
+// draw(). The canvas can be cleared and overdrawn (e.g. with text) as usual,
+// but the buffer is only cleared when it's created, resized, or clear()ed.
+//
+// The buffer is a framebuffer object with a single RGBA renderbuffer. end()
+// and draw() go back to the drawable's own framebuffers, which aren't always
+// framebuffer 0 (a GLJPanel or offscreen drawable draws into an FBO itself).
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import com.jogamp.opengl.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>AccumulationBuffer</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class AccumulationBuffer
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private int		fbo;			// Framebuffer, 0 until first begin()
+	private int		rbo;			// Color renderbuffer
+	private int		w;				// Buffer width
+	private int		h;				// Buffer height
+	private boolean	cleared;		// Cleared since the last begin()?
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Start drawing into the buffer, (re)creating it if the canvas is a new
+	// size. Returns true if the buffer is empty as a result, in which case
+	// the caller should start its accumulation over.
+	public boolean	begin(GL2 gl, int w, int h)
+	{
+		if ((fbo == 0) || (w != this.w) || (h != this.h))
+			create(gl, w, h);
+
+		gl.glBindFramebuffer(GL.GL_FRAMEBUFFER, fbo);
+
+		if (cleared)
+		{
+			gl.glPushAttrib(GL2.GL_COLOR_BUFFER_BIT);
+			gl.glClearColor(0.0f, 0.0f, 0.0f, 0.0f);
+			gl.glClear(GL.GL_COLOR_BUFFER_BIT);
+			gl.glPopAttrib();
+		}
+
+		boolean	empty = cleared;
+
+		cleared = false;
+
+		return empty;
+	}
+
+	public void	end(GL2 gl)
+	{
+		gl.glBindFramebuffer(GL.GL_FRAMEBUFFER, gl.getDefaultDrawFramebuffer());
+	}
+
+	// Empty the buffer at the next begin().
+	public void	clear()
+	{
+		cleared = true;
+	}
+
+	// Copy the buffer over the whole canvas.
+	public void	draw(GL2 gl)
+	{
+		gl.glBindFramebuffer(GL2.GL_READ_FRAMEBUFFER, fbo);
+		gl.glBindFramebuffer(GL2.GL_DRAW_FRAMEBUFFER,
+							 gl.getDefaultDrawFramebuffer());
+		gl.glBlitFramebuffer(0, 0, w, h, 0, 0, w, h,
+							 GL.GL_COLOR_BUFFER_BIT, GL.GL_NEAREST);
+		gl.glBindFramebuffer(GL2.GL_READ_FRAMEBUFFER,
+							 gl.getDefaultReadFramebuffer());
+	}
+
+	public void	dispose(GL2 gl)
+	{
+		if (fbo != 0)
+		{
+			gl.glDeleteFramebuffers(1, new int[] { fbo }, 0);
+			gl.glDeleteRenderbuffers(1, new int[] { rbo }, 0);
+		}
+
+		fbo = 0;
+		rbo = 0;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private void	create(GL2 gl, int w, int h)
+	{
+		dispose(gl);
+
+		int[]	ids = new int[1];
+
+		gl.glGenFramebuffers(1, ids, 0);
+		fbo = ids[0];
+		gl.glGenRenderbuffers(1, ids, 0);
+		rbo = ids[0];
+
+		gl.glBindRenderbuffer(GL.GL_RENDERBUFFER, rbo);
+		gl.glRenderbufferStorage(GL.GL_RENDERBUFFER, GL.GL_RGBA8,
+								 Math.max(w, 1), Math.max(h, 1));
+		gl.glBindRenderbuffer(GL.GL_RENDERBUFFER, 0);
+
+		gl.glBindFramebuffer(GL.GL_FRAMEBUFFER, fbo);
+		gl.glFramebufferRenderbuffer(GL.GL_FRAMEBUFFER,
+									 GL.GL_COLOR_ATTACHMENT0,
+									 GL.GL_RENDERBUFFER, rbo);
+
+		int	status = gl.glCheckFramebufferStatus(GL.GL_FRAMEBUFFER);
+
+		gl.glBindFramebuffer(GL.GL_FRAMEBUFFER, gl.getDefaultDrawFramebuffer());
+
+		if (status != GL.GL_FRAMEBUFFER_COMPLETE)
+			throw new GLException("Accumulation buffer incomplete: " + status);
+
+		this.w = w;
+		this.h = h;
+		cleared = true;
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,209 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 13:41:26 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Generates Sierpinski gasket points by the chaos game, on all cores at once.
+// en.wikipedia.org/wiki/Chaos_game
+//
+// The points are split into one contiguous range per worker. Each worker runs
+// its own walk with its own SplittableRandom, split from this generator's root
+// on the calling thread. A walk starts at the first vertex and takes BURN_IN
+// steps before emitting points, by which time it's closer to the gasket than a
+// float can tell. Workers fill a small array of interleaved vertices and copy
+// it into the VertexBuffer's data in bulk, so the caller only has to upload.
+//
+// Each step of a walk depends on the one before, so a single walk can't be
+// vectorized; the inner loop is kept to primitive arrays, with no branches and
+// no allocation, and the parallelism comes from the independent walks.
+//
+// Every chaos game point is an affine combination of the triangle's vertices,
+// with weights that don't depend on where the vertices are. extendWeights()
+// plays the game on the triangle (1,0), (0,1), (0,0), so each point's (x, y)
+// are its weights for t[0] and t[1]. The points can then be kept from frame to
+// frame, however the triangle moves, and drawn with multTriangle() applied to
+// the modelview matrix to map them into the current triangle on the GPU.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.awt.geom.Point2D;
+import java.nio.FloatBuffer;
+import java.util.SplittableRandom;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import com.jogamp.opengl.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>ChaosGame</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class ChaosGame
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int		BURN_IN = 32;		// Steps before emitting
+	private static final int		MIN_RANGE = 8192;	// Points per worker
+	private static final int		BLOCK = 1024;		// Points per bulk copy
+
+	private static final int		WORKERS =
+		Runtime.getRuntime().availableProcessors();
+
+	// Triangle in which point coordinates are barycentric weights
+	private static final double[]	WEIGHTS_X = new double[] { 1.0, 0.0, 0.0 };
+	private static final double[]	WEIGHTS_Y = new double[] { 0.0, 1.0, 0.0 };
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private final SplittableRandom	root;			// Source of worker streams
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public ChaosGame(long seed)
+	{
+		root = new SplittableRandom(seed);
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Add barycentric weight points to vb until it has n of them. The points
+	// already there are kept, so only the new ones have to be uploaded.
+	public void	extendWeights(VertexBuffer vb, int n, float r, float g, float b)
+	{
+		extend(vb, WEIGHTS_X, WEIGHTS_Y, n, r, g, b);
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Multiply the current matrix by the affine transform that takes points
+	// from extendWeights() into triangle t.
+	public static void	multTriangle(GL2 gl, Point2D.Double[] t)
+	{
+		double	ax = t[0].x - t[2].x;
+		double	ay = t[0].y - t[2].y;
+		double	bx = t[1].x - t[2].x;
+		double	by = t[1].y - t[2].y;
+
+		gl.glMultMatrixd(new double[]		// Column major
+			{
+				ax,		ay,		0.0,	0.0,
+				bx,		by,		0.0,	0.0,
+				0.0,	0.0,	1.0,	0.0,
+				t[2].x,	t[2].y,	0.0,	1.0,
+			}, 0);
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Add points for the triangle with vertices (tx[i], ty[i]) to vb, from
+	// its current count up to n.
+	private void	extend(VertexBuffer vb, double[] tx, double[] ty, int n,
+						   float r, float g, float b)
+	{
+		int		start = vb.getCount();
+		int		count = n - start;
+
+		if (count <= 0)
+			return;
+
+		vb.ensureCapacity(n);
+
+		int				workers = Math.max(1, Math.min(WORKERS,
+														   count / MIN_RANGE));
+		SplittableRandom[]	streams = new SplittableRandom[workers];
+
+		for (int i=0; i<workers; i++)
+			streams[i] = root.split();
+
+		float[]		rgba = new float[] { r, g, b, 1.0f };
+		FloatBuffer	data = vb.getData();
+
+		if (workers == 1)
+			walk(data, tx, ty, rgba, streams[0], start, n);
+		else
+			IntStream.range(0, workers).parallel().forEach(new IntConsumer() {
+					public void	accept(int i) {
+						walk(data, tx, ty, rgba, streams[i],
+							 start + (int)((long)count * i / workers),
+							 start + (int)((long)count * (i + 1) / workers));
+					}
+				});
+
+		vb.setCount(n);
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	// Emit the points with indices [start, end) from a walk of their own.
+	private static void	walk(FloatBuffer data, double[] tx, double[] ty,
+							 float[] rgba, SplittableRandom random,
+							 int start, int end)
+	{
+		int			stride = VertexBuffer.STRIDE;
+		float[]		block = new float[BLOCK * stride];
+		FloatBuffer	dst = data.duplicate();		// Private position/limit
+
+		for (int o=0; o<block.length; o+=stride)	// Colors never change
+			System.arraycopy(rgba, 0, block, o + 2, 4);
+
+		double		x = tx[0];
+		double		y = ty[0];
+
+		for (int i=0; i<BURN_IN; i++)
+		{
+			int	k = random.nextInt(3);
+
+			x = 0.5 * (x + tx[k]);
+			y = 0.5 * (y + ty[k]);
+		}
+
+		for (int i=start; i<end; i+=BLOCK)
+		{
+			int	len = Math.min(BLOCK, end - i);
+
+			for (int j=0, o=0; j<len; j++, o+=stride)
+			{
+				int	k = random.nextInt(3);
+
+				x = 0.5 * (x + tx[k]);
+				y = 0.5 * (y + ty[k]);
+
+				block[o] = (float)x;
+				block[o + 1] = (float)y;
+			}
+
+			dst.position(i * stride);
+			dst.put(block, 0, len * stride);
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,382 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 14:26:53 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Renders a Sierpinski gasket as a density image rather than as points. Chaos
+// game samples are counted in a size x size grid of bins, and the counts are
+// tone-mapped on a log scale into an alpha texture that is drawn as one quad.
+// However many samples go in, drawing costs the same.
+//
+// As in ChaosGame.extendWeights(), samples are taken in the triangle (1,0),
+// (0,1), (0,0), so that bins hold barycentric weights. The counts stay valid
+// however the triangle moves, and keep accumulating from frame to frame;
+// draw() maps the texture into the current triangle with the modelview matrix.
+//
+// accumulate() runs one walk per worker, each counting into a private grid
+// of its own. The private grids are then merged into the shared counts in
+// parallel by bands of rows, each band owned by one thread, so no locks or
+// atomics are needed. The merge also zeroes the private grids for next time.
+// None of this touches GL, so it can be run (and checked) without a display.
+//
+// accumulate() counts a number of samples, or with a FrameBudget, at most
+// that many: every worker keeps walking until its share is done or the
+// budget's time is up, so a progressive scene can still stop at a cap.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.awt.geom.Point2D;
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.opengl.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>DensityHistogram</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class DensityHistogram
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int		BURN_IN = 32;		// Steps before counting
+	private static final int		MIN_RANGE = 65536;	// Samples per worker
+	private static final int		BANDS = 64;			// Row bands for merge
+	private static final int		CHUNK = 65536;		// Samples between checks
+
+	private static final int		WORKERS =
+		Runtime.getRuntime().availableProcessors();
+
+	// Triangle in which sample coordinates are barycentric weights
+	private static final double[]	WEIGHTS_X = new double[] { 1.0, 0.0, 0.0 };
+	private static final double[]	WEIGHTS_Y = new double[] { 0.0, 1.0, 0.0 };
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private final int				size;			// Bins along each side
+	private final int[]			counts;			// Merged counts, row major
+	private final int[][]			tiles;			// Per-worker private counts
+	private final SplittableRandom	root;			// Source of worker streams
+
+	private long					samples;		// Total samples counted
+	private int					max;			// Largest count in a bin
+
+	private final ByteBuffer		image;			// Tone-mapped alpha
+	private boolean				dirty;			// Image needs tone-mapping
+	private int					texture;		// Texture, 0 until first draw
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public DensityHistogram(int size, long seed)
+	{
+		this.size = size;
+
+		counts = new int[size * size];
+		tiles = new int[WORKERS][];
+		root = new SplittableRandom(seed);
+		image = Buffers.newDirectByteBuffer(size * size);
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	getSize()
+	{
+		return size;
+	}
+
+	public long	getSamples()
+	{
+		return samples;
+	}
+
+	public int	getMax()
+	{
+		return max;
+	}
+
+	// Count in the bin at column i, row j.
+	public int	getCount(int i, int j)
+	{
+		return counts[j * size + i];
+	}
+
+	//**********************************************************************
+	// Public Methods (Accumulation)
+	//**********************************************************************
+
+	// Count n more samples. Must be called from one thread at a time.
+	public void	accumulate(long n)
+	{
+		accumulate(n, null);
+	}
+
+	// Count up to n more samples, stopping early if the budget (if any) runs
+	// out. Returns the number of samples counted. Must be called from one
+	// thread at a time.
+	public long	accumulate(long n, FrameBudget budget)
+	{
+		if (n <= 0)
+			return 0;
+
+		int	workers = (int)Math.max(1, Math.min(WORKERS, n / MIN_RANGE));
+
+		return accumulate(workers, n, budget);
+	}
+
+	public void	clear()
+	{
+		java.util.Arrays.fill(counts, 0);
+
+		samples = 0;
+		max = 0;
+		dirty = true;
+	}
+
+	// Tone-map the counts into alpha values on a log scale, from 0 for an
+	// empty bin to 255 for the fullest bin.
+	public void	toneMap(ByteBuffer dst)
+	{
+		double	scale = ((max > 0) ? 255.0 / Math.log1p(max) : 0.0);
+
+		IntStream.range(0, size).parallel().forEach(new IntConsumer() {
+				public void	accept(int j) {
+					for (int i=j*size; i<(j+1)*size; i++)
+					{
+						int	c = counts[i];
+
+						dst.put(i, (byte)((c == 0) ? 0 :
+										  (int)(scale * Math.log1p(c))));
+					}
+				}
+			});
+	}
+
+	//**********************************************************************
+	// Public Methods (Rendering)
+	//**********************************************************************
+
+	// Draw the image mapped into triangle t, in color (r, g, b).
+	public void	draw(GL2 gl, Point2D.Double[] t, float r, float g, float b)
+	{
+		upload(gl);
+
+		gl.glPushAttrib(GL2.GL_ENABLE_BIT | GL2.GL_COLOR_BUFFER_BIT |
+						GL2.GL_TEXTURE_BIT);
+
+		gl.glEnable(GL.GL_TEXTURE_2D);
+		gl.glBindTexture(GL.GL_TEXTURE_2D, texture);
+		gl.glTexEnvi(GL2.GL_TEXTURE_ENV, GL2.GL_TEXTURE_ENV_MODE,
+					 GL2.GL_MODULATE);
+
+		gl.glEnable(GL.GL_BLEND);
+		gl.glBlendFunc(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA);
+
+		gl.glMatrixMode(GL2.GL_MODELVIEW);
+		gl.glPushMatrix();
+		ChaosGame.multTriangle(gl, t);			// Map weights into triangle
+
+		gl.glColor3f(r, g, b);
+		gl.glBegin(GL2.GL_QUADS);				// Unit square of weights
+		gl.glTexCoord2f(0.0f, 0.0f);
+		gl.glVertex2f(0.0f, 0.0f);
+		gl.glTexCoord2f(1.0f, 0.0f);
+		gl.glVertex2f(1.0f, 0.0f);
+		gl.glTexCoord2f(1.0f, 1.0f);
+		gl.glVertex2f(1.0f, 1.0f);
+		gl.glTexCoord2f(0.0f, 1.0f);
+		gl.glVertex2f(0.0f, 1.0f);
+		gl.glEnd();
+
+		gl.glPopMatrix();
+		gl.glBindTexture(GL.GL_TEXTURE_2D, 0);
+		gl.glPopAttrib();
+	}
+
+	public void	dispose(GL2 gl)
+	{
+		if (texture != 0)
+			gl.glDeleteTextures(1, new int[] { texture }, 0);
+
+		texture = 0;
+		dirty = true;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	// Split up to n samples across workers, stopping early if the budget
+	// (if any) runs out, then merge them in. Returns the number counted.
+	private long	accumulate(int workers, long n, FrameBudget budget)
+	{
+		SplittableRandom[]	streams = new SplittableRandom[workers];
+		long[]				counted = new long[workers];
+
+		for (int i=0; i<workers; i++)
+			streams[i] = root.split();
+
+		IntStream.range(0, workers).parallel().forEach(new IntConsumer() {
+				public void	accept(int i) {
+					if (tiles[i] == null)
+						tiles[i] = new int[size * size];
+
+					counted[i] = walk(tiles[i], streams[i],
+									  n / workers + ((i < n % workers) ? 1 : 0),
+									  budget);
+				}
+			});
+
+		int	bmax = IntStream.range(0, BANDS).parallel().map(
+			new IntUnaryOperator() {
+				public int	applyAsInt(int band) {
+					return merge(band, workers);
+				}
+			}).max().getAsInt();
+
+		long	total = 0;
+
+		for (long c : counted)
+			total += c;
+
+		samples += total;
+		max = Math.max(max, bmax);
+		dirty = true;
+
+		return total;
+	}
+
+	// Count up to n samples from a walk of its own into a private tile,
+	// checking the budget (if any) every CHUNK samples. Returns the number.
+	private long	walk(int[] tile, SplittableRandom random, long n,
+						 FrameBudget budget)
+	{
+		double	x = WEIGHTS_X[2];		// Start at (0,0)
+		double	y = WEIGHTS_Y[2];
+
+		for (int i=0; i<BURN_IN; i++)
+		{
+			int	k = random.nextInt(3);
+
+			x = 0.5 * (x + WEIGHTS_X[k]);
+			y = 0.5 * (y + WEIGHTS_Y[k]);
+		}
+
+		long	s = 0;
+
+		while ((s < n) && ((budget == null) || budget.hasTime()))
+		{
+			long	end = Math.min(n, s + CHUNK);
+
+			for (; s<end; s++)
+			{
+				int	k = random.nextInt(3);
+
+				x = 0.5 * (x + WEIGHTS_X[k]);
+				y = 0.5 * (y + WEIGHTS_Y[k]);
+
+				int	i = Math.min((int)(x * size), size - 1);
+				int	j = Math.min((int)(y * size), size - 1);
+
+				tile[j * size + i]++;
+			}
+		}
+
+		return s;
+	}
+
+	// Add the rows in a band of every used tile into the counts, zeroing the
+	// tiles as it goes. Returns the largest merged count in the band.
+	private int	merge(int band, int workers)
+	{
+		int	start = (int)((long)size * band / BANDS) * size;
+		int	end = (int)((long)size * (band + 1) / BANDS) * size;
+		int	bmax = 0;
+
+		for (int w=0; w<workers; w++)
+		{
+			int[]	tile = tiles[w];
+
+			for (int i=start; i<end; i++)
+			{
+				counts[i] += tile[i];
+				tile[i] = 0;
+			}
+		}
+
+		for (int i=start; i<end; i++)
+			bmax = Math.max(bmax, counts[i]);
+
+		return bmax;
+	}
+
+	private void	upload(GL2 gl)
+	{
+		if (texture == 0)
+		{
+			int[]	ids = new int[1];
+
+			gl.glGenTextures(1, ids, 0);
+			texture = ids[0];
+
+			gl.glBindTexture(GL.GL_TEXTURE_2D, texture);
+			gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MIN_FILTER,
+							   GL.GL_LINEAR);
+			gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MAG_FILTER,
+							   GL.GL_LINEAR);
+			gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_WRAP_S,
+							   GL.GL_CLAMP_TO_EDGE);
+			gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_WRAP_T,
+							   GL.GL_CLAMP_TO_EDGE);
+			gl.glTexImage2D(GL.GL_TEXTURE_2D, 0, GL.GL_ALPHA, size, size, 0,
+							GL.GL_ALPHA, GL.GL_UNSIGNED_BYTE, null);
+
+			dirty = true;
+		}
+		else
+		{
+			gl.glBindTexture(GL.GL_TEXTURE_2D, texture);
+		}
+
+		if (dirty)
+		{
+			toneMap(image);
+
+			gl.glPixelStorei(GL.GL_UNPACK_ALIGNMENT, 1);
+			gl.glTexSubImage2D(GL.GL_TEXTURE_2D, 0, 0, 0, size, size,
+							   GL.GL_ALPHA, GL.GL_UNSIGNED_BYTE, image);
+			gl.glPixelStorei(GL.GL_UNPACK_ALIGNMENT, 4);
+
+			dirty = false;
+		}
+
+		gl.glBindTexture(GL.GL_TEXTURE_2D, 0);
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,319 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 23:40:27 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Drives the launchable applications through a fixed number of frames on an
+// offscreen drawable, as fast as the GL can go, and prints frame time
+// statistics as CSV. There's no JFrame and no FPSAnimator, so this runs on
+// machines without a display (e.g. with Mesa's llvmpipe software renderer).
+//
+// Usage: framebench [-frames N] [-warmup N] [-size WxH] [-replay LOG]
+//                   [-speed S] [app ...]
+//
+// Apps are named as in the start scripts in build.gradle (gasket, lorenz,
+// hw03, hw02chris, ...). With no apps named, all of them are run in turn.
+// The CSV goes to standard output; diagnostics go to standard error.
+//
+// The example and assignment apps that implement GLEventListener are created
+// directly. The MVC apps (circle, interaction, hw03) are created by giving
+// their View a GLJPanel that is never shown; their View is then added to the
+// offscreen drawable as a listener like the others. Their models invoke
+// updaters on the drawable the view was initialized on, so in circle and
+// interaction each replayed event is applied by an extra, untimed display()
+// of the offscreen drawable (JOGL displays at once when there's no animator).
+//
+// With -replay, the input log (from an InputRecorder) is played into the MVC
+// apps' panels as the frames go by, as if each frame took 1/60 s (divided by
+// the speed). The events due in a frame are delivered before it, on the main
+// thread, so every run sees the same input in the same frames. heap_mb is the
+// growth in live heap over the run, measured after full collections.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.io.File;
+import java.util.*;
+import com.jogamp.opengl.*;
+import com.jogamp.opengl.awt.GLJPanel;
+
+//******************************************************************************
+
+/**
+ * The <CODE>FrameBenchmark</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class FrameBenchmark
+{
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final int		DEFAULT_FRAMES = 600;
+	private static final int		DEFAULT_WARMUP = 60;
+	private static final int		DEFAULT_WIDTH = 1280;
+	private static final int		DEFAULT_HEIGHT = 720;
+	private static final double	FRAME_MICROS = 1.0e6 / 60.0;
+
+	// Script names and main classes, as in the start scripts in build.gradle
+	private static final String[][]	APPS = new String[][]
+	{
+		{ "gasket",			"edu.ou.cs.cg.example.Gasket" },
+		{ "lorenz",			"edu.ou.cs.cg.example.Lorenz" },
+		{ "polygons",		"edu.ou.cs.cg.example.Polygons" },
+		{ "viewgrid",		"edu.ou.cs.cg.example.Viewgrid" },
+		{ "viewport",		"edu.ou.cs.cg.example.Viewport" },
+		{ "circle",			"edu.ou.cs.cg.application.circle.Application" },
+		{ "interaction",	"edu.ou.cs.cg.application.interaction.Application" },
+		{ "hw01",			"edu.ou.cs.cg.assignment.homework01.Application" },
+		{ "hw02",			"edu.ou.cs.cg.assignment.homework02.Application" },
+		{ "hw03",			"edu.ou.cs.cg.assignment.homework03.Application" },
+		{ "hw01chris",		"edu.ou.cs.cg.assignment.solution01.Application" },
+		{ "hw02chris",		"edu.ou.cs.cg.assignment.solution02.Application" },
+	};
+
+	//**********************************************************************
+	// Main
+	//**********************************************************************
+
+	public static void	main(String[] args)
+	{
+		int				frames = DEFAULT_FRAMES;
+		int				warmup = DEFAULT_WARMUP;
+		int				w = DEFAULT_WIDTH;
+		int				h = DEFAULT_HEIGHT;
+		File			replay = null;
+		double			speed = 1.0;
+		ArrayList<String>	names = new ArrayList<String>();
+
+		for (int i=0; i<args.length; i++)
+		{
+			if (args[i].equals("-frames"))
+			{
+				frames = Integer.parseInt(args[++i]);
+			}
+			else if (args[i].equals("-warmup"))
+			{
+				warmup = Integer.parseInt(args[++i]);
+			}
+			else if (args[i].equals("-size"))
+			{
+				String[]	wh = args[++i].split("x");
+
+				w = Integer.parseInt(wh[0]);
+				h = Integer.parseInt(wh[1]);
+			}
+			else if (args[i].equals("-replay"))
+			{
+				replay = new File(args[++i]);
+			}
+			else if (args[i].equals("-speed"))
+			{
+				speed = Double.parseDouble(args[++i]);
+			}
+			else
+			{
+				names.add(args[i]);
+			}
+		}
+
+		if (names.isEmpty())
+			for (String[] app : APPS)
+				names.add(app[0]);
+
+		GLProfile		profile = GLProfile.getDefault();
+
+		System.err.println("Running on Java version " +
+			System.getProperty("java.version"));
+		System.err.println("Running with OpenGL version " +
+			profile.getName());
+
+		System.out.println("app,width,height,frames,min_ms,mean_ms,p99_ms," +
+						   "fps,heap_mb");
+
+		for (String name : names)
+		{
+			String	classname = lookup(name);
+
+			if (classname == null)
+			{
+				System.err.println("Unknown app: " + name);
+				continue;
+			}
+
+			try
+			{
+				double[]	times = new double[frames];
+				double		heap = run(profile, classname, frames, warmup, w,
+									   h, replay, speed, times);
+
+				System.out.println(format(name, w, h, times, heap));
+			}
+			catch (Exception e)
+			{
+				System.err.println("Failed to run " + name + ": " + e);
+				e.printStackTrace();
+			}
+		}
+
+		// The views of the MVC apps start animator threads on their panels.
+		System.exit(0);
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	private static String	lookup(String name)
+	{
+		for (String[] app : APPS)
+			if (app[0].equals(name))
+				return app[1];
+
+		return null;
+	}
+
+	// Puts the time of each measured frame, in milliseconds, in times.
+	// Returns the growth in live heap, in megabytes.
+	private static double	run(GLProfile profile, String classname,
+								int frames, int warmup, int w, int h,
+								File replay, double speed, double[] times)
+		throws Exception
+	{
+		long	heap = usedHeap();
+
+		GLCapabilities				capabilities = new GLCapabilities(profile);
+
+		capabilities.setOnscreen(false);
+
+		GLDrawableFactory			factory =
+			GLDrawableFactory.getFactory(profile);
+		GLOffscreenAutoDrawable	drawable =
+			factory.createOffscreenAutoDrawable(null, capabilities, null, w, h);
+
+		GLJPanel					canvas = new GLJPanel(capabilities);
+
+		drawable.addGLEventListener(createListener(canvas, classname));
+		drawable.addGLEventListener(new Finisher());
+
+		InputReplayer	replayer = null;
+
+		if (replay != null)
+			replayer = new InputReplayer(canvas, replay);
+
+		for (int i=0; i<warmup + frames; i++)	// First display() calls init()
+		{
+			if (replayer != null)				// Input due by end of frame
+				replayer.dispatchUntil((long)((i + 1) * FRAME_MICROS * speed));
+
+			long	start = System.nanoTime();
+
+			drawable.display();
+
+			if (i >= warmup)
+				times[i - warmup] = (System.nanoTime() - start) / 1.0e6;
+		}
+
+		if ((replayer != null) && !replayer.isDone())
+			System.err.println("Replayed " + replayer.getPosition() + " of " +
+							   replayer.getCount() + " input events");
+
+		heap = usedHeap() - heap;
+		drawable.destroy();
+
+		return heap / (1024.0 * 1024.0);
+	}
+
+	private static long	usedHeap()
+	{
+		Runtime	runtime = Runtime.getRuntime();
+
+		for (int i=0; i<3; i++)
+			System.gc();
+
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static GLEventListener	createListener(GLJPanel canvas,
+												   String classname)
+		throws Exception
+	{
+		Class<?>	c = Class.forName(classname);
+
+		// Single-class apps are listeners themselves
+		if (GLEventListener.class.isAssignableFrom(c))
+			return (GLEventListener)c.getConstructor(String[].class)
+				.newInstance((Object)new String[0]);
+
+		// MVC apps have a View that listens on the canvas it's given
+		String		viewname = c.getPackage().getName() + ".View";
+		Class<?>	v = Class.forName(viewname);
+
+		return (GLEventListener)v.getConstructor(GLJPanel.class)
+			.newInstance(canvas);
+	}
+
+	private static String	format(String name, int w, int h, double[] times,
+								   double heap)
+	{
+		double[]	sorted = times.clone();
+		double		total = 0.0;
+
+		Arrays.sort(sorted);
+
+		for (double t : times)
+			total += t;
+
+		int		n = times.length;
+		double		min = ((n > 0) ? sorted[0] : 0.0);
+		double		mean = ((n > 0) ? total / n : 0.0);
+		double		p99 = ((n > 0) ? sorted[(int)Math.ceil(0.99 * n) - 1] : 0.0);
+		double		fps = ((total > 0.0) ? 1000.0 * n / total : 0.0);
+
+		return String.format(Locale.US, "%s,%d,%d,%d,%.3f,%.3f,%.3f,%.1f,%.1f",
+							 name, w, h, n, min, mean, p99, fps, heap);
+	}
+
+	//**********************************************************************
+	// Inner Classes
+	//**********************************************************************
+
+	// Added after each app's listener, so that frame times include the time
+	// for the GL to actually finish drawing, not just to queue the commands.
+	private static final class Finisher implements GLEventListener
+	{
+		public void	init(GLAutoDrawable drawable)
+		{
+			GL	gl = drawable.getGL();
+
+			System.err.println("Rendering with " +
+							   gl.glGetString(GL.GL_RENDERER));
+		}
+
+		public void	dispose(GLAutoDrawable drawable)
+		{
+		}
+
+		public void	display(GLAutoDrawable drawable)
+		{
+			drawable.getGL().glFinish();
+		}
+
+		public void	reshape(GLAutoDrawable drawable, int x, int y, int w, int h)
+		{
+		}
+	}
+}
+
+//******************************************************************************
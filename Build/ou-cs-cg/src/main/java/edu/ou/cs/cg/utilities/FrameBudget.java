@@ -0,0 +1,88 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 15:08:37 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A fixed amount of time to spend on refinement in each frame. Call begin()
+// at the start of the work, then do work in small batches while hasTime().
+// hasTime() may be called from worker threads started after begin().
+//
+// Progressive scenes use a budget to add as many samples as fit in the frame,
+// so that the frame rate stays steady however many samples have accumulated.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>FrameBudget</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class FrameBudget
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final double		DEFAULT_MILLIS = 8.0;	// Half of 60 fps
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private final long			budget;			// Time per frame (ns)
+	private volatile long		deadline;		// End of current frame's time
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public FrameBudget()
+	{
+		this(DEFAULT_MILLIS);
+	}
+
+	public FrameBudget(double millis)
+	{
+		budget = (long)(millis * 1.0e6);
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public double	getMillis()
+	{
+		return budget / 1.0e6;
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	public void	begin()
+	{
+		deadline = System.nanoTime() + budget;
+	}
+
+	public boolean	hasTime()
+	{
+		return (System.nanoTime() - deadline < 0L);
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,311 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 23:12:40 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Records the key and mouse events that reach a component in a compact binary
+// log, so that a session can be replayed later by an InputReplayer, exactly
+// and without a real mouse (e.g. for frame time and heap comparisons between
+// builds). The recorder listens on the component alongside the app's own
+// handlers, and so sees the same events they do, in the same order.
+//
+// The log is a MAGIC and a VERSION, then one RECORD of 26 bytes per event:
+//
+//   int	Microseconds since the event before (or since recording began)
+//   short	Event ID (KeyEvent.KEY_PRESSED, MouseEvent.MOUSE_DRAGGED, ...)
+//   short	x			Mouse events only
+//   short	y			Mouse events only
+//   int	Modifiers (extended)
+//   int	Key code, mouse button, or wheel rotation
+//   char	Key char	Key events only
+//   short	Click count	Mouse events only
+//   float	Precise wheel rotation	Wheel events only
+//
+// Apps attach a recorder with attach(), which does nothing unless the
+// input.record system property names a file. The log is flushed when the VM
+// exits. Events can also be written directly with record(), to script a
+// session without recording one.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.event.*;
+import java.io.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>InputRecorder</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class InputRecorder
+	implements KeyListener, MouseListener, MouseMotionListener,
+			   MouseWheelListener
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final int		MAGIC = 0x4C49554F;		// "OUIL", in order
+	public static final int		VERSION = 1;
+	public static final int		RECORD = 26;			// Bytes per event
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private final DataOutputStream	out;
+	private long					last;			// Time of last event (ns)
+	private int						count;			// Events recorded
+	private boolean					closed;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public InputRecorder(File file) throws IOException
+	{
+		out = new DataOutputStream(new BufferedOutputStream(
+									   new FileOutputStream(file), 65536));
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+
+		last = System.nanoTime();
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public synchronized int	getCount()
+	{
+		return count;
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Record the input to component in the file named by the input.record
+	// property, if it's set. Returns the recorder, or null.
+	public static InputRecorder	attach(Component component)
+	{
+		String	name = System.getProperty("input.record");
+
+		if (name == null)
+			return null;
+
+		try
+		{
+			final InputRecorder	recorder = new InputRecorder(new File(name));
+
+			component.addKeyListener(recorder);
+			component.addMouseListener(recorder);
+			component.addMouseMotionListener(recorder);
+			component.addMouseWheelListener(recorder);
+
+			Runtime.getRuntime().addShutdownHook(new Thread() {
+					public void	run()
+					{
+						recorder.close();
+					}
+				});
+
+			System.err.println("Recording input to " + name);
+
+			return recorder;
+		}
+		catch (IOException e)
+		{
+			System.err.println("Failed to record input: " + e);
+
+			return null;
+		}
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Append an event to the log, timed as of now. Ignores all but key and
+	// mouse events, and everything after close().
+	public synchronized void	record(AWTEvent e)
+	{
+		if (closed || !(e instanceof InputEvent))
+			return;
+
+		long	now = System.nanoTime();
+		int		dt = (int)Math.min((now - last) / 1000L, Integer.MAX_VALUE);
+
+		last = now;
+		record(e, dt);
+	}
+
+	// Append an event to the log, dt microseconds after the last one.
+	public synchronized void	record(AWTEvent e, int dt)
+	{
+		if (closed || !(e instanceof InputEvent))
+			return;
+
+		try
+		{
+			write(dt, (InputEvent)e);
+			count++;
+		}
+		catch (IOException x)
+		{
+			System.err.println("Failed to record input: " + x);
+			close();
+		}
+	}
+
+	public synchronized void	close()
+	{
+		if (closed)
+			return;
+
+		closed = true;
+
+		try
+		{
+			out.close();
+		}
+		catch (IOException e)
+		{
+			System.err.println("Failed to finish input log: " + e);
+		}
+	}
+
+	//**********************************************************************
+	// Override Methods (KeyListener)
+	//**********************************************************************
+
+	public void	keyPressed(KeyEvent e)
+	{
+		record(e);
+	}
+
+	public void	keyReleased(KeyEvent e)
+	{
+		record(e);
+	}
+
+	public void	keyTyped(KeyEvent e)
+	{
+		record(e);
+	}
+
+	//**********************************************************************
+	// Override Methods (MouseListener)
+	//**********************************************************************
+
+	public void	mouseClicked(MouseEvent e)
+	{
+		record(e);
+	}
+
+	public void	mouseEntered(MouseEvent e)
+	{
+		record(e);
+	}
+
+	public void	mouseExited(MouseEvent e)
+	{
+		record(e);
+	}
+
+	public void	mousePressed(MouseEvent e)
+	{
+		record(e);
+	}
+
+	public void	mouseReleased(MouseEvent e)
+	{
+		record(e);
+	}
+
+	//**********************************************************************
+	// Override Methods (MouseMotionListener)
+	//**********************************************************************
+
+	public void	mouseDragged(MouseEvent e)
+	{
+		record(e);
+	}
+
+	public void	mouseMoved(MouseEvent e)
+	{
+		record(e);
+	}
+
+	//**********************************************************************
+	// Override Methods (MouseWheelListener)
+	//**********************************************************************
+
+	public void	mouseWheelMoved(MouseWheelEvent e)
+	{
+		record(e);
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private void	write(int dt, InputEvent e) throws IOException
+	{
+		int		x = 0, y = 0, code = 0, clicks = 0;
+		char	c = 0;
+		float	precise = 0.0f;
+
+		if (e instanceof KeyEvent)
+		{
+			KeyEvent	k = (KeyEvent)e;
+
+			code = k.getKeyCode();
+			c = k.getKeyChar();
+		}
+		else if (e instanceof MouseEvent)
+		{
+			MouseEvent	m = (MouseEvent)e;
+
+			x = m.getX();
+			y = m.getY();
+			code = m.getButton();
+			clicks = m.getClickCount();
+
+			if (m instanceof MouseWheelEvent)
+			{
+				MouseWheelEvent	w = (MouseWheelEvent)m;
+
+				code = w.getWheelRotation();
+				precise = (float)w.getPreciseWheelRotation();
+			}
+		}
+
+		out.writeInt(dt);
+		out.writeShort(e.getID());
+		out.writeShort(x);
+		out.writeShort(y);
+		out.writeInt(e.getModifiersEx());
+		out.writeInt(code);
+		out.writeChar(c);
+		out.writeShort(clicks);
+		out.writeFloat(precise);
+	}
+}
+
+//******************************************************************************
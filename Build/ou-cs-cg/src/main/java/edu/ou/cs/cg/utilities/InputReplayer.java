@@ -0,0 +1,324 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 23:31:02 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Plays a log written by an InputRecorder back into a component's key and
+// mouse listeners, rebuilding each event as it was recorded. Events are handed
+// to the listeners directly, not posted to the AWT event queue, so replay works
+// on components that are never shown and on machines without a display.
+//
+// There are two ways to replay. start() plays the log on a thread of its own,
+// delivering each event on the AWT event thread at its recorded time divided
+// by the speed, or as fast as possible if the speed isn't positive. This is
+// what attach() does when the input.replay system property names a log (with
+// the speed in input.speed, 1 by default). Alternatively, dispatchUntil()
+// delivers every event up to a given time on the calling thread, so a driver
+// that steps frames itself (like FrameBenchmark) gets exactly the same input
+// in each frame on every run.
+//
+// The whole log is read into primitive arrays up front, so replay doesn't
+// touch the disk. At 26 bytes an event, a long session is a few megabytes.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.awt.Component;
+import java.awt.EventQueue;
+import java.awt.event.*;
+import java.io.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>InputReplayer</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class InputReplayer
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private final Component		target;
+	private final int			count;			// Events in the log
+	private final long[]		times;			// Since start (us)
+	private final int[]			ids;
+	private final int[]			xs;
+	private final int[]			ys;
+	private final int[]			modifiers;
+	private final int[]			codes;
+	private final char[]		chars;
+	private final int[]			clicks;
+	private final float[]		precise;
+
+	private volatile int		next;			// Next event to deliver
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public InputReplayer(Component target, File file) throws IOException
+	{
+		this.target = target;
+
+		DataInputStream	in = new DataInputStream(
+			new BufferedInputStream(new FileInputStream(file), 65536));
+
+		try
+		{
+			if (in.readInt() != InputRecorder.MAGIC)
+				throw new IOException("Not an input log: " + file);
+
+			if (in.readInt() != InputRecorder.VERSION)
+				throw new IOException("Unknown input log version: " + file);
+
+			int	n = (int)((file.length() - 8) / InputRecorder.RECORD);
+			long	t = 0L;
+
+			count = n;
+			times = new long[n];
+			ids = new int[n];
+			xs = new int[n];
+			ys = new int[n];
+			modifiers = new int[n];
+			codes = new int[n];
+			chars = new char[n];
+			clicks = new int[n];
+			precise = new float[n];
+
+			for (int i=0; i<n; i++)
+			{
+				t += in.readInt();
+
+				times[i] = t;
+				ids[i] = in.readShort();
+				xs[i] = in.readShort();
+				ys[i] = in.readShort();
+				modifiers[i] = in.readInt();
+				codes[i] = in.readInt();
+				chars[i] = in.readChar();
+				clicks[i] = in.readShort();
+				precise[i] = in.readFloat();
+			}
+		}
+		finally
+		{
+			in.close();
+		}
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	getCount()
+	{
+		return count;
+	}
+
+	// Events delivered so far.
+	public int	getPosition()
+	{
+		return next;
+	}
+
+	// Recorded time of the last event, in microseconds after the start.
+	public long	getDuration()
+	{
+		return ((count > 0) ? times[count - 1] : 0L);
+	}
+
+	public boolean	isDone()
+	{
+		return (next == count);
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// Replay the log named by the input.replay property into component, if
+	// it's set, at the speed in input.speed. Returns the replayer, or null.
+	public static InputReplayer	attach(Component component)
+	{
+		String	name = System.getProperty("input.replay");
+
+		if (name == null)
+			return null;
+
+		try
+		{
+			InputReplayer	replayer = new InputReplayer(component,
+														 new File(name));
+			double			speed = Double.parseDouble(
+				System.getProperty("input.speed", "1.0"));
+
+			System.err.println("Replaying " + replayer.getCount() +
+							   " input events from " + name);
+
+			replayer.start(speed);
+
+			return replayer;
+		}
+		catch (IOException e)
+		{
+			System.err.println("Failed to replay input: " + e);
+
+			return null;
+		}
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	// Deliver the events recorded up to the given time (in microseconds after
+	// the start) that haven't been yet, on this thread. Returns how many.
+	public int	dispatchUntil(long time)
+	{
+		int	first = next;
+
+		while ((next < count) && (times[next] <= time))
+			deliver(next++);
+
+		return next - first;
+	}
+
+	// Replay the rest of the log on a daemon thread, in real time divided by
+	// speed, delivering events on the AWT event thread.
+	public void	start(final double speed)
+	{
+		Thread	thread = new Thread("InputReplayer") {
+				public void	run()
+				{
+					replay(speed);
+				}
+			};
+
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private void	replay(double speed)
+	{
+		long	start = System.nanoTime();
+		long	offset = ((next < count) ? times[next] : 0L);
+
+		try
+		{
+			while (next < count)
+			{
+				if (speed > 0.0)
+				{
+					long	due = start +
+						(long)((times[next] - offset) * 1000.0 / speed);
+					long	wait = due - System.nanoTime();
+
+					if (wait > 0L)
+						Thread.sleep(wait / 1000000L, (int)(wait % 1000000L));
+				}
+
+				final int	i = next;
+
+				EventQueue.invokeAndWait(new Runnable() {
+						public void	run()
+						{
+							deliver(i);
+						}
+					});
+
+				next = i + 1;
+			}
+		}
+		catch (Exception e)
+		{
+			System.err.println("Stopped replaying input: " + e);
+		}
+	}
+
+	// Rebuild event i and hand it to the target's listeners.
+	private void	deliver(int i)
+	{
+		int		id = ids[i];
+		long	when = System.currentTimeMillis();
+
+		if ((id >= KeyEvent.KEY_FIRST) && (id <= KeyEvent.KEY_LAST))
+		{
+			KeyEvent	e = new KeyEvent(target, id, when, modifiers[i],
+										 codes[i], chars[i]);
+
+			for (KeyListener l : target.getKeyListeners())
+			{
+				if (id == KeyEvent.KEY_PRESSED)
+					l.keyPressed(e);
+				else if (id == KeyEvent.KEY_RELEASED)
+					l.keyReleased(e);
+				else
+					l.keyTyped(e);
+			}
+		}
+		else if (id == MouseEvent.MOUSE_WHEEL)
+		{
+			MouseWheelEvent	e = new MouseWheelEvent(
+				target, id, when, modifiers[i], xs[i], ys[i], xs[i], ys[i], 0,
+				false, MouseWheelEvent.WHEEL_UNIT_SCROLL, 1, codes[i],
+				precise[i]);
+
+			for (MouseWheelListener l : target.getMouseWheelListeners())
+				l.mouseWheelMoved(e);
+		}
+		else if ((id == MouseEvent.MOUSE_MOVED) ||
+				 (id == MouseEvent.MOUSE_DRAGGED))
+		{
+			MouseEvent	e = new MouseEvent(target, id, when, modifiers[i],
+										   xs[i], ys[i], clicks[i], false,
+										   codes[i]);
+
+			for (MouseMotionListener l : target.getMouseMotionListeners())
+			{
+				if (id == MouseEvent.MOUSE_MOVED)
+					l.mouseMoved(e);
+				else
+					l.mouseDragged(e);
+			}
+		}
+		else if ((id >= MouseEvent.MOUSE_FIRST) &&
+				 (id <= MouseEvent.MOUSE_LAST))
+		{
+			MouseEvent	e = new MouseEvent(target, id, when, modifiers[i],
+										   xs[i], ys[i], clicks[i], false,
+										   codes[i]);
+
+			for (MouseListener l : target.getMouseListeners())
+			{
+				switch (id)
+				{
+					case MouseEvent.MOUSE_CLICKED:	l.mouseClicked(e);	break;
+					case MouseEvent.MOUSE_PRESSED:	l.mousePressed(e);	break;
+					case MouseEvent.MOUSE_RELEASED:	l.mouseReleased(e);	break;
+					case MouseEvent.MOUSE_ENTERED:	l.mouseEntered(e);	break;
+					case MouseEvent.MOUSE_EXITED:	l.mouseExited(e);	break;
+				}
+			}
+		}
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,282 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 20:04:51 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A 4x4 matrix of doubles, stored in column-major order as OpenGL expects, so
+// that getArray() can be passed straight to glLoadMatrixd() or glUniform*().
+// Element (row r, column c) is at index 4c + r.
+//
+// Matrices are mutable and every operation writes into an existing matrix, so
+// nothing is allocated after construction. The set methods build the same
+// matrices as their GL and GLU namesakes (glOrtho(), gluOrtho2D(), ...), and
+// multiply() and the transforms post-multiply as GL does: after translate(),
+// the translation applies to points first.
+//
+// transform2() and transform3() map whole arrays of packed points at once,
+// with the perspective divide, for code that keeps its geometry in primitive
+// arrays.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Matrix4</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class Matrix4
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private final double[]	m;				// Column-major elements
+	private final double[]	scratch;		// For multiply(), invert()
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	// Creates an identity matrix.
+	public Matrix4()
+	{
+		m = new double[16];
+		scratch = new double[16];
+
+		setIdentity();
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	// The elements, in column-major order. Shared, so don't modify them!
+	public double[]	getArray()
+	{
+		return m;
+	}
+
+	public double	get(int row, int col)
+	{
+		return m[4 * col + row];
+	}
+
+	public void	set(Matrix4 a)
+	{
+		System.arraycopy(a.m, 0, m, 0, 16);
+	}
+
+	// Copy 16 elements, in column-major order, from a at offset.
+	public void	set(double[] a, int offset)
+	{
+		System.arraycopy(a, offset, m, 0, 16);
+	}
+
+	public void	setIdentity()
+	{
+		for (int i=0; i<16; i++)
+			m[i] = (((i % 5) == 0) ? 1.0 : 0.0);
+	}
+
+	// As glOrtho().
+	public void	setOrtho(double l, double r, double b, double t,
+							 double n, double f)
+	{
+		setIdentity();
+
+		m[0] = 2.0 / (r - l);
+		m[5] = 2.0 / (t - b);
+		m[10] = -2.0 / (f - n);
+		m[12] = -(r + l) / (r - l);
+		m[13] = -(t + b) / (t - b);
+		m[14] = -(f + n) / (f - n);
+	}
+
+	// As gluOrtho2D().
+	public void	setOrtho2D(double l, double r, double b, double t)
+	{
+		setOrtho(l, r, b, t, -1.0, 1.0);
+	}
+
+	//**********************************************************************
+	// Public Methods (Operations)
+	//**********************************************************************
+
+	// Set this to a * b. Either may be this.
+	public void	multiply(Matrix4 a, Matrix4 b)
+	{
+		double[]	x = a.m;
+		double[]	y = b.m;
+
+		for (int c=0; c<4; c++)
+			for (int r=0; r<4; r++)
+				scratch[4 * c + r] = x[r] * y[4 * c] + x[4 + r] * y[4 * c + 1] +
+					x[8 + r] * y[4 * c + 2] + x[12 + r] * y[4 * c + 3];
+
+		System.arraycopy(scratch, 0, m, 0, 16);
+	}
+
+	// Set this to this * a, as glMultMatrixd().
+	public void	multiply(Matrix4 a)
+	{
+		multiply(this, a);
+	}
+
+	// As glTranslated().
+	public void	translate(double x, double y, double z)
+	{
+		for (int r=0; r<4; r++)
+			m[12 + r] += m[r] * x + m[4 + r] * y + m[8 + r] * z;
+	}
+
+	// As glScaled().
+	public void	scale(double x, double y, double z)
+	{
+		for (int r=0; r<4; r++)
+		{
+			m[r] *= x;
+			m[4 + r] *= y;
+			m[8 + r] *= z;
+		}
+	}
+
+	// Set this to the inverse of a (which may be this). Returns false, and
+	// leaves this unchanged, if a is singular.
+	public boolean	invert(Matrix4 a)
+	{
+		double[]	x = a.m;
+		double[]	v = scratch;
+
+		v[0] = x[5] * x[10] * x[15] - x[5] * x[11] * x[14] -
+			x[9] * x[6] * x[15] + x[9] * x[7] * x[14] +
+			x[13] * x[6] * x[11] - x[13] * x[7] * x[10];
+		v[4] = -x[4] * x[10] * x[15] + x[4] * x[11] * x[14] +
+			x[8] * x[6] * x[15] - x[8] * x[7] * x[14] -
+			x[12] * x[6] * x[11] + x[12] * x[7] * x[10];
+		v[8] = x[4] * x[9] * x[15] - x[4] * x[11] * x[13] -
+			x[8] * x[5] * x[15] + x[8] * x[7] * x[13] +
+			x[12] * x[5] * x[11] - x[12] * x[7] * x[9];
+		v[12] = -x[4] * x[9] * x[14] + x[4] * x[10] * x[13] +
+			x[8] * x[5] * x[14] - x[8] * x[6] * x[13] -
+			x[12] * x[5] * x[10] + x[12] * x[6] * x[9];
+		v[1] = -x[1] * x[10] * x[15] + x[1] * x[11] * x[14] +
+			x[9] * x[2] * x[15] - x[9] * x[3] * x[14] -
+			x[13] * x[2] * x[11] + x[13] * x[3] * x[10];
+		v[5] = x[0] * x[10] * x[15] - x[0] * x[11] * x[14] -
+			x[8] * x[2] * x[15] + x[8] * x[3] * x[14] +
+			x[12] * x[2] * x[11] - x[12] * x[3] * x[10];
+		v[9] = -x[0] * x[9] * x[15] + x[0] * x[11] * x[13] +
+			x[8] * x[1] * x[15] - x[8] * x[3] * x[13] -
+			x[12] * x[1] * x[11] + x[12] * x[3] * x[9];
+		v[13] = x[0] * x[9] * x[14] - x[0] * x[10] * x[13] -
+			x[8] * x[1] * x[14] + x[8] * x[2] * x[13] +
+			x[12] * x[1] * x[10] - x[12] * x[2] * x[9];
+		v[2] = x[1] * x[6] * x[15] - x[1] * x[7] * x[14] -
+			x[5] * x[2] * x[15] + x[5] * x[3] * x[14] +
+			x[13] * x[2] * x[7] - x[13] * x[3] * x[6];
+		v[6] = -x[0] * x[6] * x[15] + x[0] * x[7] * x[14] +
+			x[4] * x[2] * x[15] - x[4] * x[3] * x[14] -
+			x[12] * x[2] * x[7] + x[12] * x[3] * x[6];
+		v[10] = x[0] * x[5] * x[15] - x[0] * x[7] * x[13] -
+			x[4] * x[1] * x[15] + x[4] * x[3] * x[13] +
+			x[12] * x[1] * x[7] - x[12] * x[3] * x[5];
+		v[14] = -x[0] * x[5] * x[14] + x[0] * x[6] * x[13] +
+			x[4] * x[1] * x[14] - x[4] * x[2] * x[13] -
+			x[12] * x[1] * x[6] + x[12] * x[2] * x[5];
+		v[3] = -x[1] * x[6] * x[11] + x[1] * x[7] * x[10] +
+			x[5] * x[2] * x[11] - x[5] * x[3] * x[10] -
+			x[9] * x[2] * x[7] + x[9] * x[3] * x[6];
+		v[7] = x[0] * x[6] * x[11] - x[0] * x[7] * x[10] -
+			x[4] * x[2] * x[11] + x[4] * x[3] * x[10] +
+			x[8] * x[2] * x[7] - x[8] * x[3] * x[6];
+		v[11] = -x[0] * x[5] * x[11] + x[0] * x[7] * x[9] +
+			x[4] * x[1] * x[11] - x[4] * x[3] * x[9] -
+			x[8] * x[1] * x[7] + x[8] * x[3] * x[5];
+		v[15] = x[0] * x[5] * x[10] - x[0] * x[6] * x[9] -
+			x[4] * x[1] * x[10] + x[4] * x[2] * x[9] +
+			x[8] * x[1] * x[6] - x[8] * x[2] * x[5];
+
+		double	det = x[0] * v[0] + x[1] * v[4] + x[2] * v[8] + x[3] * v[12];
+
+		if (det == 0.0)
+			return false;
+
+		for (int i=0; i<16; i++)
+			m[i] = v[i] / det;
+
+		return true;
+	}
+
+	//**********************************************************************
+	// Public Methods (Transforms)
+	//**********************************************************************
+
+	// Transform (x, y, z, 1) into p[0..2], with the perspective divide.
+	public void	transform(double x, double y, double z, double[] p)
+	{
+		double	w = m[3] * x + m[7] * y + m[11] * z + m[15];
+
+		p[0] = (m[0] * x + m[4] * y + m[8] * z + m[12]) / w;
+		p[1] = (m[1] * x + m[5] * y + m[9] * z + m[13]) / w;
+		p[2] = (m[2] * x + m[6] * y + m[10] * z + m[14]) / w;
+	}
+
+	// Transform n points packed as (x, y) pairs in src, all at depth z, into
+	// (x, y) pairs in dst. The arrays may be the same.
+	public void	transform2(double[] src, int so, double[] dst, int dof,
+							   int n, double z)
+	{
+		double	m0 = m[0], m1 = m[1], m3 = m[3];
+		double	m4 = m[4], m5 = m[5], m7 = m[7];
+		double	m12 = m[12] + m[8] * z;			// Fold in z
+		double	m13 = m[13] + m[9] * z;
+		double	m15 = m[15] + m[11] * z;
+
+		for (int i=0; i<n; i++)
+		{
+			double	x = src[so + 2 * i];
+			double	y = src[so + 2 * i + 1];
+			double	w = m3 * x + m7 * y + m15;
+
+			dst[dof + 2 * i] = (m0 * x + m4 * y + m12) / w;
+			dst[dof + 2 * i + 1] = (m1 * x + m5 * y + m13) / w;
+		}
+	}
+
+	// Transform n points packed as (x, y, z) triples in src into triples in
+	// dst. The arrays may be the same.
+	public void	transform3(double[] src, int so, double[] dst, int dof,
+							   int n)
+	{
+		for (int i=0; i<n; i++)
+		{
+			int		a = so + 3 * i;
+			int		b = dof + 3 * i;
+			double	x = src[a];
+			double	y = src[a + 1];
+			double	z = src[a + 2];
+			double	w = m[3] * x + m[7] * y + m[11] * z + m[15];
+
+			dst[b] = (m[0] * x + m[4] * y + m[8] * z + m[12]) / w;
+			dst[b + 1] = (m[1] * x + m[5] * y + m[9] * z + m[13]) / w;
+			dst[b + 2] = (m[2] * x + m[6] * y + m[10] * z + m[14]) / w;
+		}
+	}
+}
+
+//******************************************************************************
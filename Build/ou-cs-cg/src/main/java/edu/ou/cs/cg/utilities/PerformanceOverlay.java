@@ -0,0 +1,215 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 11:42:17 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Collects per-frame timings for a view and draws them over the scene. A view
+// calls begin() at the start of display(), mark() after each of its phases,
+// and end() once the frame is finished. Draw methods report the vertices they
+// submit with addVertices(). The overlay shows a rolling graph of recent frame
+// times (CPU time spent in display(), not the interval between frames), the
+// split of the last frame across phases, the vertex count of the last frame,
+// and the number of updates waiting to run on the GL thread.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import com.jogamp.opengl.*;
+import com.jogamp.opengl.util.awt.TextRenderer;
+
+//******************************************************************************
+
+/**
+ * The <CODE>PerformanceOverlay</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class PerformanceOverlay
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	// Phases of View.display(), in order
+	public static final int			PIPELINE = 0;	// updatePipeline()
+	public static final int			UPDATE = 1;		// update()
+	public static final int			RENDER = 2;		// render(), less drawMode()
+	public static final int			MODE = 3;		// drawMode()
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final String[]		PHASES = new String[]
+	{
+		"pipeline", "update", "render", "mode",
+	};
+
+	private static final DecimalFormat	FORMAT = new DecimalFormat("0.000");
+
+	private static final int			HISTORY = 120;		// Frames in graph
+	private static final int			GRAPH_W = 240;		// Graph width (px)
+	private static final int			GRAPH_H = 60;		// Graph height (px)
+	private static final double		GRAPH_MS = 33.3;	// Time at graph top
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private final double[]		history;		// Recent frame times (ms)
+	private int				index;			// Next slot in history
+
+	private final long[]		phases;			// Current frame split (ns)
+	private final long[]		split;			// Last frame split (ns)
+	private long				start;			// Time at frame start
+	private long				last;			// Time at last mark
+	private int				count;			// Current frame vertices
+	private int				vertices;		// Last frame vertices
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public PerformanceOverlay()
+	{
+		history = new double[HISTORY];
+		phases = new long[PHASES.length];
+		split = new long[PHASES.length];
+	}
+
+	//**********************************************************************
+	// Public Methods (Measurement)
+	//**********************************************************************
+
+	public void	begin()
+	{
+		start = System.nanoTime();
+		last = start;
+		count = 0;
+
+		Arrays.fill(phases, 0L);
+	}
+
+	// Attribute the time since the last mark (or begin) to a phase.
+	public void	mark(int phase)
+	{
+		long	now = System.nanoTime();
+
+		phases[phase] += now - last;
+		last = now;
+	}
+
+	public void	addVertices(int n)
+	{
+		count += n;
+	}
+
+	public void	end()
+	{
+		long	now = System.nanoTime();
+
+		history[index] = (now - start) / 1.0e6;
+		index = (index + 1) % HISTORY;
+
+		System.arraycopy(phases, 0, split, 0, phases.length);
+		vertices = count;
+	}
+
+	//**********************************************************************
+	// Public Methods (Rendering)
+	//**********************************************************************
+
+	// Draw the overlay in the top right corner of a w x h canvas.
+	public void	draw(GL2 gl, TextRenderer renderer, int w, int h, int pending)
+	{
+		int	x = w - GRAPH_W - 8;
+		int	y = h - GRAPH_H - 8;
+
+		drawGraph(gl, x, y, w, h);
+
+		renderer.beginRendering(w, h);
+		renderer.setColor(0.0f, 1.0f, 0.5f, 1.0f);
+
+		int	ty = y - 14;
+
+		for (int i=0; i<PHASES.length; i++, ty-=14)
+			renderer.draw(pad(PHASES[i]) + FORMAT.format(split[i] / 1.0e6) +
+						  " ms", x, ty);
+
+		renderer.draw(pad("vertices") + vertices, x, ty);
+		ty -= 14;
+		renderer.draw(pad("pending") + pending, x, ty);
+
+		renderer.endRendering();
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private void	drawGraph(GL2 gl, int x, int y, int w, int h)
+	{
+		// Draw in canvas pixel coordinates, leaving the view's matrices as is
+		gl.glMatrixMode(GL2.GL_PROJECTION);
+		gl.glPushMatrix();
+		gl.glLoadIdentity();
+		gl.glOrtho(0.0, w, 0.0, h, -1.0, 1.0);
+		gl.glMatrixMode(GL2.GL_MODELVIEW);
+		gl.glPushMatrix();
+		gl.glLoadIdentity();
+
+		gl.glColor3f(0.1f, 0.1f, 0.1f);		// Background
+		gl.glBegin(GL2.GL_QUADS);
+		gl.glVertex2i(x, y);
+		gl.glVertex2i(x + GRAPH_W, y);
+		gl.glVertex2i(x + GRAPH_W, y + GRAPH_H);
+		gl.glVertex2i(x, y + GRAPH_H);
+		gl.glEnd();
+
+		double	dx = GRAPH_W / (double)(HISTORY - 1);
+		double	dy = GRAPH_H / GRAPH_MS;
+
+		gl.glColor3f(0.4f, 0.4f, 0.4f);		// 60 fps reference line
+		gl.glBegin(GL.GL_LINES);
+		gl.glVertex2d(x, y + dy * 1000.0 / 60.0);
+		gl.glVertex2d(x + GRAPH_W, y + dy * 1000.0 / 60.0);
+		gl.glEnd();
+
+		gl.glColor3f(0.0f, 1.0f, 0.5f);		// Frame times, oldest first
+		gl.glBegin(GL.GL_LINE_STRIP);
+
+		for (int i=0; i<HISTORY; i++)
+		{
+			double	t = Math.min(history[(index + i) % HISTORY], GRAPH_MS);
+
+			gl.glVertex2d(x + dx * i, y + dy * t);
+		}
+
+		gl.glEnd();
+
+		gl.glPopMatrix();
+		gl.glMatrixMode(GL2.GL_PROJECTION);
+		gl.glPopMatrix();
+		gl.glMatrixMode(GL2.GL_MODELVIEW);
+	}
+
+	private static String	pad(String s)
+	{
+		return String.format("%-10s", s);
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,219 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 12:20:36 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A GLSL program made from one vertex shader and one fragment shader. Vertex
+// attributes are bound to fixed locations (in the order their names are given
+// to the constructor), so a VertexBuffer can feed any program that declares
+// the same attributes.
+//
+// The color program below is written in GLSL 1.20 and reads the projection
+// from gl_ModelViewProjectionMatrix. That keeps it working alongside the apps'
+// existing gluOrtho2D()/glViewport() setup and the TextRenderer, which both
+// rely on the compatibility profile.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.nio.charset.StandardCharsets;
+import com.jogamp.opengl.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>ShaderProgram</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class ShaderProgram
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	// Attribute locations used by VertexBuffer
+	public static final int			POSITION = 0;
+	public static final int			COLOR = 1;
+
+	//**********************************************************************
+	// Private Class Members
+	//**********************************************************************
+
+	private static final String		COLOR_VERTEX_SHADER =
+		"#version 120\n" +
+		"attribute vec2 position;\n" +
+		"attribute vec4 color;\n" +
+		"varying vec4 vcolor;\n" +
+		"void main() {\n" +
+		"  vcolor = color;\n" +
+		"  gl_Position = gl_ModelViewProjectionMatrix *\n" +
+		"                vec4(position, 0.0, 1.0);\n" +
+		"}\n";
+
+	private static final String		COLOR_FRAGMENT_SHADER =
+		"#version 120\n" +
+		"varying vec4 vcolor;\n" +
+		"void main() {\n" +
+		"  gl_FragColor = vcolor;\n" +
+		"}\n";
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private int		id;				// Program object
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public ShaderProgram(GL2 gl, String vsrc, String fsrc, String... attributes)
+	{
+		int	vs = compile(gl, GL2ES2.GL_VERTEX_SHADER, vsrc);
+		int	fs = compile(gl, GL2ES2.GL_FRAGMENT_SHADER, fsrc);
+
+		id = gl.glCreateProgram();
+
+		gl.glAttachShader(id, vs);
+		gl.glAttachShader(id, fs);
+
+		for (int i=0; i<attributes.length; i++)
+			gl.glBindAttribLocation(id, i, attributes[i]);
+
+		gl.glLinkProgram(id);
+
+		// The shaders aren't needed once they're linked into the program
+		gl.glDetachShader(id, vs);
+		gl.glDetachShader(id, fs);
+		gl.glDeleteShader(vs);
+		gl.glDeleteShader(fs);
+
+		int[]	status = new int[1];
+
+		gl.glGetProgramiv(id, GL2ES2.GL_LINK_STATUS, status, 0);
+
+		if (status[0] != GL.GL_TRUE)
+		{
+			String	log = getProgramLog(gl, id);
+
+			gl.glDeleteProgram(id);
+			id = 0;
+
+			throw new GLException("Shader program failed to link: " + log);
+		}
+	}
+
+	//**********************************************************************
+	// Public Class Methods
+	//**********************************************************************
+
+	// A program that draws vertices with per-vertex colors (POSITION, COLOR).
+	public static ShaderProgram	createColorProgram(GL2 gl)
+	{
+		return new ShaderProgram(gl, COLOR_VERTEX_SHADER, COLOR_FRAGMENT_SHADER,
+								 "position", "color");
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	getID()
+	{
+		return id;
+	}
+
+	public int	getUniformLocation(GL2 gl, String name)
+	{
+		return gl.glGetUniformLocation(id, name);
+	}
+
+	//**********************************************************************
+	// Public Methods
+	//**********************************************************************
+
+	public void	use(GL2 gl)
+	{
+		gl.glUseProgram(id);
+	}
+
+	public void	release(GL2 gl)
+	{
+		gl.glUseProgram(0);
+	}
+
+	public void	dispose(GL2 gl)
+	{
+		if (id != 0)
+			gl.glDeleteProgram(id);
+
+		id = 0;
+	}
+
+	//**********************************************************************
+	// Private Class Methods
+	//**********************************************************************
+
+	private static int	compile(GL2 gl, int type, String src)
+	{
+		int	shader = gl.glCreateShader(type);
+
+		gl.glShaderSource(shader, 1, new String[] { src }, null, 0);
+		gl.glCompileShader(shader);
+
+		int[]	status = new int[1];
+
+		gl.glGetShaderiv(shader, GL2ES2.GL_COMPILE_STATUS, status, 0);
+
+		if (status[0] != GL.GL_TRUE)
+		{
+			String	log = getShaderLog(gl, shader);
+
+			gl.glDeleteShader(shader);
+
+			throw new GLException("Shader failed to compile: " + log);
+		}
+
+		return shader;
+	}
+
+	private static String	getShaderLog(GL2 gl, int shader)
+	{
+		int[]	length = new int[1];
+
+		gl.glGetShaderiv(shader, GL2ES2.GL_INFO_LOG_LENGTH, length, 0);
+
+		byte[]	log = new byte[Math.max(length[0], 1)];
+
+		gl.glGetShaderInfoLog(shader, log.length, length, 0, log, 0);
+
+		return new String(log, 0, length[0], StandardCharsets.UTF_8);
+	}
+
+	private static String	getProgramLog(GL2 gl, int program)
+	{
+		int[]	length = new int[1];
+
+		gl.glGetProgramiv(program, GL2ES2.GL_INFO_LOG_LENGTH, length, 0);
+
+		byte[]	log = new byte[Math.max(length[0], 1)];
+
+		gl.glGetProgramInfoLog(program, log.length, length, 0, log, 0);
+
+		return new String(log, 0, length[0], StandardCharsets.UTF_8);
+	}
+}
+
+//******************************************************************************
@@ -0,0 +1,221 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 20:17:26 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// Keeps a CPU-side copy of a view's projection, modelview, and viewport, so
+// that points can be mapped between view (pixel) and scene coordinates without
+// asking GL. Utilities.mapViewToScene() and mapSceneToView() read all three back
+// with glGet*() on every call, which stalls the pipeline on some drivers, and
+// allocate a GLU and three arrays besides.
+//
+// A view sets the projection here (e.g. with setOrtho2D() in place of
+// gluOrtho2D()) and loads it into GL with loadProjection(), and sets the
+// viewport in reshape(). The product of the matrices and its inverse are
+// computed only when first needed after a change, and then reused for every
+// mapping until the next change. Nothing is allocated after construction.
+//
+// Like the GL state it mirrors, a Transform belongs to the GL thread.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import com.jogamp.opengl.*;
+import com.jogamp.opengl.fixedfunc.GLMatrixFunc;
+
+//******************************************************************************
+
+/**
+ * The <CODE>Transform</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class Transform
+{
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private final Matrix4	projection;
+	private final Matrix4	modelview;
+	private final int[]		viewport;		// x, y, width, height
+
+	private final Matrix4	composite;		// projection * modelview
+	private final Matrix4	inverse;		// Of composite
+	private boolean			dirty;			// Need to recompute both?
+	private boolean			invertible;		// Does inverse exist?
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public Transform()
+	{
+		projection = new Matrix4();
+		modelview = new Matrix4();
+		viewport = new int[] { 0, 0, 1, 1 };
+
+		composite = new Matrix4();
+		inverse = new Matrix4();
+		dirty = true;
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	// Shared, so don't modify them! Use the setters instead.
+	public Matrix4	getProjection()
+	{
+		return projection;
+	}
+
+	public Matrix4	getModelview()
+	{
+		return modelview;
+	}
+
+	public void	setProjection(Matrix4 m)
+	{
+		projection.set(m);
+		dirty = true;
+	}
+
+	// Set the projection as gluOrtho2D() would.
+	public void	setOrtho2D(double l, double r, double b, double t)
+	{
+		projection.setOrtho2D(l, r, b, t);
+		dirty = true;
+	}
+
+	public void	setModelview(Matrix4 m)
+	{
+		modelview.set(m);
+		dirty = true;
+	}
+
+	// As glViewport(). JOGL sets the GL viewport to (0, 0, w, h) before it
+	// calls reshape(), so set it to match there.
+	public void	setViewport(int x, int y, int w, int h)
+	{
+		viewport[0] = x;
+		viewport[1] = y;
+		viewport[2] = Math.max(w, 1);
+		viewport[3] = Math.max(h, 1);
+	}
+
+	//**********************************************************************
+	// Public Methods (GL)
+	//**********************************************************************
+
+	// Load the projection into GL, leaving the matrix mode at projection.
+	public void	loadProjection(GL2 gl)
+	{
+		gl.glMatrixMode(GLMatrixFunc.GL_PROJECTION);
+		gl.glLoadMatrixd(projection.getArray(), 0);
+	}
+
+	//**********************************************************************
+	// Public Methods (Coordinate Mapping)
+	//**********************************************************************
+
+	// Map view point (x, y, z) into scene point p[0..2], as gluUnProject().
+	// As in GL, y runs up from the bottom of the viewport.
+	public void	mapViewToScene(double x, double y, double z, double[] p)
+	{
+		update();
+
+		if (!invertible)
+		{
+			p[0] = p[1] = p[2] = Double.NaN;
+			return;
+		}
+
+		inverse.transform(2.0 * (x - viewport[0]) / viewport[2] - 1.0,
+						  2.0 * (y - viewport[1]) / viewport[3] - 1.0,
+						  2.0 * z - 1.0, p);
+	}
+
+	// Map scene point (x, y, z) into view point p[0..2], as gluProject().
+	public void	mapSceneToView(double x, double y, double z, double[] p)
+	{
+		update();
+
+		composite.transform(x, y, z, p);
+		toView(p, 0, 3, 1);
+	}
+
+	// Map n view points packed as (x, y) pairs in src, at depth 0, into (x, y)
+	// scene pairs in dst. The arrays may be the same.
+	public void	mapViewToScene(double[] src, int so, double[] dst, int dof,
+								   int n)
+	{
+		update();
+
+		double	sx = 2.0 / viewport[2];
+		double	sy = 2.0 / viewport[3];
+
+		for (int i=0; i<n; i++)
+		{
+			dst[dof + 2 * i] = sx * (src[so + 2 * i] - viewport[0]) - 1.0;
+			dst[dof + 2 * i + 1] = sy * (src[so + 2 * i + 1] - viewport[1]) -
+				1.0;
+		}
+
+		if (invertible)
+			inverse.transform2(dst, dof, dst, dof, n, -1.0);
+	}
+
+	// Map n scene points packed as (x, y) pairs in src, taking z as 0, into
+	// (x, y) view pairs in dst. The arrays may be the same.
+	public void	mapSceneToView(double[] src, int so, double[] dst, int dof,
+								   int n)
+	{
+		update();
+
+		composite.transform2(src, so, dst, dof, n, 0.0);
+		toView(dst, dof, 2, n);
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private void	update()
+	{
+		if (!dirty)
+			return;
+
+		composite.multiply(projection, modelview);
+		invertible = inverse.invert(composite);
+		dirty = false;
+	}
+
+	// Map n normalized device points, stride apart in p, to the viewport.
+	private void	toView(double[] p, int offset, int stride, int n)
+	{
+		for (int i=0; i<n; i++)
+		{
+			int	o = offset + stride * i;
+
+			p[o] = viewport[0] + 0.5 * (p[o] + 1.0) * viewport[2];
+			p[o + 1] = viewport[1] + 0.5 * (p[o + 1] + 1.0) * viewport[3];
+
+			if (stride > 2)
+				p[o + 2] = 0.5 * (p[o + 2] + 1.0);
+		}
+	}
+}
+
+//******************************************************************************
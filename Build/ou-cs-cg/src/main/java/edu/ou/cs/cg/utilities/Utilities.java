@@ -60,6 +60,9 @@ public final class Utilities
 	// Public Class Methods (Coordinate Mapping)
 	//**********************************************************************
 
+	// These read the matrices and viewport back from GL on every call. Views
+	// that keep their projection in a Transform can map points without GL.
+
 	// Give this method integer x and y coordinates, e.g. of a mouse event.
 	public static double[]	mapViewToScene(GL2 gl, double x, double y, double z)
 	{
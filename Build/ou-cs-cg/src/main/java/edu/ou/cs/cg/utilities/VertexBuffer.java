@@ -0,0 +1,325 @@
+//******************************************************************************
+// Copyright (C) 2026 University of Oklahoma Board of Trustees.
+//******************************************************************************
+// Last modified: Sat Oct 17 16:21:53 2026 by agent
+//******************************************************************************
+// Major Modification History:
+//
+// 20261017 [agent]:	Original file.
+//
+//******************************************************************************
+// Notes:
+//
+// A growable array of 2D colored vertices, kept in a direct FloatBuffer on the
+// CPU side and mirrored into a vertex buffer object (VBO) on the GPU side.
+// Each vertex is STRIDE floats, interleaved as x, y, r, g, b, a.
+//
+// Vertices are added with add(), using the color last given to setColor().
+// Only vertices added since the last upload are sent to the GPU, so a buffer
+// that is appended to every frame costs only the new vertices. Call clear() to
+// start over, or markDirty() after rewriting vertices that were already sent.
+// Vertices moved with setPosition() are resent as one range, without resending
+// the vertices after them.
+// The VBO is created on first upload and grows (by reallocation) as needed.
+//
+// draw() uploads any pending vertices, then draws a range of them (or several
+// ranges, in one glMultiDrawArrays() call) with a ShaderProgram that takes the
+// POSITION and COLOR attributes.
+//
+//******************************************************************************
+
+package edu.ou.cs.cg.utilities;
+
+//import java.lang.*;
+import java.nio.FloatBuffer;
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.opengl.*;
+
+//******************************************************************************
+
+/**
+ * The <CODE>VertexBuffer</CODE> class.<P>
+ *
+ * @author  agent
+ * @version %I%, %G%
+ */
+public final class VertexBuffer
+{
+	//**********************************************************************
+	// Public Class Members
+	//**********************************************************************
+
+	public static final int			STRIDE = 6;		// Floats per vertex
+	public static final int			BYTES = STRIDE * Buffers.SIZEOF_FLOAT;
+
+	//**********************************************************************
+	// Private Members
+	//**********************************************************************
+
+	// State (internal) variables
+	private FloatBuffer		data;			// Vertices on the CPU side
+	private int				count;			// Number of vertices
+	private int				uploaded;		// Vertices already on the GPU
+	private int				dirtyFrom;		// Start of range to resend
+	private int				dirtyTo;		// End of range to resend
+
+	private int				id;				// VBO, or 0 until first upload
+	private int				allocated;		// Vertex capacity of VBO
+
+	private float				r = 1.0f;		// Color for added vertices
+	private float				g = 1.0f;
+	private float				b = 1.0f;
+	private float				a = 1.0f;
+
+	//**********************************************************************
+	// Constructors and Finalizer
+	//**********************************************************************
+
+	public VertexBuffer(int capacity)
+	{
+		data = Buffers.newDirectFloatBuffer(Math.max(capacity, 1) * STRIDE);
+	}
+
+	//**********************************************************************
+	// Getters and Setters
+	//**********************************************************************
+
+	public int	getCount()
+	{
+		return count;
+	}
+
+	public int	getCapacity()
+	{
+		return data.capacity() / STRIDE;
+	}
+
+	// The vertex data, for callers that fill it directly with absolute puts.
+	// Call ensureCapacity() first, and setCount() afterward.
+	public FloatBuffer	getData()
+	{
+		return data;
+	}
+
+	public void	setCount(int n)
+	{
+		count = n;
+		uploaded = Math.min(uploaded, n);
+	}
+
+	public void	setColor(float r, float g, float b)
+	{
+		setColor(r, g, b, 1.0f);
+	}
+
+	public void	setColor(float r, float g, float b, float a)
+	{
+		this.r = r;
+		this.g = g;
+		this.b = b;
+		this.a = a;
+	}
+
+	//**********************************************************************
+	// Public Methods (Vertices)
+	//**********************************************************************
+
+	public void	clear()
+	{
+		count = 0;
+		uploaded = 0;
+		dirtyTo = 0;
+	}
+
+	public void	add(double x, double y)
+	{
+		add((float)x, (float)y, r, g, b, a);
+	}
+
+	public void	add(float x, float y, float r, float g, float b, float a)
+	{
+		if (count == getCapacity())
+			ensureCapacity(2 * count);
+
+		int	i = count * STRIDE;
+
+		data.put(i, x);
+		data.put(i + 1, y);
+		data.put(i + 2, r);
+		data.put(i + 3, g);
+		data.put(i + 4, b);
+		data.put(i + 5, a);
+
+		count++;
+	}
+
+	// Move vertex i, keeping its color.
+	public void	setPosition(int i, double x, double y)
+	{
+		int	o = i * STRIDE;
+
+		data.put(o, (float)x);
+		data.put(o + 1, (float)y);
+
+		if (i >= uploaded)						// Not sent yet anyway
+			return;
+
+		if (dirtyFrom >= dirtyTo)
+		{
+			dirtyFrom = i;
+			dirtyTo = i + 1;
+		}
+		else
+		{
+			dirtyFrom = Math.min(dirtyFrom, i);
+			dirtyTo = Math.max(dirtyTo, i + 1);
+		}
+	}
+
+	// Resend vertices from index i onward at the next upload.
+	public void	markDirty(int i)
+	{
+		uploaded = Math.min(uploaded, Math.max(i, 0));
+	}
+
+	public void	ensureCapacity(int n)
+	{
+		if (n <= getCapacity())
+			return;
+
+		FloatBuffer	grown = Buffers.newDirectFloatBuffer(n * STRIDE);
+		FloatBuffer	old = data.duplicate();
+
+		old.position(0);
+		old.limit(count * STRIDE);
+		grown.put(old);
+		grown.clear();
+
+		data = grown;
+	}
+
+	//**********************************************************************
+	// Public Methods (GL)
+	//**********************************************************************
+
+	// Send any vertices added since the last upload to the GPU.
+	public void	upload(GL2 gl)
+	{
+		if (id == 0)
+		{
+			int[]	ids = new int[1];
+
+			gl.glGenBuffers(1, ids, 0);
+			id = ids[0];
+		}
+
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, id);
+
+		if (allocated < getCapacity())
+		{
+			allocated = getCapacity();
+			uploaded = 0;
+
+			gl.glBufferData(GL.GL_ARRAY_BUFFER, (long)allocated * BYTES,
+							null, GL.GL_DYNAMIC_DRAW);
+		}
+
+		if (dirtyFrom < Math.min(dirtyTo, uploaded))	// Moved vertices
+		{
+			int			end = Math.min(dirtyTo, uploaded);
+			FloatBuffer	range = data.duplicate();
+
+			range.position(dirtyFrom * STRIDE);
+			range.limit(end * STRIDE);
+
+			gl.glBufferSubData(GL.GL_ARRAY_BUFFER, (long)dirtyFrom * BYTES,
+							   (long)(end - dirtyFrom) * BYTES, range);
+		}
+
+		dirtyTo = 0;
+
+		if (uploaded < count)
+		{
+			FloatBuffer	tail = data.duplicate();
+
+			tail.position(uploaded * STRIDE);
+			tail.limit(count * STRIDE);
+
+			gl.glBufferSubData(GL.GL_ARRAY_BUFFER, (long)uploaded * BYTES,
+							   (long)(count - uploaded) * BYTES, tail);
+			uploaded = count;
+		}
+
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+	}
+
+	public void	draw(GL2 gl, ShaderProgram program, int mode)
+	{
+		draw(gl, program, mode, 0, count);
+	}
+
+	public void	draw(GL2 gl, ShaderProgram program, int mode, int first, int n)
+	{
+		upload(gl);
+
+		if (n <= 0)
+			return;
+
+		bind(gl, program);
+		gl.glDrawArrays(mode, first, n);
+		unbind(gl, program);
+	}
+
+	// Draw n ranges, the ith starting at firsts[i] and counts[i] long.
+	public void	draw(GL2 gl, ShaderProgram program, int mode,
+					 int[] firsts, int[] counts, int n)
+	{
+		upload(gl);
+
+		if (n <= 0)
+			return;
+
+		bind(gl, program);
+		gl.glMultiDrawArrays(mode, firsts, 0, counts, 0, n);
+		unbind(gl, program);
+	}
+
+	public void	dispose(GL2 gl)
+	{
+		if (id != 0)
+			gl.glDeleteBuffers(1, new int[] { id }, 0);
+
+		id = 0;
+		allocated = 0;
+		uploaded = 0;
+		dirtyTo = 0;
+	}
+
+	//**********************************************************************
+	// Private Methods
+	//**********************************************************************
+
+	private void	bind(GL2 gl, ShaderProgram program)
+	{
+		program.use(gl);
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, id);
+
+		gl.glEnableVertexAttribArray(ShaderProgram.POSITION);
+		gl.glVertexAttribPointer(ShaderProgram.POSITION, 2, GL.GL_FLOAT,
+								 false, BYTES, 0L);
+		gl.glEnableVertexAttribArray(ShaderProgram.COLOR);
+		gl.glVertexAttribPointer(ShaderProgram.COLOR, 4, GL.GL_FLOAT,
+								 false, BYTES, 2L * Buffers.SIZEOF_FLOAT);
+	}
+
+	private void	unbind(GL2 gl, ShaderProgram program)
+	{
+		gl.glDisableVertexAttribArray(ShaderProgram.COLOR);
+		gl.glDisableVertexAttribArray(ShaderProgram.POSITION);
+
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+		program.release(gl);
+	}
+}
+
+//******************************************************************************